@@ -0,0 +1,185 @@
+package io.clue2solve.pinecone.javaclient;
+
+import io.clue2solve.pinecone.javaclient.model.FetchRequest;
+import io.clue2solve.pinecone.javaclient.model.FetchResponse;
+import lombok.Builder;
+import lombok.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Batches single-id fetches from one index namespace, in the style of a DataLoader.
+ * The first fetch of a batch opens a window of {@code window}; every id requested within it is sent in one
+ * {@link PineconeDBClient#fetchAllAsync(FetchRequest)} call, which is sent early once {@code maxBatchSize}
+ * distinct ids are pending. Each caller's future is then completed with its own vector. This trades at most one
+ * window of latency for far fewer requests when many threads fetch single vectors concurrently.
+ *
+ * <pre>{@code
+ * BatchingFetcher fetcher = BatchingFetcher.builder().client(client).indexName("index").namespace("ns").build();
+ * CompletableFuture<FetchResponse> vector = fetcher.fetch("id-1");
+ * }</pre>
+ */
+public class BatchingFetcher implements AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(BatchingFetcher.class);
+
+    public static final Duration DEFAULT_WINDOW = Duration.ofMillis(2);
+    public static final int DEFAULT_MAX_BATCH_SIZE = 100;
+
+    private final PineconeDBClient client;
+    private final String indexName;
+    private final String namespace;
+    private final long windowNanos;
+    private final int maxBatchSize;
+    private final ScheduledExecutorService scheduler;
+    private final boolean ownsScheduler;
+
+    private final AtomicLong requested = new AtomicLong();
+    private final AtomicLong batches = new AtomicLong();
+
+    private Map<String, List<CompletableFuture<FetchResponse>>> pending = new LinkedHashMap<>();
+    private ScheduledFuture<?> scheduledFlush;
+    private boolean closed;
+
+    /**
+     * Creates a batching fetcher. Settings that are not set fall back to the defaults.
+     *
+     * @param client       Client used to send the batches.
+     * @param indexName    Name of the index to fetch from.
+     * @param namespace    Namespace to fetch from.
+     * @param window       Time a batch collects ids after its first fetch.
+     * @param maxBatchSize Number of distinct ids that sends a batch before its window ends.
+     * @param scheduler    Optional scheduler for the windows; a single daemon thread owned by the fetcher is used if not set.
+     */
+    @Builder
+    private BatchingFetcher(@NonNull PineconeDBClient client, @NonNull String indexName, String namespace,
+                            Duration window, int maxBatchSize, ScheduledExecutorService scheduler) {
+        this.client = client;
+        this.indexName = indexName;
+        this.namespace = namespace;
+        this.windowNanos = (window != null ? window : DEFAULT_WINDOW).toNanos();
+        this.maxBatchSize = maxBatchSize > 0 ? maxBatchSize : DEFAULT_MAX_BATCH_SIZE;
+        this.ownsScheduler = scheduler == null;
+        this.scheduler = scheduler != null ? scheduler : Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "pinecone-batching-fetcher");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Fetches one vector as part of the next batch.
+     *
+     * @param id Id of the vector.
+     * @return Future completed with the vector, or with null if the id does not exist. It fails if the batch failed.
+     */
+    public CompletableFuture<FetchResponse> fetch(@NonNull String id) {
+        CompletableFuture<FetchResponse> future = new CompletableFuture<>();
+        Map<String, List<CompletableFuture<FetchResponse>>> batch = null;
+        synchronized (this) {
+            if (closed) {
+                future.completeExceptionally(new IllegalStateException("BatchingFetcher is closed"));
+                return future;
+            }
+            requested.incrementAndGet();
+            pending.computeIfAbsent(id, key -> new ArrayList<>(1)).add(future);
+            if (pending.size() >= maxBatchSize) {
+                batch = takePending();
+            } else if (scheduledFlush == null) {
+                scheduledFlush = scheduler.schedule(this::flush, windowNanos, TimeUnit.NANOSECONDS);
+            }
+        }
+        if (batch != null) {
+            send(batch);
+        }
+        return future;
+    }
+
+    /**
+     * Sends the pending ids now instead of waiting for the window to end.
+     */
+    public void flush() {
+        Map<String, List<CompletableFuture<FetchResponse>>> batch;
+        synchronized (this) {
+            batch = takePending();
+        }
+        send(batch);
+    }
+
+    /**
+     * @return number of ids requested through {@link #fetch(String)}.
+     */
+    public long getRequestedCount() {
+        return requested.get();
+    }
+
+    /**
+     * @return number of batches sent.
+     */
+    public long getBatchCount() {
+        return batches.get();
+    }
+
+    /**
+     * Sends the pending ids and stops accepting fetches. The fetcher's own scheduler is shut down.
+     */
+    @Override
+    public void close() {
+        synchronized (this) {
+            closed = true;
+        }
+        flush();
+        if (ownsScheduler) {
+            scheduler.shutdown();
+        }
+    }
+
+    private Map<String, List<CompletableFuture<FetchResponse>>> takePending() {
+        Map<String, List<CompletableFuture<FetchResponse>>> batch = pending;
+        pending = new LinkedHashMap<>();
+        if (scheduledFlush != null) {
+            scheduledFlush.cancel(false);
+            scheduledFlush = null;
+        }
+        return batch;
+    }
+
+    private void send(Map<String, List<CompletableFuture<FetchResponse>>> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        batches.incrementAndGet();
+        FetchRequest fetchRequest = new FetchRequest(indexName, namespace, batch.keySet().toArray(new String[0]));
+        CompletableFuture<Map<String, FetchResponse>> fetchResponses;
+        try {
+            fetchResponses = client.fetchAllAsync(fetchRequest);
+        } catch (RuntimeException e) {
+            fetchResponses = CompletableFuture.failedFuture(e);
+        }
+        fetchResponses.whenComplete((vectors, throwable) -> {
+            if (throwable != null) {
+                Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                        ? throwable.getCause() : throwable;
+                LOG.error("Error fetching batch of {} ids from index: {}", batch.size(), indexName, cause);
+                batch.values().forEach(futures -> futures.forEach(future -> future.completeExceptionally(cause)));
+                return;
+            }
+            batch.forEach((id, futures) -> {
+                FetchResponse vector = vectors.get(id);
+                futures.forEach(future -> future.complete(vector));
+            });
+        });
+    }
+}
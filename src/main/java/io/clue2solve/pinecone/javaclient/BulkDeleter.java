@@ -0,0 +1,243 @@
+package io.clue2solve.pinecone.javaclient;
+
+import io.clue2solve.pinecone.javaclient.model.BatchFailure;
+import io.clue2solve.pinecone.javaclient.model.BulkDeleteResult;
+import io.clue2solve.pinecone.javaclient.model.DeleteRequest;
+import lombok.Builder;
+import lombok.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.TreeMap;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+import java.util.function.LongConsumer;
+
+/**
+ * Deletes an unbounded stream of ids from one index namespace.
+ * Ids are split into batches of at most {@code maxBatchIds}, and up to {@code maxInFlight} batches are sent
+ * concurrently. When all permits are taken, {@link #add(String)} blocks.
+ * <p>
+ * Batches complete out of order, so progress is tracked as a cursor: the number of ids from the start of the
+ * input whose batches have all completed. A delete interrupted by a crash can be resumed by skipping
+ * {@link #getCursor()} ids and retrying the ids of the reported failures; deleting an id twice is harmless.
+ *
+ * <pre>{@code
+ * try (BulkDeleter deleter = BulkDeleter.builder().client(client).indexName("index").namespace("ns").build()) {
+ *     BulkDeleteResult result = deleter.deleteAll(ids.iterator());
+ * }
+ * }</pre>
+ */
+public class BulkDeleter implements AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(BulkDeleter.class);
+
+    /**
+     * PineconeDB accepts at most 1000 ids per delete request.
+     */
+    public static final int DEFAULT_MAX_BATCH_IDS = 1000;
+    public static final int DEFAULT_MAX_IN_FLIGHT = 4;
+
+    private final PineconeDBClient client;
+    private final String indexName;
+    private final String namespace;
+    private final int maxBatchIds;
+    private final int maxInFlight;
+    private final Consumer<BatchFailure> failureListener;
+    private final LongConsumer progressListener;
+    private final Semaphore inFlight;
+
+    private final AtomicLong deletedIds = new AtomicLong();
+    private final AtomicLong failedIds = new AtomicLong();
+    private final List<BatchFailure> failures = Collections.synchronizedList(new ArrayList<>());
+
+    private final TreeMap<Long, Long> completedAhead = new TreeMap<>();
+    private long nextToComplete;
+    private long cursor;
+
+    private List<String> batch = new ArrayList<>();
+    private long added;
+    private long batches;
+    private long startNanos;
+
+    /**
+     * Creates a bulk deleter. Limits that are not set (zero) fall back to the defaults.
+     *
+     * @param client           Client used to send the batches.
+     * @param indexName        Name of the index to delete from.
+     * @param namespace        Namespace to delete from.
+     * @param maxBatchIds      Maximum number of ids per delete request.
+     * @param maxInFlight      Maximum number of delete requests sent concurrently.
+     * @param failureListener  Optional callback invoked as soon as a batch fails.
+     * @param progressListener Optional callback invoked with the new cursor whenever it advances.
+     */
+    @Builder
+    private BulkDeleter(@NonNull PineconeDBClient client, @NonNull String indexName, String namespace,
+                        int maxBatchIds, int maxInFlight,
+                        Consumer<BatchFailure> failureListener, LongConsumer progressListener) {
+        this.client = client;
+        this.indexName = indexName;
+        this.namespace = namespace;
+        this.maxBatchIds = maxBatchIds > 0 ? maxBatchIds : DEFAULT_MAX_BATCH_IDS;
+        this.maxInFlight = maxInFlight > 0 ? maxInFlight : DEFAULT_MAX_IN_FLIGHT;
+        this.failureListener = failureListener;
+        this.progressListener = progressListener;
+        this.inFlight = new Semaphore(this.maxInFlight);
+    }
+
+    /**
+     * Adds an id, sending the current batch once it is full.
+     * Blocks while {@code maxInFlight} batches are already being sent.
+     *
+     * @param id Id of the vector to be deleted.
+     * @throws InterruptedException if interrupted while waiting for an in-flight batch to complete. The id was not
+     *                              added then, while the ids added before stay in the current batch.
+     */
+    public synchronized void add(@NonNull String id) throws InterruptedException {
+        if (startNanos == 0) {
+            startNanos = System.nanoTime();
+        }
+        batch.add(id);
+        added++;
+        if (batch.size() >= maxBatchIds) {
+            try {
+                send();
+            } catch (InterruptedException e) {
+                batch.remove(batch.size() - 1);
+                added--;
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Deletes every id of the iterator and waits for all batches to complete.
+     *
+     * @param ids Ids of the vectors to be deleted.
+     * @return Summary of the bulk delete.
+     * @throws InterruptedException if interrupted while waiting for in-flight batches.
+     */
+    public BulkDeleteResult deleteAll(Iterator<String> ids) throws InterruptedException {
+        while (ids.hasNext()) {
+            add(ids.next());
+        }
+        return finish();
+    }
+
+    /**
+     * Sends the last partial batch and waits until every in-flight batch has completed.
+     *
+     * @return Summary of everything deleted so far.
+     * @throws InterruptedException if interrupted while waiting for in-flight batches.
+     */
+    public synchronized BulkDeleteResult finish() throws InterruptedException {
+        if (!batch.isEmpty()) {
+            send();
+        }
+        inFlight.acquire(maxInFlight);
+        inFlight.release(maxInFlight);
+        long elapsed = startNanos == 0 ? 0 : System.nanoTime() - startNanos;
+        List<BatchFailure> failuresSnapshot;
+        synchronized (failures) {
+            failuresSnapshot = List.copyOf(failures);
+        }
+        return BulkDeleteResult.builder()
+                .deletedIds(deletedIds.get())
+                .failedIds(failedIds.get())
+                .batches(batches)
+                .cursor(getCursor())
+                .elapsed(Duration.ofNanos(elapsed))
+                .failures(failuresSnapshot)
+                .build();
+    }
+
+    /**
+     * @return number of ids from the start of the input whose batches have all completed, successfully or not.
+     */
+    public long getCursor() {
+        synchronized (completedAhead) {
+            return cursor;
+        }
+    }
+
+    /**
+     * Sends the last partial batch and waits for all in-flight batches.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        finish();
+    }
+
+    private void send() throws InterruptedException {
+        // the batch is only detached once it holds a permit, so an interrupt leaves it in place
+        inFlight.acquire();
+        List<String> ids = batch;
+        long batchIndex = batches++;
+        long end = added;
+        batch = new ArrayList<>(Math.min(maxBatchIds, 1024));
+
+        DeleteRequest deleteRequest = DeleteRequest.builder()
+                .indexName(indexName)
+                .namespace(namespace)
+                .ids(ids.toArray(new String[0]))
+                .build();
+        try {
+            client.deleteBatchAsync(deleteRequest).whenComplete((response, throwable) -> {
+                try {
+                    onBatchComplete(batchIndex, end, ids, response, throwable);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.release();
+            onBatchComplete(batchIndex, end, ids, null, e);
+        }
+    }
+
+    private void onBatchComplete(long batchIndex, long end, List<String> ids, String response, Throwable throwable) {
+        if (throwable == null) {
+            deletedIds.addAndGet(ids.size());
+            LOG.debug("Deleted batch {} of {} ids from index: {}", batchIndex, ids.size(), indexName);
+        } else {
+            Throwable cause = throwable;
+            while ((cause instanceof CompletionException || cause instanceof UncheckedIOException) && cause.getCause() != null) {
+                cause = cause.getCause();
+            }
+            String error = String.valueOf(cause.getMessage());
+            BatchFailure failure = new BatchFailure(batchIndex, ids, error, cause);
+            failedIds.addAndGet(ids.size());
+            failures.add(failure);
+            LOG.error("Error deleting batch {} of {} ids from index: {}: {}", batchIndex, ids.size(), indexName, error, cause);
+            if (failureListener != null) {
+                failureListener.accept(failure);
+            }
+        }
+        advanceCursor(batchIndex, end);
+    }
+
+    /**
+     * Moves the cursor past every batch that completed without an earlier batch still in flight.
+     */
+    private void advanceCursor(long batchIndex, long end) {
+        synchronized (completedAhead) {
+            completedAhead.put(batchIndex, end);
+            long previous = cursor;
+            while (!completedAhead.isEmpty() && completedAhead.firstKey() == nextToComplete) {
+                cursor = completedAhead.pollFirstEntry().getValue();
+                nextToComplete++;
+            }
+            // notified under the lock so that listeners always see the cursor increase
+            if (cursor != previous && progressListener != null) {
+                progressListener.accept(cursor);
+            }
+        }
+    }
+}
@@ -0,0 +1,234 @@
+package io.clue2solve.pinecone.javaclient;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.clue2solve.pinecone.javaclient.model.BatchFailure;
+import io.clue2solve.pinecone.javaclient.model.BulkUpsertResult;
+import io.clue2solve.pinecone.javaclient.model.UpsertRequest;
+import io.clue2solve.pinecone.javaclient.model.UpsertVector;
+import lombok.Builder;
+import lombok.NonNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.List;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * Upserts an unbounded stream of vectors into one index namespace.
+ * Vectors are split into batches bounded by vector count and by serialized size, and up to
+ * {@code maxInFlight} batches are sent concurrently. When all permits are taken, {@link #add(UpsertVector)}
+ * blocks, so at most {@code maxInFlight + 1} batches are held in memory at any time.
+ *
+ * <pre>{@code
+ * try (BulkUpserter upserter = BulkUpserter.builder().client(client).indexName("index").namespace("ns").build()) {
+ *     BulkUpsertResult result = upserter.upsertAll(vectors.iterator());
+ * }
+ * }</pre>
+ */
+public class BulkUpserter implements AutoCloseable {
+    private static final Logger LOG = LoggerFactory.getLogger(BulkUpserter.class);
+    private static final ObjectMapper MAPPER = new ObjectMapper();
+
+    public static final int DEFAULT_MAX_BATCH_VECTORS = 100;
+    public static final long DEFAULT_MAX_BATCH_BYTES = 2 * 1024 * 1024;
+    public static final int DEFAULT_MAX_IN_FLIGHT = 4;
+
+    private final PineconeDBClient client;
+    private final String indexName;
+    private final String namespace;
+    private final int maxBatchVectors;
+    private final long maxBatchBytes;
+    private final int maxInFlight;
+    private final Consumer<BatchFailure> failureListener;
+    private final Semaphore inFlight;
+    private final int requestOverhead;
+
+    private final AtomicLong upsertedVectors = new AtomicLong();
+    private final AtomicLong failedVectors = new AtomicLong();
+    private final AtomicLong bytes = new AtomicLong();
+    private final List<BatchFailure> failures = Collections.synchronizedList(new ArrayList<>());
+
+    private List<UpsertVector> batch = new ArrayList<>();
+    private long batchBytes;
+    private long batches;
+    private long startNanos;
+
+    /**
+     * Creates a bulk upserter. Limits that are not set (zero) fall back to the defaults.
+     *
+     * @param client          Client used to send the batches.
+     * @param indexName       Name of the index to upsert into.
+     * @param namespace       Namespace to upsert into.
+     * @param maxBatchVectors Maximum number of vectors per upsert request.
+     * @param maxBatchBytes   Maximum estimated size in bytes of an upsert request body.
+     * @param maxInFlight     Maximum number of upsert requests sent concurrently.
+     * @param failureListener Optional callback invoked as soon as a batch fails.
+     */
+    @Builder
+    private BulkUpserter(@NonNull PineconeDBClient client, @NonNull String indexName, String namespace,
+                         int maxBatchVectors, long maxBatchBytes, int maxInFlight,
+                         Consumer<BatchFailure> failureListener) {
+        this.client = client;
+        this.indexName = indexName;
+        this.namespace = namespace;
+        this.maxBatchVectors = maxBatchVectors > 0 ? maxBatchVectors : DEFAULT_MAX_BATCH_VECTORS;
+        this.maxBatchBytes = maxBatchBytes > 0 ? maxBatchBytes : DEFAULT_MAX_BATCH_BYTES;
+        this.maxInFlight = maxInFlight > 0 ? maxInFlight : DEFAULT_MAX_IN_FLIGHT;
+        this.failureListener = failureListener;
+        this.inFlight = new Semaphore(this.maxInFlight);
+        // {"namespace":"","vectors":[]}
+        this.requestOverhead = 32 + (namespace == null ? 0 : namespace.getBytes(StandardCharsets.UTF_8).length);
+    }
+
+    /**
+     * Adds a vector, sending the current batch first if the vector does not fit into it.
+     * Blocks while {@code maxInFlight} batches are already being sent.
+     *
+     * @param vector Vector to be upserted.
+     * @throws InterruptedException if interrupted while waiting for an in-flight batch to complete. The vector was
+     *                              not added then, while the vectors added before stay in the current batch.
+     */
+    public synchronized void add(@NonNull UpsertVector vector) throws InterruptedException {
+        if (startNanos == 0) {
+            startNanos = System.nanoTime();
+        }
+        int size = vector.estimateSerializedSize() + 1;
+        if (!batch.isEmpty() && requestOverhead + batchBytes + size > maxBatchBytes) {
+            send();
+        }
+        batch.add(vector);
+        batchBytes += size;
+        if (batch.size() >= maxBatchVectors) {
+            try {
+                send();
+            } catch (InterruptedException e) {
+                batch.remove(batch.size() - 1);
+                batchBytes -= size;
+                throw e;
+            }
+        }
+    }
+
+    /**
+     * Upserts every vector of the iterator and waits for all batches to complete.
+     *
+     * @param vectors Vectors to be upserted.
+     * @return Summary of the bulk upsert.
+     * @throws InterruptedException if interrupted while waiting for in-flight batches.
+     */
+    public BulkUpsertResult upsertAll(Iterator<UpsertVector> vectors) throws InterruptedException {
+        while (vectors.hasNext()) {
+            add(vectors.next());
+        }
+        return finish();
+    }
+
+    /**
+     * Sends the last partial batch and waits until every in-flight batch has completed.
+     *
+     * @return Summary of everything upserted so far.
+     * @throws InterruptedException if interrupted while waiting for in-flight batches.
+     */
+    public synchronized BulkUpsertResult finish() throws InterruptedException {
+        if (!batch.isEmpty()) {
+            send();
+        }
+        inFlight.acquire(maxInFlight);
+        inFlight.release(maxInFlight);
+        long elapsed = startNanos == 0 ? 0 : System.nanoTime() - startNanos;
+        List<BatchFailure> failuresSnapshot;
+        synchronized (failures) {
+            failuresSnapshot = List.copyOf(failures);
+        }
+        return BulkUpsertResult.builder()
+                .upsertedVectors(upsertedVectors.get())
+                .failedVectors(failedVectors.get())
+                .batches(batches)
+                .bytes(bytes.get())
+                .elapsed(Duration.ofNanos(elapsed))
+                .failures(failuresSnapshot)
+                .build();
+    }
+
+    /**
+     * Sends the last partial batch and waits for all in-flight batches.
+     */
+    @Override
+    public void close() throws InterruptedException {
+        finish();
+    }
+
+    private void send() throws InterruptedException {
+        // the batch is only detached once it holds a permit, so an interrupt leaves it in place
+        inFlight.acquire();
+        List<UpsertVector> vectors = batch;
+        long estimatedBytes = requestOverhead + batchBytes;
+        long batchIndex = batches++;
+        batch = new ArrayList<>(Math.min(maxBatchVectors, 1024));
+        batchBytes = 0;
+
+        UpsertRequest upsertRequest = UpsertRequest.builder()
+                .indexName(indexName)
+                .namespace(namespace)
+                .upsertVectorsList(vectors)
+                .build();
+        try {
+            client.upsertAsync(upsertRequest).whenComplete((response, throwable) -> {
+                try {
+                    onBatchComplete(batchIndex, vectors, estimatedBytes, response, throwable);
+                } finally {
+                    inFlight.release();
+                }
+            });
+        } catch (RuntimeException e) {
+            inFlight.release();
+            onBatchComplete(batchIndex, vectors, estimatedBytes, null, e);
+        }
+    }
+
+    private void onBatchComplete(long batchIndex, List<UpsertVector> vectors, long estimatedBytes,
+                                 String response, Throwable throwable) {
+        String error = throwable != null ? String.valueOf(throwable.getMessage()) : upsertError(response);
+        if (error == null) {
+            upsertedVectors.addAndGet(vectors.size());
+            bytes.addAndGet(estimatedBytes);
+            LOG.debug("Upserted batch {} of {} vectors into index: {}", batchIndex, vectors.size(), indexName);
+            return;
+        }
+        List<String> ids = new ArrayList<>(vectors.size());
+        vectors.forEach(vector -> ids.add(vector.getId()));
+        BatchFailure failure = new BatchFailure(batchIndex, ids, error, throwable);
+        failedVectors.addAndGet(vectors.size());
+        failures.add(failure);
+        LOG.error("Error upserting batch {} of {} vectors into index: {}: {}", batchIndex, vectors.size(), indexName, error, throwable);
+        if (failureListener != null) {
+            failureListener.accept(failure);
+        }
+    }
+
+    /**
+     * Returns the error of an upsert response, or null if the response reports the upserted count.
+     */
+    private static String upsertError(String response) {
+        if (response == null) {
+            return "Empty response";
+        }
+        try {
+            JsonNode node = MAPPER.readTree(response);
+            if (node.has("upsertedCount")) {
+                return null;
+            }
+            return node.has("message") ? node.get("message").asText() : response;
+        } catch (Exception e) {
+            return response;
+        }
+    }
+}
@@ -0,0 +1,155 @@
+package io.clue2solve.pinecone.javaclient;
+
+import io.clue2solve.pinecone.javaclient.transport.HttpTransport;
+import io.clue2solve.pinecone.javaclient.transport.HttpTransportFactory;
+import io.clue2solve.pinecone.javaclient.utils.OkHttpClientWrapper;
+import lombok.AccessLevel;
+import lombok.Builder;
+import lombok.Getter;
+import okhttp3.ConnectionPool;
+import okhttp3.Dispatcher;
+import okhttp3.Interceptor;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * HTTP transport settings of the Pinecone clients. Every client created with the same config shares one connection
+ * pool and one dispatcher, so that a {@link PineconeDBClient} and a {@link PineconeIndexClient}, or several clients
+ * of different projects, reuse each other's connections and are bounded by the same request limits. Each client
+ * still adds its own interceptors on top of the shared transport.
+ * <p>
+ * Clients run on OkHttp unless a {@link HttpTransportFactory} is set, such as a
+ * {@link io.clue2solve.pinecone.javaclient.transport.JdkHttpTransportFactory}; the transports of that factory share
+ * whatever it holds, and the pool, dispatcher and timeout settings of this config only apply to OkHttp.
+ *
+ * <pre>{@code
+ * PineconeClientConfig config = PineconeClientConfig.builder()
+ *         .maxRequestsPerHost(128)
+ *         .readTimeout(Duration.ofSeconds(10))
+ *         .build();
+ * PineconeDBClient client = new PineconeDBClient("environment", "projectId", "apiKey", config);
+ * PineconeIndexClient indexClient = new PineconeIndexClient("environment", "apiKey", config);
+ * }</pre>
+ */
+@Getter
+public class PineconeClientConfig {
+    public static final int DEFAULT_MAX_IDLE_CONNECTIONS = 32;
+    public static final Duration DEFAULT_KEEP_ALIVE = Duration.ofMinutes(5);
+    public static final int DEFAULT_MAX_REQUESTS = 256;
+    public static final int DEFAULT_MAX_REQUESTS_PER_HOST = 64;
+    public static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(10);
+    public static final Duration DEFAULT_READ_TIMEOUT = Duration.ofSeconds(30);
+    public static final Duration DEFAULT_WRITE_TIMEOUT = Duration.ofSeconds(30);
+
+    /**
+     * Config of the clients created without one; they all share its transport.
+     */
+    public static final PineconeClientConfig DEFAULT = builder().build();
+
+    private final int maxIdleConnections;
+    private final Duration keepAlive;
+    private final int maxRequests;
+    private final int maxRequestsPerHost;
+    private final Duration connectTimeout;
+    private final Duration readTimeout;
+    private final Duration writeTimeout;
+    private final Duration callTimeout;
+    private final boolean http2;
+    private final HttpTransportFactory transportFactory;
+
+    @Getter(AccessLevel.NONE)
+    private volatile OkHttpClient httpClient;
+
+    /**
+     * Creates a config. Settings that are not set fall back to the defaults.
+     *
+     * @param maxIdleConnections Number of idle connections kept in the pool, across all hosts.
+     * @param keepAlive          Time an idle connection is kept before it is closed.
+     * @param maxRequests        Maximum number of asynchronous requests in flight, across all hosts.
+     * @param maxRequestsPerHost Maximum number of asynchronous requests in flight to one index host. Requests beyond
+     *                           it are queued by the dispatcher, so this caps the throughput of the async operations.
+     * @param connectTimeout     Timeout of a TCP connect and TLS handshake.
+     * @param readTimeout        Timeout between two reads of a response.
+     * @param writeTimeout       Timeout between two writes of a request.
+     * @param callTimeout        Timeout of a whole call, including the retries and waits of the clients'
+     *                           interceptors; none if not set.
+     * @param http2              Whether HTTP/2 is negotiated with hosts that support it, multiplexing all requests to
+     *                           a host over one connection. Defaults to true; false restricts the clients to HTTP/1.1.
+     * @param transportFactory   Factory of the clients' transports; OkHttp with the settings above if not set.
+     */
+    @Builder
+    private PineconeClientConfig(int maxIdleConnections, Duration keepAlive, int maxRequests, int maxRequestsPerHost,
+                                 Duration connectTimeout, Duration readTimeout, Duration writeTimeout,
+                                 Duration callTimeout, Boolean http2, HttpTransportFactory transportFactory) {
+        this.maxIdleConnections = maxIdleConnections > 0 ? maxIdleConnections : DEFAULT_MAX_IDLE_CONNECTIONS;
+        this.keepAlive = keepAlive != null ? keepAlive : DEFAULT_KEEP_ALIVE;
+        this.maxRequests = maxRequests > 0 ? maxRequests : DEFAULT_MAX_REQUESTS;
+        this.maxRequestsPerHost = maxRequestsPerHost > 0 ? maxRequestsPerHost : DEFAULT_MAX_REQUESTS_PER_HOST;
+        if (this.maxRequestsPerHost > this.maxRequests) {
+            throw new IllegalArgumentException("maxRequestsPerHost must not exceed maxRequests");
+        }
+        this.connectTimeout = connectTimeout != null ? connectTimeout : DEFAULT_CONNECT_TIMEOUT;
+        this.readTimeout = readTimeout != null ? readTimeout : DEFAULT_READ_TIMEOUT;
+        this.writeTimeout = writeTimeout != null ? writeTimeout : DEFAULT_WRITE_TIMEOUT;
+        this.callTimeout = callTimeout != null ? callTimeout : Duration.ZERO;
+        this.http2 = http2 == null || http2;
+        this.transportFactory = transportFactory;
+    }
+
+    /**
+     * Creates the transport of one client on the shared transport of this config.
+     *
+     * @param interceptors Interceptors of the client, outermost first.
+     * @return a new transport.
+     */
+    public HttpTransport createTransport(List<Interceptor> interceptors) {
+        if (transportFactory != null) {
+            return transportFactory.create(interceptors);
+        }
+        OkHttpClient.Builder builder = newHttpClientBuilder();
+        interceptors.forEach(builder::addInterceptor);
+        return new OkHttpClientWrapper(builder.build());
+    }
+
+    /**
+     * Returns a builder for a client on the shared transport. Clients built from it share the connection pool and
+     * dispatcher of this config, and may add their own interceptors.
+     *
+     * @return a new builder.
+     */
+    public OkHttpClient.Builder newHttpClientBuilder() {
+        return httpClient().newBuilder();
+    }
+
+    private OkHttpClient httpClient() {
+        OkHttpClient current = httpClient;
+        if (current == null) {
+            synchronized (this) {
+                current = httpClient;
+                if (current == null) {
+                    current = httpClient = createHttpClient();
+                }
+            }
+        }
+        return current;
+    }
+
+    private OkHttpClient createHttpClient() {
+        Dispatcher dispatcher = new Dispatcher();
+        dispatcher.setMaxRequests(maxRequests);
+        dispatcher.setMaxRequestsPerHost(maxRequestsPerHost);
+        return new OkHttpClient.Builder()
+                .dispatcher(dispatcher)
+                .connectionPool(new ConnectionPool(maxIdleConnections, keepAlive.toNanos(), TimeUnit.NANOSECONDS))
+                .connectTimeout(connectTimeout)
+                .readTimeout(readTimeout)
+                .writeTimeout(writeTimeout)
+                .callTimeout(callTimeout)
+                .protocols(http2 ? List.of(Protocol.HTTP_2, Protocol.HTTP_1_1) : List.of(Protocol.HTTP_1_1))
+                .build();
+    }
+}
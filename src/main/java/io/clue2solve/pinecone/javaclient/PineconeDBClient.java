@@ -1,23 +1,60 @@
 package io.clue2solve.pinecone.javaclient;
 
 import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.core.type.TypeReference;
-import com.fasterxml.jackson.databind.JsonNode;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.node.ObjectNode;
+import io.clue2solve.pinecone.javaclient.cache.QueryCache;
+import io.clue2solve.pinecone.javaclient.cache.QueryCacheKey;
 import io.clue2solve.pinecone.javaclient.model.*;
-import io.clue2solve.pinecone.javaclient.utils.OkHttpClientWrapper;
+import io.clue2solve.pinecone.javaclient.ratelimit.RateLimiter;
+import io.clue2solve.pinecone.javaclient.transport.HttpTransport;
+import io.clue2solve.pinecone.javaclient.utils.CircuitBreakerInterceptor;
+import io.clue2solve.pinecone.javaclient.utils.CircuitBreakerPolicy;
+import io.clue2solve.pinecone.javaclient.utils.CompressionPolicy;
+import io.clue2solve.pinecone.javaclient.utils.CompressionStats;
+import io.clue2solve.pinecone.javaclient.utils.ConcurrencyLimitInterceptor;
+import io.clue2solve.pinecone.javaclient.utils.ConcurrencyLimitPolicy;
+import io.clue2solve.pinecone.javaclient.utils.GzipRequestInterceptor;
+import io.clue2solve.pinecone.javaclient.utils.HedgingPolicy;
+import io.clue2solve.pinecone.javaclient.utils.JsonRequestBody;
+import io.clue2solve.pinecone.javaclient.utils.LatencyHistogram;
 import io.clue2solve.pinecone.javaclient.utils.OkHttpLoggingInterceptor;
+import io.clue2solve.pinecone.javaclient.utils.ResponseParser;
+import io.clue2solve.pinecone.javaclient.utils.RetryBudget;
+import io.clue2solve.pinecone.javaclient.utils.RetryInterceptor;
+import io.clue2solve.pinecone.javaclient.utils.RetryPolicy;
+import io.clue2solve.pinecone.javaclient.utils.SingleFlight;
 import okhttp3.*;
 import org.jetbrains.annotations.NotNull;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
-import java.util.UUID;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.concurrent.atomic.LongAdder;
 
 /**
  * Client to interface with PineconeDB.
@@ -26,10 +63,49 @@ import java.util.UUID;
 public class PineconeDBClient {
     private static final Logger LOG = LoggerFactory.getLogger(PineconeDBClient.class);
 
-    private OkHttpClientWrapper client;
+    /**
+     * Default limit on the size of a query or fetch response body.
+     */
+    public static final long DEFAULT_MAX_RESPONSE_BYTES = 64L * 1024 * 1024;
+
+    /**
+     * Maximum number of ids sent in a single fetch by {@link #fetchAll(FetchRequest)}.
+     */
+    public static final int MAX_FETCH_IDS = 1000;
+
+    /**
+     * Default limit on the length of a fetch URL, well below the 8 KB request line most servers and proxies accept.
+     */
+    public static final int DEFAULT_MAX_FETCH_URL_LENGTH = 6000;
+
+    /**
+     * Default number of fetches {@link #fetchAll(FetchRequest)} keeps in flight.
+     */
+    public static final int DEFAULT_FETCH_CONCURRENCY = 8;
+
+    private HttpTransport client;
     private final String environment;
     private final String projectId;
     private final String apiKey;
+    private Executor responseExecutor = ForkJoinPool.commonPool();
+    private long maxResponseBytes = DEFAULT_MAX_RESPONSE_BYTES;
+    private int maxFetchUrlLength = DEFAULT_MAX_FETCH_URL_LENGTH;
+    private int fetchConcurrency = DEFAULT_FETCH_CONCURRENCY;
+    private volatile QueryCache queryCache;
+    private volatile RateLimiter rateLimiter;
+    private final RetryInterceptor retryInterceptor = new RetryInterceptor();
+    private final RetryPermitInterceptor retryPermits = new RetryPermitInterceptor();
+    private final CircuitBreakerInterceptor circuitBreaker = new CircuitBreakerInterceptor();
+    private final ConcurrencyLimitInterceptor concurrencyLimiter = new ConcurrencyLimitInterceptor();
+    private final GzipRequestInterceptor gzipInterceptor = new GzipRequestInterceptor();
+    private final Map<String, LatencyHistogram> queryLatencies = new ConcurrentHashMap<>();
+    private volatile HedgingPolicy hedgingPolicy;
+    private volatile RetryBudget hedgeBudget;
+    private final LongAdder hedgedQueries = new LongAdder();
+    private final Map<EndPoints, RetryPolicy> retryPolicies = new ConcurrentHashMap<>();
+    private volatile boolean requestCoalescing;
+    private final SingleFlight<QueryCacheKey, List<QueryResponse>> queryFlights = new SingleFlight<>();
+    private final SingleFlight<List<Object>, FetchResponse> fetchFlights = new SingleFlight<>();
 
     /**
      * Constructor for PineconeDBClient.
@@ -39,23 +115,253 @@ public class PineconeDBClient {
      * @param apiKey      API key to be used for the client.
      */
     public PineconeDBClient(String environment, String projectId, String apiKey) {
-        OkHttpClient okHttpClient = new OkHttpClient.Builder()
-                .addInterceptor(new OkHttpLoggingInterceptor())
-                .build();
-        this.client = new OkHttpClientWrapper(okHttpClient);
+        this(environment, projectId, apiKey, PineconeClientConfig.DEFAULT);
+    }
+
+    /**
+     * Constructor for PineconeDBClient on the transport of the given config, which it shares with every other client
+     * created with the same config.
+     *
+     * @param environment Environment to be used for the client.
+     * @param projectId   Project ID to be used for the client.
+     * @param apiKey      API key to be used for the client.
+     * @param config      Transport settings to be used for the client.
+     */
+    public PineconeDBClient(String environment, String projectId, String apiKey, PineconeClientConfig config) {
+        // the breaker runs inside the limiter, so that time queued for a slot never counts as a slow call
+        this.client = config.createTransport(
+                List.of(retryInterceptor, retryPermits, concurrencyLimiter, circuitBreaker, new OkHttpLoggingInterceptor(),
+                        gzipInterceptor));
         this.environment = environment;
         this.projectId = projectId;
         this.apiKey = apiKey;
     }
 
-    /** Constructor for PineconeDBClient.
+    /**
+     * Replaces the transport of the client. The interceptors of this client (retries, circuit breakers,
+     * concurrency limits) only apply if the new transport was created with them.
      *
-     * @param client OkHttpClientWrapper to be used for the client.
+     * @param client Transport to be used for the client.
      */
-    public void setClient(OkHttpClientWrapper client) {
+    public void setClient(HttpTransport client) {
         this.client = client;
     }
 
+    /**
+     * Sets the executor used to parse responses of the asynchronous operations, so that
+     * OkHttp's dispatcher threads are never blocked on response decoding.
+     * Defaults to {@link ForkJoinPool#commonPool()}.
+     *
+     * @param responseExecutor Executor to be used for response parsing.
+     */
+    public void setResponseExecutor(Executor responseExecutor) {
+        this.responseExecutor = Objects.requireNonNull(responseExecutor, "responseExecutor");
+    }
+
+    /**
+     * Sets the maximum size of a query or fetch response body. Larger responses fail with an IOException
+     * instead of being read into memory.
+     *
+     * @param maxResponseBytes Maximum response size in bytes.
+     */
+    public void setMaxResponseBytes(long maxResponseBytes) {
+        if (maxResponseBytes <= 0) {
+            throw new IllegalArgumentException("maxResponseBytes must be positive");
+        }
+        this.maxResponseBytes = maxResponseBytes;
+    }
+
+    /**
+     * Sets the maximum length of the URL of a single fetch; {@link #fetchAll(FetchRequest)} splits the ids so
+     * that every fetch stays within it.
+     *
+     * @param maxFetchUrlLength Maximum URL length in characters.
+     */
+    public void setMaxFetchUrlLength(int maxFetchUrlLength) {
+        if (maxFetchUrlLength <= 0) {
+            throw new IllegalArgumentException("maxFetchUrlLength must be positive");
+        }
+        this.maxFetchUrlLength = maxFetchUrlLength;
+    }
+
+    /**
+     * Sets the number of fetches {@link #fetchAll(FetchRequest)} keeps in flight at once.
+     *
+     * @param fetchConcurrency Maximum number of concurrent fetches.
+     */
+    public void setFetchConcurrency(int fetchConcurrency) {
+        if (fetchConcurrency <= 0) {
+            throw new IllegalArgumentException("fetchConcurrency must be positive");
+        }
+        this.fetchConcurrency = fetchConcurrency;
+    }
+
+    /**
+     * Sets the retry policy of an operation. Every operation uses {@link RetryPolicy#DEFAULT} unless set otherwise;
+     * upserts and deletes are retried too, since both are idempotent by vector id.
+     * Use {@link RetryPolicy#NONE} to disable retries of an operation.
+     *
+     * @param endPoint    Operation the policy applies to.
+     * @param retryPolicy Policy to be used.
+     */
+    public void setRetryPolicy(EndPoints endPoint, RetryPolicy retryPolicy) {
+        retryPolicies.put(endPoint, Objects.requireNonNull(retryPolicy, "retryPolicy"));
+    }
+
+    /**
+     * @param endPoint Operation.
+     * @return the retry policy of the operation.
+     */
+    public RetryPolicy getRetryPolicy(EndPoints endPoint) {
+        return retryPolicies.getOrDefault(endPoint, RetryPolicy.DEFAULT);
+    }
+
+    /**
+     * @return the interceptor retrying the requests of this client, for its retry count and budget.
+     */
+    public RetryInterceptor getRetryInterceptor() {
+        return retryInterceptor;
+    }
+
+    /**
+     * Sets the rate limiter applied to the operations of this client. Blocking operations wait for their permits;
+     * asynchronous operations reserve them and are enqueued once they are due. Upserts take one permit per estimated
+     * byte of request body, every other operation one permit per request. Hedged duplicates and retries take their
+     * own permits as well; a retry waits for them on the thread that retries it, like it waits for its backoff.
+     *
+     * @param rateLimiter Rate limiter to be used, or null to disable rate limiting.
+     */
+    public void setRateLimiter(RateLimiter rateLimiter) {
+        this.rateLimiter = rateLimiter;
+    }
+
+    /**
+     * @return the rate limiter, or null if rate limiting is disabled.
+     */
+    public RateLimiter getRateLimiter() {
+        return rateLimiter;
+    }
+
+    /**
+     * Enables gzip compression of request bodies, which mostly pays off for large upserts on bandwidth-limited links.
+     * The server must accept {@code Content-Encoding: gzip}.
+     *
+     * @param compressionPolicy Policy to be used, or null to send bodies uncompressed.
+     */
+    public void setRequestCompression(CompressionPolicy compressionPolicy) {
+        gzipInterceptor.setPolicy(compressionPolicy);
+    }
+
+    /**
+     * @return the request bodies compressed so far, their compression ratio and the CPU time it took.
+     */
+    public CompressionStats getCompressionStats() {
+        return gzipInterceptor.getStats();
+    }
+
+    /**
+     * Enables a circuit breaker per index host. While the breaker of an index is open, its requests fail at once with
+     * a {@link io.clue2solve.pinecone.javaclient.utils.CallNotPermittedException} instead of waiting for timeouts,
+     * so that a degraded index cannot tie up the threads serving the others.
+     *
+     * @param circuitBreakerPolicy Policy to be used, or null to disable the breakers.
+     */
+    public void setCircuitBreakerPolicy(CircuitBreakerPolicy circuitBreakerPolicy) {
+        circuitBreaker.setPolicy(circuitBreakerPolicy);
+    }
+
+    /**
+     * @return the interceptor holding the circuit breaker of each index host, for their states and rejection count.
+     */
+    public CircuitBreakerInterceptor getCircuitBreakerInterceptor() {
+        return circuitBreaker;
+    }
+
+    /**
+     * Enables an adaptive limit on the requests in flight to each index host. The limit grows while the host answers
+     * quickly and shrinks on 429s, 5xx responses and failures; requests beyond it wait up to the policy's
+     * {@code maxQueueWait} and then fail with a {@link io.clue2solve.pinecone.javaclient.utils.RejectedCallException}.
+     *
+     * @param concurrencyLimitPolicy Policy to be used, or null to disable the limit.
+     */
+    public void setConcurrencyLimitPolicy(ConcurrencyLimitPolicy concurrencyLimitPolicy) {
+        concurrencyLimiter.setPolicy(concurrencyLimitPolicy);
+    }
+
+    /**
+     * @return the interceptor limiting the concurrency of each index host, for its limits and rejection count.
+     */
+    public ConcurrencyLimitInterceptor getConcurrencyLimitInterceptor() {
+        return concurrencyLimiter;
+    }
+
+    /**
+     * Enables hedging of queries: a query still outstanding after the policy's percentile of its index's recent
+     * latencies is sent a second time, and the first response wins. The latencies are tracked per index by this client.
+     *
+     * @param hedgingPolicy Policy to be used, or null to disable hedging.
+     */
+    public void setHedgingPolicy(HedgingPolicy hedgingPolicy) {
+        if (hedgingPolicy != null) {
+            this.hedgeBudget = RetryBudget.builder()
+                    .retryRatio(hedgingPolicy.getMaxExtraLoad())
+                    .minRetriesPerSecond(1)
+                    .build();
+        }
+        this.hedgingPolicy = hedgingPolicy;
+    }
+
+    /**
+     * @return number of queries that were hedged with a duplicate request.
+     */
+    public long getHedgedQueryCount() {
+        return hedgedQueries.sum();
+    }
+
+    /**
+     * @param indexName Name of the index.
+     * @return the recent query latencies of the index, as measured by this client. Each attempt, including each
+     * hedge, is measured on its own from the moment it is handed to the transport until its response arrives, so
+     * time spent waiting for the rate limiter is not part of it.
+     */
+    public LatencyHistogram getQueryLatencies(String indexName) {
+        return queryLatencies.computeIfAbsent(indexName, name -> new LatencyHistogram());
+    }
+
+    /**
+     * Sets the cache consulted by {@link #query(QueryRequest)} and {@link #queryAsync(QueryRequest)}.
+     * Upserts and deletes made through this client invalidate the cached queries of their namespace.
+     *
+     * @param queryCache Cache to be used, or null to disable caching.
+     */
+    public void setQueryCache(QueryCache queryCache) {
+        this.queryCache = queryCache;
+    }
+
+    /**
+     * @return the query cache, or null if caching is disabled.
+     */
+    public QueryCache getQueryCache() {
+        return queryCache;
+    }
+
+    /**
+     * Enables coalescing of identical concurrent queries and fetches: while a request is in flight, identical
+     * requests wait for its result instead of being sent again. Coalesced callers share the same result objects.
+     *
+     * @param requestCoalescing true to coalesce identical concurrent requests.
+     */
+    public void setRequestCoalescing(boolean requestCoalescing) {
+        this.requestCoalescing = requestCoalescing;
+    }
+
+    /**
+     * @return number of queries and fetches that were served by attaching to an identical request in flight.
+     */
+    public long getCoalescedRequestCount() {
+        return queryFlights.getCoalescedCount() + fetchFlights.getCoalescedCount();
+    }
+
     /**
      * Fetches statistics related to the described index.
      *
@@ -67,31 +373,233 @@ public class PineconeDBClient {
         String url = buildUrl(indexName, EndPoints.DESCRIBE_INDEX_STATS.toString());
         Request request = prepareRequestWithNoBody(indexName, url);
         try {
-            return client.newCall(request).execute();
+            return execute(request);
         } catch (IOException e) {
             LOG.error("Error fetching index stats for index: {}", indexName, e);
             throw e;
         }
     }
 
+    /**
+     * Fetches statistics related to the described index asynchronously.
+     *
+     * @param indexName Name of the index to be described.
+     * @return Future completed with the response from PineconeDB, which the caller must close.
+     */
+    public CompletableFuture<Response> describeIndexStatsAsync(String indexName) {
+        String url = buildUrl(indexName, EndPoints.DESCRIBE_INDEX_STATS.toString());
+        CompletableFuture<Response> future = enqueue(prepareRequestWithNoBody(indexName, url));
+        future.whenComplete((response, throwable) -> {
+            if (throwable != null) {
+                LOG.error("Error fetching index stats for index: {}", indexName, throwable);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Opens connections to the hosts of the given indexes before the first real request, so that it does not pay
+     * for DNS resolution, the TCP connect and the TLS handshake. Each host gets {@code connectionsPerHost}
+     * concurrent requests, either {@code describe_index_stats} calls or {@code HEAD} requests, whose connections stay
+     * in the pool afterwards. Warm-up requests are not retried and do not take rate-limit permits.
+     * <p>
+     * Blocks until every host answered or the timeout elapsed, whichever comes first; requests still pending at the
+     * deadline are cancelled and their hosts reported as failed. A failed warm-up only means that the first requests
+     * to those hosts will be slower, so it never throws.
+     *
+     * @param warmUpRequest Indexes to warm up and warm-up settings.
+     * @return Hosts that were warmed up and hosts that failed.
+     */
+    public WarmUpResult warmUp(WarmUpRequest warmUpRequest) {
+        long start = System.nanoTime();
+        Map<String, List<CompletableFuture<Response>>> calls = new LinkedHashMap<>();
+        for (String indexName : warmUpRequest.getIndexNames()) {
+            String url = buildUrl(indexName, EndPoints.DESCRIBE_INDEX_STATS.toString());
+            // without an Operation tag the retry permit interceptor does not charge the rate limiter either
+            Request request = warmUpRequest.isDescribeIndexStats()
+                    ? prepareRequestWithNoBody(indexName, url).newBuilder()
+                            .tag(RetryPolicy.class, RetryPolicy.NONE)
+                            .tag(Operation.class, null)
+                            .build()
+                    : new Request.Builder().url(url).head().tag(RetryPolicy.class, RetryPolicy.NONE).build();
+            List<CompletableFuture<Response>> hostCalls = calls.computeIfAbsent(request.url().host(), host -> new ArrayList<>());
+            for (int i = 0; i < warmUpRequest.getConnectionsPerHost(); i++) {
+                // bypasses the rate limiter, the response is only read to return the connection to the pool
+                CompletableFuture<Response> call = client.enqueue(request);
+                call.thenAccept(Response::close);
+                hostCalls.add(call);
+            }
+        }
+
+        CompletableFuture<?> all = CompletableFuture.allOf(calls.values().stream()
+                .flatMap(List::stream).toArray(CompletableFuture[]::new));
+        try {
+            all.get(warmUpRequest.getTimeout().toNanos(), TimeUnit.NANOSECONDS);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (ExecutionException | TimeoutException ignored) {
+            // the failures are reported per host below
+        }
+
+        List<String> warmedHosts = new ArrayList<>();
+        Map<String, Throwable> failedHosts = new LinkedHashMap<>();
+        calls.forEach((host, hostCalls) -> {
+            Throwable failure = null;
+            for (CompletableFuture<Response> call : hostCalls) {
+                if (!call.isDone()) {
+                    call.cancel(true);
+                    failure = new TimeoutException("Warm-up of " + host + " did not complete in time");
+                } else if (call.isCompletedExceptionally() && failure == null) {
+                    failure = call.handle((response, throwable) -> throwable).join();
+                }
+            }
+            if (failure != null) {
+                LOG.warn("Warm-up of host {} failed: {}", host, failure.toString());
+                failedHosts.put(host, failure);
+            } else {
+                warmedHosts.add(host);
+            }
+        });
+        return WarmUpResult.builder()
+                .warmedHosts(warmedHosts)
+                .failedHosts(failedHosts)
+                .elapsed(Duration.ofNanos(System.nanoTime() - start))
+                .build();
+    }
+
     /**
      * Queries PineconeDB using the provided request parameters.
      *
      * @param queryRequest Request parameters for the query.
      * @return List of QueryResponses resulting from the query.
      * @throws IOException if there's an error during the query.
+     * @throws IllegalArgumentException if the request does not set exactly one of id or vector.
      */
     public List<QueryResponse> query(QueryRequest queryRequest) throws IOException {
+        queryRequest.validate();
+        QueryCache cache = queryCache;
+        if (cache != null) {
+            List<QueryResponse> cached = cache.get(queryRequest);
+            if (cached != null) {
+                return cached;
+            }
+        }
+        if (requestCoalescing) {
+            return queryFlights.execute(QueryCacheKey.of(queryRequest), () -> executeQuery(queryRequest, cache));
+        }
+        return executeQuery(queryRequest, cache);
+    }
+
+    /**
+     * Queries PineconeDB asynchronously using the provided request parameters.
+     *
+     * @param queryRequest Request parameters for the query.
+     * @return Future completed with the list of QueryResponses resulting from the query.
+     * @throws IllegalArgumentException if the request does not set exactly one of id or vector.
+     */
+    public CompletableFuture<List<QueryResponse>> queryAsync(QueryRequest queryRequest) {
+        queryRequest.validate();
+        QueryCache cache = queryCache;
+        if (cache != null) {
+            List<QueryResponse> cached = cache.get(queryRequest);
+            if (cached != null) {
+                return CompletableFuture.completedFuture(cached);
+            }
+        }
+        if (requestCoalescing) {
+            return queryFlights.executeAsync(QueryCacheKey.of(queryRequest), () -> executeQueryAsync(queryRequest, cache));
+        }
+        return executeQueryAsync(queryRequest, cache);
+    }
+
+    private List<QueryResponse> executeQuery(QueryRequest queryRequest, QueryCache cache) throws IOException {
+        if (hedgingPolicy != null) {
+            return await(executeQueryAsync(queryRequest, cache));
+        }
+        String url = buildUrl(queryRequest.getIndexName(), EndPoints.QUERY.toString());
+        Request request = prepareQueryRequest(queryRequest, url);
+        ResponseReader<List<QueryResponse>> reader = queryReader(cache, queryRequest);
+        return reader.read(execute(request));
+    }
+
+    private CompletableFuture<List<QueryResponse>> executeQueryAsync(QueryRequest queryRequest, QueryCache cache) {
         String url = buildUrl(queryRequest.getIndexName(), EndPoints.QUERY.toString());
         Request request = prepareQueryRequest(queryRequest, url);
+        ResponseReader<List<QueryResponse>> reader = queryReader(cache, queryRequest);
+        HedgingPolicy hedging = hedgingPolicy;
+        return hedging == null
+                ? executeAsync(request, reader)
+                : executeHedged(request, reader, hedging.hedgeDelayNanos(request.tag(LatencyHistogram.class)));
+    }
 
-            List<QueryResponse> queryResponses = null;
-            try (Response response = client.newCall(request).execute()) {
-                if (response.body() != null) {
-                    queryResponses = extractQueryResponse(response.body().string());
-                }
+    /**
+     * Executes the request and, if it has not completed after the delay and the hedge budget allows, executes it a
+     * second time. The duplicate shares the transport of the first call: over HTTP/1.1 it takes another pooled
+     * connection, since the first one is busy, but over HTTP/2 it is multiplexed on the same connection, so it only
+     * helps against a slow replica or request, not against a stalled connection.
+     * The first successful response wins and the other call is cancelled; the result only fails once both failed.
+     */
+    private <T> CompletableFuture<T> executeHedged(Request request, ResponseReader<T> reader, long delayNanos) {
+        hedgeBudget.onRequest();
+        CompletableFuture<T> primary = executeAsync(request, reader);
+        if (delayNanos < 0) {
+            return primary;
+        }
+        CompletableFuture<T> result = new CompletableFuture<>();
+        AtomicInteger outstanding = new AtomicInteger(1);
+        forwardAttempt(primary, result, outstanding);
+        ScheduledFuture<?> timer = HedgeScheduler.INSTANCE.schedule(() -> {
+            if (result.isDone() || !hedgeBudget.tryAcquireRetry()) {
+                return;
             }
-            return queryResponses;
+            hedgedQueries.increment();
+            outstanding.incrementAndGet();
+            CompletableFuture<T> hedge = executeAsync(request, reader);
+            forwardAttempt(hedge, result, outstanding);
+            result.whenComplete((value, throwable) -> hedge.cancel(true));
+        }, delayNanos, TimeUnit.NANOSECONDS);
+        result.whenComplete((value, throwable) -> {
+            timer.cancel(false);
+            primary.cancel(true);
+        });
+        return result;
+    }
+
+    private static <T> void forwardAttempt(CompletableFuture<T> attempt, CompletableFuture<T> result, AtomicInteger outstanding) {
+        attempt.whenComplete((value, throwable) -> {
+            if (throwable == null) {
+                result.complete(value);
+            } else if (outstanding.decrementAndGet() == 0) {
+                result.completeExceptionally(throwable instanceof CompletionException ? throwable.getCause() : throwable);
+            }
+        });
+    }
+
+    /**
+     * Queries PineconeDB and returns matches that decode their values and metadata only when they are accessed.
+     * Useful for queries with {@code includeValues} or {@code includeMetadata} whose callers mostly rank by score.
+     *
+     * @param queryRequest Request parameters for the query.
+     * @return List of lazily decoded matches.
+     * @throws IOException if there's an error during the query.
+     */
+    public List<LazyQueryResponse> queryLazy(QueryRequest queryRequest) throws IOException {
+        queryRequest.validate();
+        String url = buildUrl(queryRequest.getIndexName(), EndPoints.QUERY.toString());
+        Request request = prepareQueryRequest(queryRequest, url);
+        return readLazyQueryResponse(execute(request));
+    }
+
+    /**
+     * Queries PineconeDB asynchronously and returns matches that decode their values and metadata only when they are accessed.
+     *
+     * @param queryRequest Request parameters for the query.
+     * @return Future completed with the list of lazily decoded matches.
+     */
+    public CompletableFuture<List<LazyQueryResponse>> queryLazyAsync(QueryRequest queryRequest) {
+        queryRequest.validate();
+        String url = buildUrl(queryRequest.getIndexName(), EndPoints.QUERY.toString());
+        return executeAsync(prepareQueryRequest(queryRequest, url), this::readLazyQueryResponse);
     }
 
     /**
@@ -105,19 +613,68 @@ public class PineconeDBClient {
         String url = buildUrl(fetchRequest.getIndexName(), EndPoints.FETCH.toString());
         Request request = prepareFetchRequest(fetchRequest, url);
         try {
-            try (Response response = client.newCall(request).execute()) {
-                if (response.body() != null) {
-                    return extractFetchResponse(response.body().string());
-                } else {
-                    return null;
-                }
+            if (requestCoalescing) {
+                return fetchFlights.execute(fetchKey(fetchRequest), () -> readFetchResponse(execute(request)));
             }
+            return readFetchResponse(execute(request));
         } catch (IOException e) {
             LOG.error("Error fetching vector for ids: {}", fetchRequest.getIds(), e);
             throw e;
         }
     }
 
+    /**
+     * Fetches the vector and metadata for the given ID asynchronously.
+     *
+     * @param fetchRequest Request parameters for the fetch operation.
+     * @return Future completed with the FetchResponse containing the vector and metadata.
+     */
+    public CompletableFuture<FetchResponse> fetchAsync(FetchRequest fetchRequest) {
+        String url = buildUrl(fetchRequest.getIndexName(), EndPoints.FETCH.toString());
+        Request request = prepareFetchRequest(fetchRequest, url);
+        CompletableFuture<FetchResponse> future = requestCoalescing
+                ? fetchFlights.executeAsync(fetchKey(fetchRequest), () -> executeAsync(request, this::readFetchResponse))
+                : executeAsync(request, this::readFetchResponse);
+        future.whenComplete((fetchResponse, throwable) -> {
+            if (throwable != null) {
+                LOG.error("Error fetching vector for ids: {}", fetchRequest.getIds(), throwable);
+            }
+        });
+        return future;
+    }
+
+    /**
+     * Fetches every vector of the given IDs. The IDs are split into fetches that stay under the URL length limit
+     * and {@link #MAX_FETCH_IDS}, and up to {@code fetchConcurrency} of them are executed in parallel.
+     *
+     * @param fetchRequest Request parameters for the fetch operation.
+     * @return FetchResponses keyed by vector id; IDs that do not exist are absent.
+     * @throws IOException if any of the fetches failed.
+     */
+    public Map<String, FetchResponse> fetchAll(FetchRequest fetchRequest) throws IOException {
+        return await(fetchAllAsync(fetchRequest));
+    }
+
+    /**
+     * Fetches every vector of the given IDs asynchronously, see {@link #fetchAll(FetchRequest)}.
+     * The future fails with the first failed fetch, and cancelling it cancels the fetches in flight.
+     *
+     * @param fetchRequest Request parameters for the fetch operation.
+     * @return Future completed with the FetchResponses keyed by vector id.
+     */
+    public CompletableFuture<Map<String, FetchResponse>> fetchAllAsync(FetchRequest fetchRequest) {
+        String url = buildUrl(fetchRequest.getIndexName(), EndPoints.FETCH.toString());
+        List<FetchRequest> chunks = fetchRequest.split(MAX_FETCH_IDS, maxFetchUrlLength - url.length() - 1);
+        LOG.debug("Fetching {} ids in {} requests", fetchRequest.getIds() != null ? fetchRequest.getIds().length : 0, chunks.size());
+        CompletableFuture<Map<String, FetchResponse>> future = new ChunkedFetch(url, chunks).start(fetchConcurrency);
+        future.whenComplete((fetchResponses, throwable) -> {
+            if (throwable != null && !future.isCancelled()) {
+                LOG.error("Error fetching vectors from index: {}", fetchRequest.getIndexName(), throwable);
+            }
+        });
+        return future;
+    }
+
     /**
      * Performs an upsert operation on PineconeDB.
      *
@@ -129,15 +686,25 @@ public class PineconeDBClient {
         String url = buildUrl(upsertRequest.getIndexName(), EndPoints.UPSERT.toString());
 
         Request request = prepareUpsertRequest(upsertRequest, url);
-
-        try (Response response = client.newCall(request).execute()) {
-            if (response.body() != null) {
-                return response.body().string();
-            } else
-                return null;
+        try {
+            return readBodyAsString(execute(request));
+        } finally {
+            invalidateQueryCache(upsertRequest.getIndexName(), upsertRequest.getNamespace());
         }
     }
 
+    /**
+     * Performs an upsert operation on PineconeDB asynchronously.
+     *
+     * @param upsertRequest Request parameters for the upsert operation.
+     * @return Future completed with the response string from PineconeDB.
+     */
+    public CompletableFuture<String> upsertAsync(@NotNull UpsertRequest upsertRequest) {
+        String url = buildUrl(upsertRequest.getIndexName(), EndPoints.UPSERT.toString());
+        return executeWrite(prepareUpsertRequest(upsertRequest, url), upsertRequest.getIndexName(), upsertRequest.getNamespace(),
+                this::readBodyAsString);
+    }
+
     /**
      * Performs a delete operation on PineconeDB.
      *
@@ -149,71 +716,315 @@ public class PineconeDBClient {
         String url = buildUrl(deleteRequest.getIndexName(), EndPoints.DELETE.toString());
 
         Request request = preparDeletelRequest(deleteRequest, url);
+        try {
+            return readBodyAsString(execute(request));
+        } finally {
+            invalidateQueryCache(deleteRequest.getIndexName(), deleteRequest.getNamespace());
+        }
+    }
+
+    /**
+     * Performs a delete operation on PineconeDB asynchronously.
+     *
+     * @param deleteRequest Request parameters for the delete operation.
+     * @return Future completed with the response string from PineconeDB.
+     */
+    public CompletableFuture<String> deleteAsync(DeleteRequest deleteRequest) {
+        String url = buildUrl(deleteRequest.getIndexName(), EndPoints.DELETE.toString());
+        return executeWrite(preparDeletelRequest(deleteRequest, url), deleteRequest.getIndexName(), deleteRequest.getNamespace(),
+                this::readBodyAsString);
+    }
+
+    /**
+     * Like {@link #deleteAsync(DeleteRequest)}, but the future fails unless PineconeDB answers with a 2xx status,
+     * whatever the body says. Used by {@link BulkDeleter}, which must not count a failed batch as deleted.
+     *
+     * @param deleteRequest Request parameters for the delete operation.
+     * @return Future completed with the response string from PineconeDB.
+     */
+    CompletableFuture<String> deleteBatchAsync(DeleteRequest deleteRequest) {
+        String url = buildUrl(deleteRequest.getIndexName(), EndPoints.DELETE.toString());
+        return executeWrite(preparDeletelRequest(deleteRequest, url), deleteRequest.getIndexName(), deleteRequest.getNamespace(),
+                this::readSuccessfulBodyAsString);
+    }
 
-        try (Response response = client.newCall(request).execute()) {
-            if (response.body() != null) {
-                return response.body().string();
+    /**
+     * Executes a write asynchronously and invalidates the cached queries of the namespace before the
+     * returned future completes, whether the write succeeded or not.
+     */
+    private CompletableFuture<String> executeWrite(Request request, String indexName, String namespace,
+                                                   ResponseReader<String> reader) {
+        CompletableFuture<String> future = executeAsync(request, response -> {
+            try {
+                return reader.read(response);
+            } finally {
+                invalidateQueryCache(indexName, namespace);
             }
-            else {
-                return null;
+        });
+        future.whenComplete((response, throwable) -> {
+            if (throwable != null) {
+                invalidateQueryCache(indexName, namespace);
             }
+        });
+        return future;
+    }
+
+    /**
+     * Fingerprint of a fetch: the same ids in the same order from the same index and namespace.
+     */
+    private static List<Object> fetchKey(FetchRequest fetchRequest) {
+        return Arrays.asList(fetchRequest.getIndexName(), fetchRequest.getNameSpace(), Arrays.asList(fetchRequest.getIds()));
+    }
+
+    private void invalidateQueryCache(String indexName, String namespace) {
+        QueryCache cache = queryCache;
+        if (cache != null) {
+            cache.invalidate(indexName, namespace);
         }
     }
 
     /**
-     * Extracts the QueryResponses from the JSON response string.
+     * Reads a query response and caches it if the query succeeded and a cache is set.
+     * Must be called before the query is sent.
+     */
+    private ResponseReader<List<QueryResponse>> queryReader(QueryCache cache, QueryRequest queryRequest) {
+        if (cache == null) {
+            return this::readQueryResponse;
+        }
+        // read before the query is sent, so that a write overlapping the query keeps its result out of the cache
+        long generation = cache.generation(queryRequest);
+        return response -> {
+            List<QueryResponse> queryResponses = readQueryResponse(response);
+            if (response.isSuccessful() && queryResponses != null) {
+                return cache.put(queryRequest, queryResponses, generation);
+            }
+            return queryResponses;
+        };
+    }
+
+    /**
+     * Executes the request on the calling thread, first waiting for the rate limiter if one is set.
+     */
+    private Response execute(Request request) throws IOException {
+        RateLimiter limiter = rateLimiter;
+        Operation operation = request.tag(Operation.class);
+        if (limiter != null && operation != null) {
+            acquirePermits(limiter, operation);
+            operation.prepaidAttempts.incrementAndGet();
+        }
+        LatencyHistogram latencies = request.tag(LatencyHistogram.class);
+        if (latencies == null) {
+            return client.execute(request);
+        }
+        long start = System.nanoTime();
+        Response response = client.execute(request);
+        if (response.isSuccessful()) {
+            latencies.record(System.nanoTime() - start);
+        }
+        return response;
+    }
+
+    private static void acquirePermits(RateLimiter limiter, Operation operation) throws InterruptedIOException {
+        try {
+            limiter.acquire(operation.indexName, operation.endPoint, operation.permits);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the rate limit of " + operation.endPoint);
+        }
+    }
+
+    /**
+     * Enqueues the request. If a rate limiter is set, the permits are reserved now and the request is only
+     * enqueued once they are due, so that no thread is blocked while waiting.
+     */
+    private CompletableFuture<Response> enqueue(Request request) {
+        RateLimiter limiter = rateLimiter;
+        Operation operation = request.tag(Operation.class);
+        long waitNanos = 0;
+        if (limiter != null && operation != null) {
+            waitNanos = limiter.reserve(operation.indexName, operation.endPoint, operation.permits);
+            operation.prepaidAttempts.incrementAndGet();
+        }
+        if (waitNanos <= 0) {
+            return dispatch(request);
+        }
+        CompletableFuture<Response> delayed = new CompletableFuture<>();
+        CompletableFuture.delayedExecutor(waitNanos, TimeUnit.NANOSECONDS).execute(() -> {
+            if (delayed.isDone()) {
+                return;
+            }
+            CompletableFuture<Response> call = dispatch(request);
+            delayed.whenComplete((response, throwable) -> {
+                if (delayed.isCancelled()) {
+                    call.cancel(true);
+                }
+            });
+            call.whenComplete((response, throwable) -> {
+                if (throwable != null) {
+                    delayed.completeExceptionally(throwable);
+                } else if (!delayed.complete(response)) {
+                    response.close();
+                }
+            });
+        });
+        return delayed;
+    }
+
+    /**
+     * Hands the request to the transport and, if it is tagged with a latency histogram, records the time until its
+     * response arrived.
+     */
+    private CompletableFuture<Response> dispatch(Request request) {
+        LatencyHistogram latencies = request.tag(LatencyHistogram.class);
+        long start = System.nanoTime();
+        CompletableFuture<Response> call = client.enqueue(request);
+        if (latencies != null) {
+            call.thenAccept(response -> {
+                if (response.isSuccessful()) {
+                    latencies.record(System.nanoTime() - start);
+                }
+            });
+        }
+        return call;
+    }
+
+    /**
+     * Enqueues the request and parses the response on the response executor.
+     * Cancelling the returned future cancels the underlying HTTP call.
      *
-     * @param jsonResponseString JSON response string from PineconeDB.
-     * @return List of QueryResponses.
-     * @throws JsonProcessingException if there's an error processing the JSON response string.
+     * @param request Prepared request.
+     * @param reader  Reader that turns the response into the result; it is responsible for closing the response.
+     * @return Future completed with the parsed result.
      */
-    @NotNull
-    public List<QueryResponse> extractQueryResponse(String jsonResponseString) throws JsonProcessingException {
-        ObjectMapper mapper = new ObjectMapper();
-        JsonNode rootNode = mapper.readTree(jsonResponseString);
-        List<QueryResponse> queryResponses = new ArrayList<>();
-        JsonNode matches = rootNode.get("matches");
-        if (matches != null && matches.isArray()) {
+    private <T> CompletableFuture<T> executeAsync(Request request, ResponseReader<T> reader) {
+        CompletableFuture<Response> responseFuture = enqueue(request);
+        CompletableFuture<T> result = responseFuture.thenApplyAsync(response -> {
+            try {
+                return reader.read(response);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, responseExecutor);
+        result.whenComplete((value, throwable) -> {
+            if (result.isCancelled()) {
+                responseFuture.cancel(true);
+                // the parse stage is skipped once cancelled, so release a response that raced the cancel
+                responseFuture.thenAccept(Response::close);
+            }
+        });
+        return result;
+    }
 
-            for (JsonNode match : matches) {
-                QueryResponse queryResponse = new QueryResponse();
+    private List<QueryResponse> readQueryResponse(Response response) throws IOException {
+        try (response) {
+            return response.body() != null ? ResponseParser.parseQueryResponse(openBody(response.body())) : null;
+        }
+    }
 
-                queryResponse.setId(UUID.fromString(match.get("id").asText()));
-                queryResponse.setScore(match.get("score").asDouble());
+    private List<LazyQueryResponse> readLazyQueryResponse(Response response) throws IOException {
+        try (response) {
+            if (response.body() == null) {
+                return null;
+            }
+            byte[] body;
+            try (InputStream in = openBody(response.body())) {
+                body = in.readAllBytes();
+            }
+            return ResponseParser.parseLazyQueryResponse(body);
+        }
+    }
 
-                List<Double> valuesList = new ArrayList<>();
-                match.get("values").forEach(value -> valuesList.add(value.asDouble()));
-                queryResponse.setValues(valuesList);
-                queryResponse.setMetadata(match.get("metadata").toString());
-                queryResponses.add(queryResponse);
+    private FetchResponse readFetchResponse(Response response) throws IOException {
+        try (response) {
+            if (response.body() == null) {
+                return null;
+            }
+            Map<String, FetchResponse> fetchResponses = ResponseParser.parseFetchResponse(openBody(response.body()));
+            return fetchResponses.isEmpty() ? new FetchResponse() : fetchResponses.values().iterator().next();
+        }
+    }
+
+    private Map<String, FetchResponse> readFetchResponses(Response response) throws IOException {
+        try (response) {
+            if (!response.isSuccessful()) {
+                throw new IOException("Fetch failed with HTTP " + response.code());
             }
+            return response.body() != null ? ResponseParser.parseFetchResponse(openBody(response.body())) : Map.of();
         }
-        return queryResponses;
     }
 
-    private FetchResponse extractFetchResponse(String jsonResponseString) throws JsonProcessingException {
-        ObjectMapper mapper = new ObjectMapper();
-        JsonNode rootNode = mapper.readTree(jsonResponseString);
-        FetchResponse fetchResponse = new FetchResponse();
-        JsonNode vectors = rootNode.get("vectors");
-        String id = vectors.fieldNames().next();
-        JsonNode vector = vectors.get(id);
-        fetchResponse.setId(UUID.fromString(vector.get("id").asText()));
+    private String readBodyAsString(Response response) throws IOException {
+        try (response) {
+            return response.body() != null ? response.body().string() : null;
+        }
+    }
 
+    private String readSuccessfulBodyAsString(Response response) throws IOException {
+        try (response) {
+            String body = response.body() != null ? response.body().string() : null;
+            if (!response.isSuccessful()) {
+                throw new IOException("Request failed with HTTP " + response.code()
+                        + (body == null || body.isEmpty() ? "" : ": " + body));
+            }
+            return body;
+        }
+    }
 
-        JsonNode valuesJson = vector.get("values");
-        ObjectMapper objectMapper = new ObjectMapper();
-        List<Double> values = null;
+    /**
+     * Opens the body for streaming, enforcing the maximum response size.
+     *
+     * @param body Response body.
+     * @return Size-limited stream over the body.
+     * @throws IOException if the declared content length already exceeds the maximum response size.
+     */
+    private InputStream openBody(ResponseBody body) throws IOException {
+        if (body.contentLength() > maxResponseBytes) {
+            throw new IOException("Response of " + body.contentLength() + " bytes exceeds the maximum size of " + maxResponseBytes + " bytes");
+        }
+        return ResponseParser.limit(body.byteStream(), maxResponseBytes);
+    }
+
+    /**
+     * Waits for an asynchronous operation, rethrowing its failure as the IOException the blocking methods declare.
+     */
+    private static <T> T await(CompletableFuture<T> future) throws IOException {
         try {
-            values = objectMapper.readValue(valuesJson.toString(), new TypeReference<>() {
-            });
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for PineconeDB");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof UncheckedIOException) {
+                throw ((UncheckedIOException) cause).getCause();
+            }
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    /**
+     * Extracts the QueryResponses from the JSON response string.
+     *
+     * @param jsonResponseString JSON response string from PineconeDB.
+     * @return List of QueryResponses.
+     * @throws JsonProcessingException if there's an error processing the JSON response string.
+     */
+    @NotNull
+    public List<QueryResponse> extractQueryResponse(String jsonResponseString) throws JsonProcessingException {
+        try {
+            return ResponseParser.parseQueryResponse(jsonResponseString);
         } catch (JsonProcessingException e) {
-            LOG.error("Error parsing values for id: {}", id, e);
+            throw e;
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
         }
-        fetchResponse.setValues(values);
-        fetchResponse.setNameSpace(rootNode.get("namespace").toString());
-        fetchResponse.setMetadata(vector.get("metadata").toString());
-        return fetchResponse;
     }
 
     /**
@@ -231,7 +1042,9 @@ public class PineconeDBClient {
                     .url(url)
                     .addHeader("accept", "application/json")
                     .addHeader("content-type", "application/json")
-                    .addHeader("Api-Key", apiKey);
+                    .addHeader("Api-Key", apiKey)
+                    .tag(RetryPolicy.class, getRetryPolicy(EndPoints.DESCRIBE_INDEX_STATS))
+                    .tag(Operation.class, new Operation(indexName, EndPoints.DESCRIBE_INDEX_STATS, 1));
 
 
             ObjectMapper objectMapper = new ObjectMapper();
@@ -263,13 +1076,13 @@ public class PineconeDBClient {
                     .url(url)
                     .addHeader("accept", "application/json")
                     .addHeader("content-type", "application/json")
-                    .addHeader("Api-Key", apiKey);
+                    .addHeader("Api-Key", apiKey)
+                    .tag(RetryPolicy.class, getRetryPolicy(EndPoints.QUERY))
+                    .tag(Operation.class, new Operation(queryRequest.getIndexName(), EndPoints.QUERY, 1))
+                    .tag(LatencyHistogram.class, getQueryLatencies(queryRequest.getIndexName()));
 
-            ObjectMapper objectMapper = new ObjectMapper();
-            String queryJsonString = objectMapper.writeValueAsString(queryRequest);
-            LOG.info("Query JSON: {}", queryJsonString);
-            RequestBody body = RequestBody.create(queryJsonString, MediaType.parse("application/json"));
-            builder.post(body);
+            LOG.debug("Query JSON: {}", queryRequest);
+            builder.post(new JsonRequestBody(queryRequest));
             return builder.build();
 
         } catch (Exception e) {
@@ -292,15 +1105,11 @@ public class PineconeDBClient {
                     .url(url)
                     .addHeader("accept", "application/json")
                     .addHeader("content-type", "application/json")
-                    .addHeader("Api-Key", apiKey);
+                    .addHeader("Api-Key", apiKey)
+                    .tag(RetryPolicy.class, getRetryPolicy(EndPoints.UPSERT))
+                    .tag(Operation.class, new Operation(upsertRequest.getIndexName(), EndPoints.UPSERT, upsertRequest.estimateSerializedSize()));
 
-
-            ObjectMapper objectMapper = new ObjectMapper();
-            ObjectNode json = objectMapper.createObjectNode();
-            json.put("namespace", upsertRequest.getNamespace());
-            MediaType mediaType = MediaType.parse("application/json");
-
-            builder.post(RequestBody.create(String.valueOf(upsertRequest.toString()), mediaType));
+            builder.post(new JsonRequestBody(upsertRequest));
             return builder.build();
 
         } catch (Exception e) {
@@ -321,7 +1130,11 @@ public class PineconeDBClient {
                     .url(url)
                     .addHeader("accept", "application/json")
                     .addHeader("content-type", "application/json")
-                    .addHeader("Api-Key", apiKey);
+                    .addHeader("Api-Key", apiKey)
+                    .tag(RetryPolicy.class, getRetryPolicy(EndPoints.DELETE))
+                    .tag(Operation.class, new Operation(deleteRequest.getIndexName(), EndPoints.DELETE, 1));
+
+            builder.post(new JsonRequestBody(deleteRequest));
             return builder.build();
 
         } catch (Exception e) {
@@ -341,14 +1154,18 @@ public class PineconeDBClient {
         try {
             HttpUrl.Builder urlBuilder = Objects.requireNonNull(HttpUrl.parse(url))
                     .newBuilder();
-            urlBuilder.addQueryParameter("ids", fetchRequest.getIDsAsString());
             urlBuilder.addQueryParameter("namespace", fetchRequest.getNameSpace());
+            for (String id : fetchRequest.getIds()) {
+                urlBuilder.addQueryParameter("ids", id);
+            }
             Request.Builder builder = new Request.Builder()
                     .url(urlBuilder.build().toString())
                     .method("GET", null)
                     .addHeader("accept", "application/json")
                     .addHeader("content-type", "application/json")
-                    .addHeader("Api-Key", apiKey);
+                    .addHeader("Api-Key", apiKey)
+                    .tag(RetryPolicy.class, getRetryPolicy(EndPoints.FETCH))
+                    .tag(Operation.class, new Operation(fetchRequest.getIndexName(), EndPoints.FETCH, 1));
 
             return builder.build();
 
@@ -369,6 +1186,134 @@ public class PineconeDBClient {
         return String.format("https://%s-%s.svc.%s.pinecone.io/%s", indexName, projectId, environment, endpoint);
     }
 
+    /**
+     * Executes the chunks of a {@link #fetchAll(FetchRequest)} with a bounded number in flight: each completed
+     * chunk starts the next one, and the results are merged in id order once every chunk has completed.
+     */
+    private final class ChunkedFetch {
+        private final String url;
+        private final List<FetchRequest> chunks;
+        private final AtomicReferenceArray<Map<String, FetchResponse>> results;
+        private final AtomicInteger next = new AtomicInteger();
+        private final AtomicInteger remaining;
+        private final Set<CompletableFuture<?>> inFlight = ConcurrentHashMap.newKeySet();
+        private final CompletableFuture<Map<String, FetchResponse>> result = new CompletableFuture<>();
+
+        private ChunkedFetch(String url, List<FetchRequest> chunks) {
+            this.url = url;
+            this.chunks = chunks;
+            this.results = new AtomicReferenceArray<>(chunks.size());
+            this.remaining = new AtomicInteger(chunks.size());
+        }
+
+        private CompletableFuture<Map<String, FetchResponse>> start(int concurrency) {
+            if (chunks.isEmpty()) {
+                result.complete(new LinkedHashMap<>());
+                return result;
+            }
+            result.whenComplete((value, throwable) -> {
+                if (throwable != null) {
+                    inFlight.forEach(future -> future.cancel(true));
+                }
+            });
+            for (int i = 0; i < Math.min(concurrency, chunks.size()); i++) {
+                launchNext();
+            }
+            return result;
+        }
+
+        private void launchNext() {
+            int index = next.getAndIncrement();
+            if (index >= chunks.size() || result.isDone()) {
+                return;
+            }
+            CompletableFuture<Map<String, FetchResponse>> future;
+            try {
+                future = executeAsync(prepareFetchRequest(chunks.get(index), url), PineconeDBClient.this::readFetchResponses);
+            } catch (RuntimeException e) {
+                result.completeExceptionally(e);
+                return;
+            }
+            inFlight.add(future);
+            future.whenComplete((fetchResponses, throwable) -> {
+                inFlight.remove(future);
+                if (throwable != null) {
+                    result.completeExceptionally(throwable instanceof CompletionException ? throwable.getCause() : throwable);
+                    return;
+                }
+                results.set(index, fetchResponses);
+                if (remaining.decrementAndGet() == 0) {
+                    Map<String, FetchResponse> merged = new LinkedHashMap<>();
+                    for (int i = 0; i < results.length(); i++) {
+                        merged.putAll(results.get(i));
+                    }
+                    result.complete(merged);
+                } else {
+                    launchNext();
+                }
+            });
+            if (result.isDone()) {
+                // the result failed or was cancelled while this chunk was being started
+                future.cancel(true);
+            }
+        }
+    }
+
+    /**
+     * Request tag identifying the index operation a request belongs to and the rate limit permits it takes.
+     * {@code prepaidAttempts} counts the attempts whose permits were taken before the request entered the
+     * interceptor chain; a hedged request is executed twice with the same tag.
+     */
+    private static final class Operation {
+        private final String indexName;
+        private final EndPoints endPoint;
+        private final long permits;
+        private final AtomicInteger prepaidAttempts = new AtomicInteger();
+
+        private Operation(String indexName, EndPoints endPoint, long permits) {
+            this.indexName = indexName;
+            this.endPoint = endPoint;
+            this.permits = permits;
+        }
+    }
+
+    /**
+     * Takes the rate limit permits of the attempts that were not paid for before the request entered the chain,
+     * that is of the retries. It runs inside the {@link RetryInterceptor}, so that every attempt, including the
+     * retries of 429s, counts against the token bucket.
+     */
+    private final class RetryPermitInterceptor implements Interceptor {
+        @Override
+        public Response intercept(Chain chain) throws IOException {
+            RateLimiter limiter = rateLimiter;
+            Operation operation = chain.request().tag(Operation.class);
+            if (limiter != null && operation != null
+                    && operation.prepaidAttempts.getAndUpdate(attempts -> Math.max(0, attempts - 1)) == 0) {
+                acquirePermits(limiter, operation);
+            }
+            return chain.proceed(chain.request());
+        }
+    }
+
+    /**
+     * Timer thread of the hedged queries, started on first use.
+     */
+    private static final class HedgeScheduler {
+        private static final ScheduledExecutorService INSTANCE = Executors.newSingleThreadScheduledExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "pinecone-hedge-scheduler");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * Reads the result of an operation from the HTTP response.
+     */
+    @FunctionalInterface
+    private interface ResponseReader<T> {
+        T read(Response response) throws IOException;
+    }
+
     /**
      * Enumerations for various PineconeDB endpoints.
      */
@@ -4,24 +4,27 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import io.clue2solve.pinecone.javaclient.model.ConfigureIndexRequest;
 import io.clue2solve.pinecone.javaclient.model.CreateCollectionRequest;
 import io.clue2solve.pinecone.javaclient.model.CreateIndexRequest;
-import io.clue2solve.pinecone.javaclient.utils.OkHttpClientWrapper;
+import io.clue2solve.pinecone.javaclient.transport.HttpTransport;
 import io.clue2solve.pinecone.javaclient.utils.OkHttpLoggingInterceptor;
+import io.clue2solve.pinecone.javaclient.utils.RetryInterceptor;
 import okhttp3.*;
 
 import java.io.IOException;
+import java.util.List;
 
 public class PineconeIndexClient {
-    private final OkHttpClientWrapper client;
+    private final HttpTransport client;
     private final ObjectMapper objectMapper;
     private final String baseUrl;
     private final String collectionsBaseURL = "https://controller.us-west4-gcp.pinecone.io/collections";
     private final String apiKey;
 
     public PineconeIndexClient(String environment, String apiKey) {
-        OkHttpClient okHttpClient = new OkHttpClient.Builder()
-                .addInterceptor(new OkHttpLoggingInterceptor())
-                .build();
-        this.client = new OkHttpClientWrapper(okHttpClient);
+        this(environment, apiKey, PineconeClientConfig.DEFAULT);
+    }
+
+    public PineconeIndexClient(String environment, String apiKey, PineconeClientConfig config) {
+        this.client = config.createTransport(List.of(new RetryInterceptor(), new OkHttpLoggingInterceptor()));
         this.objectMapper = new ObjectMapper();
         this.baseUrl = "https://controller." + environment + ".pinecone.io/databases";
         this.apiKey = apiKey;
@@ -84,7 +87,7 @@ public class PineconeIndexClient {
     }
 
     private String executeRequest(Request request) throws IOException {
-        try (Response response = client.newCall(request).execute()) {
+        try (Response response = client.execute(request)) {
             return response.body() != null ? response.body().string() : null;
         }
     }
@@ -0,0 +1,84 @@
+package io.clue2solve.pinecone.javaclient.cache;
+
+import io.clue2solve.pinecone.javaclient.model.QueryRequest;
+import io.clue2solve.pinecone.javaclient.model.QueryResponse;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Namespace generations and size accounting shared by the {@link QueryCache} implementations.
+ * <p>
+ * Invalidating a namespace moves its generation to the next value of a cache-wide clock, so a generation is never
+ * reused. Only a bounded number of namespaces is tracked: when there are more, the tracked generations are forgotten
+ * and every namespace starts again at the current clock value. That is newer than any generation handed out before,
+ * so entries and in-flight queries of the old generations can only miss, never serve a result from before a write.
+ * <p>
+ * Subclasses synchronize on the cache instance, like the methods here.
+ */
+abstract class AbstractQueryCache implements QueryCache {
+    static final int MAX_TRACKED_NAMESPACES = 10_000;
+
+    private final Map<String, Long> generations = new HashMap<>();
+    private long clock;
+    private long baseGeneration;
+    private long invalidations;
+
+    @Override
+    public synchronized long generation(QueryRequest queryRequest) {
+        return generation(queryRequest.getIndexName(), queryRequest.getNamespace());
+    }
+
+    @Override
+    public synchronized void invalidate(String indexName, String namespace) {
+        if (generations.size() >= MAX_TRACKED_NAMESPACES) {
+            generations.clear();
+            baseGeneration = clock;
+        }
+        generations.put(namespaceKey(indexName, namespace), ++clock);
+        invalidations++;
+    }
+
+    /**
+     * Callers must hold the lock of the cache.
+     */
+    long generation(String indexName, String namespace) {
+        return generations.getOrDefault(namespaceKey(indexName, namespace), baseGeneration);
+    }
+
+    /**
+     * Callers must hold the lock of the cache.
+     */
+    long getInvalidations() {
+        return invalidations;
+    }
+
+    private static String namespaceKey(String indexName, String namespace) {
+        return indexName + '\u0000' + namespace;
+    }
+
+    /**
+     * @return an unmodifiable copy of the result, shared by the cache and the caller that queried it.
+     */
+    static List<QueryResponse> freeze(List<QueryResponse> queryResponses) {
+        return List.copyOf(queryResponses);
+    }
+
+    /**
+     * @return approximate heap size of the result in bytes.
+     */
+    static long estimateSize(List<QueryResponse> queryResponses) {
+        long size = 64;
+        for (QueryResponse queryResponse : queryResponses) {
+            size += 96;
+            if (queryResponse.getValuesArray() != null) {
+                size += 16 + queryResponse.getValuesArray().length * 4L;
+            }
+            if (queryResponse.getMetadata() != null) {
+                size += 40 + queryResponse.getMetadata().length() * 2L;
+            }
+        }
+        return size;
+    }
+}
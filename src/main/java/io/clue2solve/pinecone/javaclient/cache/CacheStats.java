@@ -0,0 +1,25 @@
+package io.clue2solve.pinecone.javaclient.cache;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Point-in-time statistics of a {@link QueryCache}.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class CacheStats {
+    private final long hits;
+    private final long misses;
+    private final long evictions;
+    private final long invalidations;
+    private final long entries;
+    private final long bytes;
+
+    public double getHitRate() {
+        long requests = hits + misses;
+        return requests == 0 ? 0 : (double) hits / requests;
+    }
+}
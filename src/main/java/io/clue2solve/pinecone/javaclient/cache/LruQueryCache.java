@@ -0,0 +1,120 @@
+package io.clue2solve.pinecone.javaclient.cache;
+
+import io.clue2solve.pinecone.javaclient.model.QueryRequest;
+import io.clue2solve.pinecone.javaclient.model.QueryResponse;
+import lombok.Builder;
+
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Objects;
+
+/**
+ * Exact-match {@link QueryCache} with a time to live, bounded by entry count and by estimated heap bytes,
+ * evicting the least recently used entries first.
+ * <p>
+ * Invalidating a namespace bumps its generation, which makes every entry cached under an older generation a miss;
+ * such entries are dropped when they are next looked up or evicted. The result of a query that was in flight when
+ * its namespace was invalidated is not cached.
+ */
+public class LruQueryCache extends AbstractQueryCache {
+    public static final int DEFAULT_MAX_ENTRIES = 10_000;
+    public static final long DEFAULT_MAX_BYTES = 64L * 1024 * 1024;
+    public static final Duration DEFAULT_TTL = Duration.ofMinutes(5);
+
+    private final int maxEntries;
+    private final long maxBytes;
+    private final long ttlNanos;
+
+    private final LinkedHashMap<QueryCacheKey, Entry> entries = new LinkedHashMap<>(16, 0.75f, true);
+    private long bytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Creates a cache. Limits that are not set fall back to the defaults.
+     *
+     * @param maxEntries Maximum number of cached queries.
+     * @param maxBytes   Maximum estimated heap size of the cached keys and results.
+     * @param ttl        Time after which a cached result expires.
+     */
+    @Builder
+    private LruQueryCache(int maxEntries, long maxBytes, Duration ttl) {
+        this.maxEntries = maxEntries > 0 ? maxEntries : DEFAULT_MAX_ENTRIES;
+        this.maxBytes = maxBytes > 0 ? maxBytes : DEFAULT_MAX_BYTES;
+        this.ttlNanos = (ttl != null ? ttl : DEFAULT_TTL).toNanos();
+    }
+
+    @Override
+    public synchronized List<QueryResponse> get(QueryRequest queryRequest) {
+        QueryCacheKey key = QueryCacheKey.of(queryRequest);
+        Entry entry = entries.get(key);
+        if (entry == null) {
+            misses++;
+            return null;
+        }
+        if (entry.expiresAtNanos - System.nanoTime() < 0
+                || entry.generation != generation(key.getIndexName(), key.getNamespace())) {
+            remove(key, entry);
+            misses++;
+            return null;
+        }
+        hits++;
+        return entry.queryResponses;
+    }
+
+    @Override
+    public synchronized List<QueryResponse> put(QueryRequest queryRequest, List<QueryResponse> queryResponses,
+                                                long generation) {
+        List<QueryResponse> frozen = freeze(Objects.requireNonNull(queryResponses, "queryResponses"));
+        QueryCacheKey key = QueryCacheKey.of(queryRequest);
+        long size = key.estimateSize() + estimateSize(frozen);
+        if (size > maxBytes || generation != generation(key.getIndexName(), key.getNamespace())) {
+            return frozen;
+        }
+        Entry entry = new Entry(frozen, size, System.nanoTime() + ttlNanos, generation);
+        Entry previous = entries.put(key, entry);
+        if (previous != null) {
+            bytes -= previous.size;
+        }
+        bytes += size;
+        evict();
+        return frozen;
+    }
+
+    @Override
+    public synchronized CacheStats getStats() {
+        return new CacheStats(hits, misses, evictions, getInvalidations(), entries.size(), bytes);
+    }
+
+    private void evict() {
+        Iterator<Entry> iterator = entries.values().iterator();
+        while ((entries.size() > maxEntries || bytes > maxBytes) && iterator.hasNext()) {
+            Entry eldest = iterator.next();
+            iterator.remove();
+            bytes -= eldest.size;
+            evictions++;
+        }
+    }
+
+    private void remove(QueryCacheKey key, Entry entry) {
+        entries.remove(key);
+        bytes -= entry.size;
+    }
+
+    private static final class Entry {
+        private final List<QueryResponse> queryResponses;
+        private final long size;
+        private final long expiresAtNanos;
+        private final long generation;
+
+        private Entry(List<QueryResponse> queryResponses, long size, long expiresAtNanos, long generation) {
+            this.queryResponses = queryResponses;
+            this.size = size;
+            this.expiresAtNanos = expiresAtNanos;
+            this.generation = generation;
+        }
+    }
+}
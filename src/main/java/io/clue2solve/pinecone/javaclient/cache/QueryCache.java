@@ -0,0 +1,54 @@
+package io.clue2solve.pinecone.javaclient.cache;
+
+import io.clue2solve.pinecone.javaclient.model.QueryRequest;
+import io.clue2solve.pinecone.javaclient.model.QueryResponse;
+
+import java.util.List;
+
+/**
+ * Client-side cache of query results, consulted by {@code PineconeDBClient.query} when set on the client.
+ * The client invalidates a namespace whenever it upserts into or deletes from it.
+ * Cached responses are shared between callers and must not be modified.
+ */
+public interface QueryCache {
+
+    /**
+     * @param queryRequest Query about to be sent.
+     * @return the cached result of the query, or null on a miss.
+     */
+    List<QueryResponse> get(QueryRequest queryRequest);
+
+    /**
+     * Returns the generation of the query's namespace, which changes whenever the namespace is invalidated. The
+     * client reads it before sending the query and passes it to {@link #put}, so that the result of a query that
+     * overlapped a write is not cached.
+     *
+     * @param queryRequest Query about to be sent.
+     * @return the current generation of the query's namespace.
+     */
+    long generation(QueryRequest queryRequest);
+
+    /**
+     * Caches the result of a successful query, unless its namespace was invalidated since {@code generation} was read.
+     *
+     * @param queryRequest   Query that was sent.
+     * @param queryResponses Result of the query.
+     * @param generation     Generation of the namespace when the query was sent.
+     * @return an unmodifiable copy of the result, which is what the cache holds; the client returns it to the caller
+     * so that the caller cannot modify the cached result through its own list.
+     */
+    List<QueryResponse> put(QueryRequest queryRequest, List<QueryResponse> queryResponses, long generation);
+
+    /**
+     * Drops every cached result of the namespace, after the namespace was written to.
+     *
+     * @param indexName Name of the index.
+     * @param namespace Namespace that changed.
+     */
+    void invalidate(String indexName, String namespace);
+
+    /**
+     * @return a snapshot of the cache statistics.
+     */
+    CacheStats getStats();
+}
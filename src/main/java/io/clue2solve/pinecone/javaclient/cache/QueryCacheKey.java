@@ -0,0 +1,79 @@
+package io.clue2solve.pinecone.javaclient.cache;
+
+import io.clue2solve.pinecone.javaclient.model.Filter;
+import io.clue2solve.pinecone.javaclient.model.QueryRequest;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * Identity of a query for exact caching: index, namespace, top_k, include flags, filter and the query vector or id.
+ * The vector is copied so that later changes to the request cannot corrupt the key, and its hash is computed once.
+ */
+public final class QueryCacheKey {
+    private final String indexName;
+    private final String namespace;
+    private final int topK;
+    private final boolean includeValues;
+    private final boolean includeMetadata;
+    private final float[] vector;
+    private final String id;
+    private final Filter filter;
+    private final int hash;
+
+    private QueryCacheKey(QueryRequest queryRequest) {
+        this.indexName = queryRequest.getIndexName();
+        this.namespace = queryRequest.getNamespace();
+        this.topK = queryRequest.getTop_k();
+        this.includeValues = queryRequest.isIncludeValues();
+        this.includeMetadata = queryRequest.isIncludeMetadata();
+        this.vector = queryRequest.getVectorArray() == null ? null : queryRequest.getVectorArray().clone();
+        this.id = queryRequest.getId();
+        this.filter = queryRequest.getFilter();
+        this.hash = Objects.hash(indexName, namespace, topK, includeValues, includeMetadata, id, filter) * 31 + Arrays.hashCode(vector);
+    }
+
+    public static QueryCacheKey of(QueryRequest queryRequest) {
+        return new QueryCacheKey(queryRequest);
+    }
+
+    public String getIndexName() {
+        return indexName;
+    }
+
+    public String getNamespace() {
+        return namespace;
+    }
+
+    /**
+     * @return approximate heap size of the key in bytes.
+     */
+    int estimateSize() {
+        return 64 + (vector == null ? 0 : 16 + vector.length * 4) + (id == null ? 0 : 40 + id.length() * 2);
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof QueryCacheKey)) {
+            return false;
+        }
+        QueryCacheKey that = (QueryCacheKey) o;
+        return hash == that.hash
+                && topK == that.topK
+                && includeValues == that.includeValues
+                && includeMetadata == that.includeMetadata
+                && Objects.equals(indexName, that.indexName)
+                && Objects.equals(namespace, that.namespace)
+                && Objects.equals(id, that.id)
+                && Objects.equals(filter, that.filter)
+                && Arrays.equals(vector, that.vector);
+    }
+
+    @Override
+    public int hashCode() {
+        return hash;
+    }
+}
@@ -0,0 +1,296 @@
+package io.clue2solve.pinecone.javaclient.cache;
+
+import io.clue2solve.pinecone.javaclient.model.Filter;
+import io.clue2solve.pinecone.javaclient.model.QueryRequest;
+import io.clue2solve.pinecone.javaclient.model.QueryResponse;
+import lombok.Builder;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * Approximate-match {@link QueryCache}: a query hits when a cached query of the same index, namespace, top_k and
+ * include flags has a query vector whose cosine similarity with it is at least {@code similarityThreshold}.
+ * This catches embeddings that differ only by floating-point noise or near-identical prompts.
+ * <p>
+ * Cached vectors are kept normalized and compared by a linear scan of their partition, which is cheap for the
+ * few thousand entries this cache is meant to hold. The cache is bounded by entry count and estimated heap bytes,
+ * entries expire after a TTL, the least recently used entries are evicted first, and namespaces are invalidated
+ * like in {@link LruQueryCache}.
+ * <p>
+ * The best similarity of every lookup is recorded in a histogram, so that {@link #estimateHitRate(double)} can tell
+ * which hit rate another threshold would have had on the same traffic.
+ */
+public class SemanticQueryCache extends AbstractQueryCache {
+    public static final double DEFAULT_SIMILARITY_THRESHOLD = 0.98;
+    public static final int DEFAULT_MAX_ENTRIES = 1_000;
+    public static final long DEFAULT_MAX_BYTES = 32L * 1024 * 1024;
+    public static final Duration DEFAULT_TTL = Duration.ofMinutes(5);
+
+    /**
+     * The histogram resolves similarities between 0.9 and 1.0 in steps of 0.001; lower ones share the first bucket.
+     */
+    private static final double HISTOGRAM_FLOOR = 0.9;
+    private static final int HISTOGRAM_BUCKETS = 101;
+
+    private final double similarityThreshold;
+    private final int maxEntries;
+    private final long maxBytes;
+    private final long ttlNanos;
+
+    private final Map<Partition, List<Entry>> partitions = new HashMap<>();
+    private final LinkedHashMap<Entry, Partition> lru = new LinkedHashMap<>(16, 0.75f, true);
+    private final long[] similarityHistogram = new long[HISTOGRAM_BUCKETS];
+    private long bytes;
+    private long hits;
+    private long misses;
+    private long evictions;
+
+    /**
+     * Creates a cache. Settings that are not set fall back to the defaults.
+     *
+     * @param similarityThreshold Minimum cosine similarity for a cached query to be served, in (0, 1].
+     * @param maxEntries          Maximum number of cached queries.
+     * @param maxBytes            Maximum estimated heap size of the cached vectors and results.
+     * @param ttl                 Time after which a cached result expires.
+     */
+    @Builder
+    private SemanticQueryCache(double similarityThreshold, int maxEntries, long maxBytes, Duration ttl) {
+        if (similarityThreshold < 0 || similarityThreshold > 1) {
+            throw new IllegalArgumentException("similarityThreshold must be between 0 and 1");
+        }
+        this.similarityThreshold = similarityThreshold > 0 ? similarityThreshold : DEFAULT_SIMILARITY_THRESHOLD;
+        this.maxEntries = maxEntries > 0 ? maxEntries : DEFAULT_MAX_ENTRIES;
+        this.maxBytes = maxBytes > 0 ? maxBytes : DEFAULT_MAX_BYTES;
+        this.ttlNanos = (ttl != null ? ttl : DEFAULT_TTL).toNanos();
+    }
+
+    @Override
+    public synchronized List<QueryResponse> get(QueryRequest queryRequest) {
+        float[] vector = normalize(queryRequest.getVectorArray());
+        if (vector == null) {
+            // a query by id has no vector to compare
+            return null;
+        }
+        Partition partition = new Partition(queryRequest);
+        List<Entry> entries = partitions.get(partition);
+        Entry best = null;
+        double bestSimilarity = -1;
+        if (entries != null) {
+            long now = System.nanoTime();
+            long generation = generation(partition.indexName, partition.namespace);
+            for (Iterator<Entry> iterator = entries.iterator(); iterator.hasNext(); ) {
+                Entry entry = iterator.next();
+                if (entry.expiresAtNanos - now < 0 || entry.generation != generation) {
+                    iterator.remove();
+                    lru.remove(entry);
+                    bytes -= entry.size;
+                    continue;
+                }
+                double similarity = dot(vector, entry.vector);
+                if (similarity > bestSimilarity) {
+                    bestSimilarity = similarity;
+                    best = entry;
+                }
+            }
+        }
+        record(bestSimilarity);
+        if (best == null || bestSimilarity < similarityThreshold) {
+            misses++;
+            return null;
+        }
+        hits++;
+        lru.get(best);
+        return best.queryResponses;
+    }
+
+    @Override
+    public synchronized List<QueryResponse> put(QueryRequest queryRequest, List<QueryResponse> queryResponses,
+                                                long generation) {
+        List<QueryResponse> frozen = freeze(Objects.requireNonNull(queryResponses, "queryResponses"));
+        float[] vector = normalize(queryRequest.getVectorArray());
+        if (vector == null) {
+            return frozen;
+        }
+        Partition partition = new Partition(queryRequest);
+        long size = 128 + vector.length * 4L + estimateSize(frozen);
+        if (size > maxBytes || generation != generation(partition.indexName, partition.namespace)) {
+            return frozen;
+        }
+        List<Entry> entries = partitions.computeIfAbsent(partition, p -> new ArrayList<>());
+        // a near-duplicate of a cached query replaces it rather than occupying a second entry
+        for (Iterator<Entry> iterator = entries.iterator(); iterator.hasNext(); ) {
+            Entry entry = iterator.next();
+            if (dot(vector, entry.vector) >= similarityThreshold) {
+                iterator.remove();
+                lru.remove(entry);
+                bytes -= entry.size;
+            }
+        }
+        Entry entry = new Entry(vector, frozen, size, System.nanoTime() + ttlNanos, generation);
+        entries.add(entry);
+        lru.put(entry, partition);
+        bytes += size;
+        evict();
+        return frozen;
+    }
+
+    @Override
+    public synchronized CacheStats getStats() {
+        return new CacheStats(hits, misses, evictions, getInvalidations(), lru.size(), bytes);
+    }
+
+    /**
+     * Estimates the hit rate this cache would have had with another threshold, from the best similarity observed
+     * on every lookup so far. Thresholds below 0.9 are all treated as 0.9.
+     *
+     * @param threshold Similarity threshold to evaluate.
+     * @return Fraction of lookups whose best cached similarity reached the threshold.
+     */
+    public synchronized double estimateHitRate(double threshold) {
+        long total = 0;
+        long matching = 0;
+        int from = bucket(threshold);
+        for (int i = 0; i < HISTOGRAM_BUCKETS; i++) {
+            total += similarityHistogram[i];
+            if (i >= from) {
+                matching += similarityHistogram[i];
+            }
+        }
+        return total == 0 ? 0 : (double) matching / total;
+    }
+
+    /**
+     * @return a copy of the histogram of best similarities: bucket 0 counts lookups below 0.9 or without any cached
+     * candidate, bucket {@code i} counts best similarities in {@code [0.9 + (i - 1) / 1000, 0.9 + i / 1000)}.
+     */
+    public synchronized long[] getSimilarityHistogram() {
+        return similarityHistogram.clone();
+    }
+
+    private void record(double similarity) {
+        similarityHistogram[similarity < HISTOGRAM_FLOOR ? 0 : bucket(similarity)]++;
+    }
+
+    private static int bucket(double similarity) {
+        if (similarity < HISTOGRAM_FLOOR) {
+            return 1;
+        }
+        // the epsilon keeps thresholds such as 0.98 from landing in the bucket below because of rounding
+        int bucket = 1 + (int) Math.floor((similarity - HISTOGRAM_FLOOR) * 1000 + 1e-9);
+        return Math.min(bucket, HISTOGRAM_BUCKETS - 1);
+    }
+
+    private void evict() {
+        Iterator<Map.Entry<Entry, Partition>> iterator = lru.entrySet().iterator();
+        while ((lru.size() > maxEntries || bytes > maxBytes) && iterator.hasNext()) {
+            Map.Entry<Entry, Partition> eldest = iterator.next();
+            iterator.remove();
+            List<Entry> entries = partitions.get(eldest.getValue());
+            entries.remove(eldest.getKey());
+            if (entries.isEmpty()) {
+                partitions.remove(eldest.getValue());
+            }
+            bytes -= eldest.getKey().size;
+            evictions++;
+        }
+    }
+
+    /**
+     * @return a unit-length copy of the vector, or null if it is missing or all zeros.
+     */
+    private static float[] normalize(float[] vector) {
+        if (vector == null) {
+            return null;
+        }
+        double norm = 0;
+        for (float value : vector) {
+            norm += value * value;
+        }
+        if (norm == 0) {
+            return null;
+        }
+        double scale = 1 / Math.sqrt(norm);
+        float[] normalized = new float[vector.length];
+        for (int i = 0; i < vector.length; i++) {
+            normalized[i] = (float) (vector[i] * scale);
+        }
+        return normalized;
+    }
+
+    private static double dot(float[] a, float[] b) {
+        if (a.length != b.length) {
+            return -1;
+        }
+        double sum = 0;
+        for (int i = 0; i < a.length; i++) {
+            sum += a[i] * b[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Queries are only comparable within the same index, namespace, top_k, include flags and filter.
+     */
+    private static final class Partition {
+        private final String indexName;
+        private final String namespace;
+        private final int topK;
+        private final boolean includeValues;
+        private final boolean includeMetadata;
+        private final Filter filter;
+
+        private Partition(QueryRequest queryRequest) {
+            this.indexName = queryRequest.getIndexName();
+            this.namespace = queryRequest.getNamespace();
+            this.topK = queryRequest.getTop_k();
+            this.includeValues = queryRequest.isIncludeValues();
+            this.includeMetadata = queryRequest.isIncludeMetadata();
+            this.filter = queryRequest.getFilter();
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Partition)) {
+                return false;
+            }
+            Partition that = (Partition) o;
+            return topK == that.topK
+                    && includeValues == that.includeValues
+                    && includeMetadata == that.includeMetadata
+                    && Objects.equals(indexName, that.indexName)
+                    && Objects.equals(namespace, that.namespace)
+                    && Objects.equals(filter, that.filter);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(indexName, namespace, topK, includeValues, includeMetadata, filter);
+        }
+    }
+
+    private static final class Entry {
+        private final float[] vector;
+        private final List<QueryResponse> queryResponses;
+        private final long size;
+        private final long expiresAtNanos;
+        private final long generation;
+
+        private Entry(float[] vector, List<QueryResponse> queryResponses, long size, long expiresAtNanos, long generation) {
+            this.vector = vector;
+            this.queryResponses = queryResponses;
+            this.size = size;
+            this.expiresAtNanos = expiresAtNanos;
+            this.generation = generation;
+        }
+    }
+}
@@ -0,0 +1,21 @@
+package io.clue2solve.pinecone.javaclient.grpc;
+
+import lombok.Getter;
+
+import java.io.IOException;
+
+/**
+ * A gRPC call that completed with a status other than OK.
+ */
+@Getter
+public class GrpcStatusException extends IOException {
+    /**
+     * The gRPC status code, such as 3 (INVALID_ARGUMENT), 14 (UNAVAILABLE) or 16 (UNAUTHENTICATED).
+     */
+    private final int status;
+
+    public GrpcStatusException(int status, String message) {
+        super("gRPC status " + status + (message != null ? ": " + message : ""));
+        this.status = status;
+    }
+}
@@ -0,0 +1,355 @@
+package io.clue2solve.pinecone.javaclient.grpc;
+
+import io.clue2solve.pinecone.javaclient.PineconeClientConfig;
+import io.clue2solve.pinecone.javaclient.PineconeDBClient;
+import io.clue2solve.pinecone.javaclient.model.DeleteRequest;
+import io.clue2solve.pinecone.javaclient.model.FetchRequest;
+import io.clue2solve.pinecone.javaclient.model.FetchResponse;
+import io.clue2solve.pinecone.javaclient.model.IndexStats;
+import io.clue2solve.pinecone.javaclient.model.QueryRequest;
+import io.clue2solve.pinecone.javaclient.model.QueryResponse;
+import io.clue2solve.pinecone.javaclient.model.UpsertRequest;
+import io.clue2solve.pinecone.javaclient.transport.HttpTransport;
+import io.clue2solve.pinecone.javaclient.utils.OkHttpClientWrapper;
+import io.clue2solve.pinecone.javaclient.utils.RetryInterceptor;
+import io.clue2solve.pinecone.javaclient.utils.RetryPolicy;
+import okhttp3.Headers;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okio.Buffer;
+import okio.BufferedSource;
+import org.jetbrains.annotations.NotNull;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.net.ProtocolException;
+import java.net.URLDecoder;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+
+/**
+ * Data-plane client speaking gRPC to Pinecone's {@code VectorService}, as an alternative to the JSON API of
+ * {@link PineconeDBClient} for upsert, query, fetch, delete and describe_index_stats.
+ * <p>
+ * Messages are protobuf-encoded, so vector values travel as packed 4-byte floats instead of decimal text, which is
+ * about a third of the bytes and needs no float formatting or parsing. Calls are unary gRPC calls over OkHttp, which
+ * multiplexes them as HTTP/2 streams over one connection per index host; the results are the same models the JSON
+ * client returns. The client runs on the shared OkHttp transport of its {@link PineconeClientConfig}, which must
+ * allow HTTP/2; a configured {@code transportFactory} is not used, since gRPC needs HTTP/2 trailers.
+ * <p>
+ * Every call is retried according to {@link RetryPolicy#DEFAULT} on HTTP-level failures, since all of them are
+ * idempotent. Failed gRPC statuses surface as a {@link GrpcStatusException}.
+ */
+public class PineconeGrpcClient {
+    private static final Logger LOG = LoggerFactory.getLogger(PineconeGrpcClient.class);
+
+    /**
+     * Name of the gRPC service of the data plane.
+     */
+    public static final String SERVICE_NAME = "VectorService";
+
+    private static final MediaType GRPC = MediaType.get("application/grpc");
+
+    private HttpTransport client;
+    private final String environment;
+    private final String projectId;
+    private final String apiKey;
+    private final RetryInterceptor retryInterceptor = new RetryInterceptor();
+    private Executor responseExecutor = ForkJoinPool.commonPool();
+    private long maxResponseBytes = PineconeDBClient.DEFAULT_MAX_RESPONSE_BYTES;
+
+    /**
+     * Constructor for PineconeGrpcClient.
+     *
+     * @param environment Environment to be used for the client.
+     * @param projectId   Project ID to be used for the client.
+     * @param apiKey      API key to be used for the client.
+     */
+    public PineconeGrpcClient(String environment, String projectId, String apiKey) {
+        this(environment, projectId, apiKey, PineconeClientConfig.DEFAULT);
+    }
+
+    /**
+     * Constructor for PineconeGrpcClient on the OkHttp transport of the given config.
+     *
+     * @param environment Environment to be used for the client.
+     * @param projectId   Project ID to be used for the client.
+     * @param apiKey      API key to be used for the client.
+     * @param config      Transport settings to be used for the client; HTTP/2 must be enabled.
+     */
+    public PineconeGrpcClient(String environment, String projectId, String apiKey, PineconeClientConfig config) {
+        if (!config.isHttp2()) {
+            throw new IllegalArgumentException("gRPC requires a config with HTTP/2 enabled");
+        }
+        this.client = new OkHttpClientWrapper(config.newHttpClientBuilder().addInterceptor(retryInterceptor).build());
+        this.environment = environment;
+        this.projectId = projectId;
+        this.apiKey = apiKey;
+    }
+
+    /**
+     * Replaces the transport of the client. It must support HTTP/2 and response trailers, as OkHttp does.
+     *
+     * @param client Transport to be used for the client.
+     */
+    public void setClient(HttpTransport client) {
+        this.client = client;
+    }
+
+    /**
+     * Sets the executor used to decode responses of the asynchronous operations.
+     * Defaults to {@link ForkJoinPool#commonPool()}.
+     *
+     * @param responseExecutor Executor to be used for response decoding.
+     */
+    public void setResponseExecutor(Executor responseExecutor) {
+        this.responseExecutor = Objects.requireNonNull(responseExecutor, "responseExecutor");
+    }
+
+    /**
+     * Sets the maximum size of a response message. Larger messages fail with an IOException instead of being read
+     * into memory.
+     *
+     * @param maxResponseBytes Maximum message size in bytes.
+     */
+    public void setMaxResponseBytes(long maxResponseBytes) {
+        if (maxResponseBytes <= 0) {
+            throw new IllegalArgumentException("maxResponseBytes must be positive");
+        }
+        this.maxResponseBytes = maxResponseBytes;
+    }
+
+    /**
+     * @return the interceptor retrying the calls of this client, for its retry count and budget.
+     */
+    public RetryInterceptor getRetryInterceptor() {
+        return retryInterceptor;
+    }
+
+    /**
+     * Fetches statistics related to the described index.
+     *
+     * @param indexName Name of the index to be described.
+     * @return Statistics of the index.
+     * @throws IOException if the call failed.
+     */
+    public IndexStats describeIndexStats(String indexName) throws IOException {
+        return call(indexName, "DescribeIndexStats", VectorServiceCodec.encodeDescribeIndexStats(),
+                VectorServiceCodec::decodeDescribeIndexStats);
+    }
+
+    /**
+     * Queries an index.
+     *
+     * @param queryRequest Request parameters for the query.
+     * @return List of QueryResponses resulting from the query.
+     * @throws IOException if the call failed.
+     */
+    public List<QueryResponse> query(QueryRequest queryRequest) throws IOException {
+        queryRequest.validate();
+        return call(queryRequest.getIndexName(), "Query", VectorServiceCodec.encodeQuery(queryRequest),
+                VectorServiceCodec::decodeQuery);
+    }
+
+    /**
+     * Queries an index asynchronously.
+     *
+     * @param queryRequest Request parameters for the query.
+     * @return Future completed with the QueryResponses resulting from the query.
+     */
+    public CompletableFuture<List<QueryResponse>> queryAsync(QueryRequest queryRequest) {
+        queryRequest.validate();
+        return callAsync(queryRequest.getIndexName(), "Query", VectorServiceCodec.encodeQuery(queryRequest),
+                VectorServiceCodec::decodeQuery);
+    }
+
+    /**
+     * Fetches vectors by id.
+     *
+     * @param fetchRequest Request parameters for the fetch operation.
+     * @return FetchResponses keyed by vector id; ids that do not exist are missing.
+     * @throws IOException if the call failed.
+     */
+    public Map<String, FetchResponse> fetchAll(FetchRequest fetchRequest) throws IOException {
+        return call(fetchRequest.getIndexName(), "Fetch", VectorServiceCodec.encodeFetch(fetchRequest),
+                VectorServiceCodec::decodeFetch);
+    }
+
+    /**
+     * Fetches vectors by id asynchronously.
+     *
+     * @param fetchRequest Request parameters for the fetch operation.
+     * @return Future completed with the FetchResponses keyed by vector id.
+     */
+    public CompletableFuture<Map<String, FetchResponse>> fetchAllAsync(FetchRequest fetchRequest) {
+        return callAsync(fetchRequest.getIndexName(), "Fetch", VectorServiceCodec.encodeFetch(fetchRequest),
+                VectorServiceCodec::decodeFetch);
+    }
+
+    /**
+     * Upserts vectors.
+     *
+     * @param upsertRequest Request parameters for the upsert operation.
+     * @return Number of vectors upserted.
+     * @throws IOException if the call failed.
+     */
+    public long upsert(@NotNull UpsertRequest upsertRequest) throws IOException {
+        return call(upsertRequest.getIndexName(), "Upsert", VectorServiceCodec.encodeUpsert(upsertRequest),
+                VectorServiceCodec::decodeUpsert);
+    }
+
+    /**
+     * Upserts vectors asynchronously.
+     *
+     * @param upsertRequest Request parameters for the upsert operation.
+     * @return Future completed with the number of vectors upserted.
+     */
+    public CompletableFuture<Long> upsertAsync(@NotNull UpsertRequest upsertRequest) {
+        Buffer message;
+        try {
+            message = VectorServiceCodec.encodeUpsert(upsertRequest);
+        } catch (IOException e) {
+            return CompletableFuture.failedFuture(e);
+        }
+        return callAsync(upsertRequest.getIndexName(), "Upsert", message, VectorServiceCodec::decodeUpsert);
+    }
+
+    /**
+     * Deletes vectors.
+     *
+     * @param deleteRequest Request parameters for the delete operation.
+     * @throws IOException if the call failed.
+     */
+    public void delete(DeleteRequest deleteRequest) throws IOException {
+        call(deleteRequest.getIndexName(), "Delete", VectorServiceCodec.encodeDelete(deleteRequest), message -> null);
+    }
+
+    /**
+     * Deletes vectors asynchronously.
+     *
+     * @param deleteRequest Request parameters for the delete operation.
+     * @return Future completed once the vectors are deleted.
+     */
+    public CompletableFuture<Void> deleteAsync(DeleteRequest deleteRequest) {
+        return callAsync(deleteRequest.getIndexName(), "Delete", VectorServiceCodec.encodeDelete(deleteRequest),
+                message -> null);
+    }
+
+    private <T> T call(String indexName, String method, Buffer message, MessageDecoder<T> decoder) throws IOException {
+        try (Response response = client.execute(prepareRequest(indexName, method, message))) {
+            return decoder.decode(readMessage(response));
+        } catch (IOException e) {
+            LOG.error("Error calling {} on index: {}", method, indexName, e);
+            throw e;
+        }
+    }
+
+    private <T> CompletableFuture<T> callAsync(String indexName, String method, Buffer message, MessageDecoder<T> decoder) {
+        CompletableFuture<Response> responseFuture = client.enqueue(prepareRequest(indexName, method, message));
+        CompletableFuture<T> result = responseFuture.thenApplyAsync(response -> {
+            try (response) {
+                return decoder.decode(readMessage(response));
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }, responseExecutor);
+        result.whenComplete((value, throwable) -> {
+            if (result.isCancelled()) {
+                responseFuture.cancel(true);
+                responseFuture.thenAccept(Response::close);
+            } else if (throwable != null) {
+                LOG.error("Error calling {} on index: {}", method, indexName, throwable);
+            }
+        });
+        return result;
+    }
+
+    private Request prepareRequest(String indexName, String method, Buffer message) {
+        // length-prefixed message: compressed flag, big-endian length, protobuf bytes
+        Buffer frame = new Buffer()
+                .writeByte(0)
+                .writeInt((int) message.size());
+        frame.write(message, message.size());
+        return new Request.Builder()
+                .url(String.format("https://%s-%s.svc.%s.pinecone.io/%s/%s", indexName, projectId, environment, SERVICE_NAME, method))
+                .addHeader("te", "trailers")
+                .addHeader("api-key", apiKey)
+                .addHeader("grpc-accept-encoding", "identity")
+                .tag(RetryPolicy.class, RetryPolicy.DEFAULT)
+                .post(RequestBody.create(frame.readByteString(), GRPC))
+                .build();
+    }
+
+    /**
+     * Reads the single message of a unary gRPC response and checks its status, which is sent in the headers of
+     * a response without a message and in the trailers otherwise.
+     */
+    private Buffer readMessage(Response response) throws IOException {
+        if (!response.isSuccessful()) {
+            throw new IOException("Unexpected HTTP code " + response.code() + " for " + response.request().url());
+        }
+        checkStatus(response.headers());
+        BufferedSource source = Objects.requireNonNull(response.body(), "body").source();
+        Buffer message = null;
+        if (!source.exhausted()) {
+            byte compressed = source.readByte();
+            long length = source.readInt() & 0xFFFFFFFFL;
+            if (compressed != 0) {
+                throw new ProtocolException("Compressed gRPC messages are not supported");
+            }
+            if (length > maxResponseBytes) {
+                throw new ProtocolException("gRPC message of " + length + " bytes exceeds the limit of " + maxResponseBytes);
+            }
+            message = new Buffer();
+            source.readFully(message, length);
+            if (!source.exhausted()) {
+                throw new ProtocolException("Unary gRPC response with more than one message");
+            }
+        }
+        boolean statusSeen = response.header("grpc-status") != null;
+        try {
+            Headers trailers = response.trailers();
+            statusSeen |= trailers.get("grpc-status") != null;
+            checkStatus(trailers);
+        } catch (IllegalStateException e) {
+            // a response that did not come from the network, such as one built by an interceptor, has no trailers
+        }
+        if (!statusSeen) {
+            throw new ProtocolException("gRPC response without grpc-status");
+        }
+        if (message == null) {
+            throw new ProtocolException("gRPC response without a message");
+        }
+        return message;
+    }
+
+    private static void checkStatus(Headers headers) throws GrpcStatusException {
+        String status = headers.get("grpc-status");
+        if (status == null || "0".equals(status)) {
+            return;
+        }
+        String message = headers.get("grpc-message");
+        int code;
+        try {
+            code = Integer.parseInt(status.trim());
+        } catch (NumberFormatException e) {
+            code = 2; // UNKNOWN
+        }
+        throw new GrpcStatusException(code, message != null
+                ? URLDecoder.decode(message.replace("+", "%2B"), StandardCharsets.UTF_8) : null);
+    }
+
+    @FunctionalInterface
+    private interface MessageDecoder<T> {
+        T decode(Buffer message) throws IOException;
+    }
+}
@@ -0,0 +1,142 @@
+package io.clue2solve.pinecone.javaclient.grpc;
+
+import okio.Buffer;
+
+import java.io.IOException;
+import java.net.ProtocolException;
+
+/**
+ * Minimal protobuf wire format reader over an okio {@link Buffer} holding one message. Fields are read in a loop of
+ * {@link #nextField()} calls; fields the caller does not handle must be passed to {@link #skip()}.
+ */
+final class ProtoReader {
+    private static final int VARINT = 0;
+    private static final int FIXED64 = 1;
+    private static final int LENGTH_DELIMITED = 2;
+    private static final int FIXED32 = 5;
+
+    private final Buffer buffer;
+    private int wireType;
+
+    ProtoReader(Buffer buffer) {
+        this.buffer = buffer;
+    }
+
+    /**
+     * @return number of the next field, or -1 at the end of the message.
+     */
+    int nextField() throws IOException {
+        if (buffer.exhausted()) {
+            return -1;
+        }
+        long tag = varint();
+        wireType = (int) (tag & 0x7);
+        return (int) (tag >>> 3);
+    }
+
+    long uint() throws IOException {
+        expect(VARINT);
+        return varint();
+    }
+
+    boolean bool() throws IOException {
+        return uint() != 0;
+    }
+
+    float float32() throws IOException {
+        expect(FIXED32);
+        return Float.intBitsToFloat(buffer.readIntLe());
+    }
+
+    double float64() throws IOException {
+        expect(FIXED64);
+        return Double.longBitsToDouble(buffer.readLongLe());
+    }
+
+    String string() throws IOException {
+        expect(LENGTH_DELIMITED);
+        return buffer.readUtf8(length());
+    }
+
+    /**
+     * Reads an embedded message; its bytes are moved out of this reader's buffer.
+     */
+    ProtoReader message() throws IOException {
+        expect(LENGTH_DELIMITED);
+        Buffer message = new Buffer();
+        message.write(buffer, length());
+        return new ProtoReader(message);
+    }
+
+    /**
+     * Reads a repeated float field, accepting both the packed encoding and a single unpacked value.
+     */
+    float[] floats(float[] previous) throws IOException {
+        float[] read;
+        if (wireType == FIXED32) {
+            read = new float[]{Float.intBitsToFloat(buffer.readIntLe())};
+        } else {
+            expect(LENGTH_DELIMITED);
+            long length = length();
+            if (length % 4 != 0) {
+                throw new ProtocolException("Packed float field of " + length + " bytes");
+            }
+            read = new float[(int) (length / 4)];
+            for (int i = 0; i < read.length; i++) {
+                read[i] = Float.intBitsToFloat(buffer.readIntLe());
+            }
+        }
+        if (previous == null) {
+            return read;
+        }
+        float[] merged = new float[previous.length + read.length];
+        System.arraycopy(previous, 0, merged, 0, previous.length);
+        System.arraycopy(read, 0, merged, previous.length, read.length);
+        return merged;
+    }
+
+    void skip() throws IOException {
+        switch (wireType) {
+            case VARINT:
+                varint();
+                break;
+            case FIXED64:
+                buffer.skip(8);
+                break;
+            case LENGTH_DELIMITED:
+                buffer.skip(length());
+                break;
+            case FIXED32:
+                buffer.skip(4);
+                break;
+            default:
+                throw new ProtocolException("Unsupported wire type " + wireType);
+        }
+    }
+
+    private void expect(int expected) throws ProtocolException {
+        if (wireType != expected) {
+            throw new ProtocolException("Expected wire type " + expected + " but was " + wireType);
+        }
+    }
+
+    private long length() throws IOException {
+        long length = varint();
+        if (length < 0 || length > buffer.size()) {
+            throw new ProtocolException("Field length " + length + " exceeds the message");
+        }
+        return length;
+    }
+
+    private long varint() throws IOException {
+        long value = 0;
+        for (int shift = 0; shift < 64; shift += 7) {
+            byte b = buffer.readByte();
+            value |= (long) (b & 0x7F) << shift;
+            if ((b & 0x80) == 0) {
+                return value;
+            }
+        }
+        throw new ProtocolException("Malformed varint");
+    }
+}
@@ -0,0 +1,136 @@
+package io.clue2solve.pinecone.javaclient.grpc;
+
+import okio.Buffer;
+import okio.ByteString;
+
+/**
+ * Minimal protobuf wire format writer over an okio {@link Buffer}. Embedded messages are written to their own buffer
+ * and moved into the parent once their length is known, which moves okio segments instead of copying bytes.
+ */
+final class ProtoWriter {
+    private static final int VARINT = 0;
+    private static final int FIXED64 = 1;
+    private static final int LENGTH_DELIMITED = 2;
+    private static final int FIXED32 = 5;
+
+    private final Buffer buffer;
+
+    ProtoWriter() {
+        this(new Buffer());
+    }
+
+    private ProtoWriter(Buffer buffer) {
+        this.buffer = buffer;
+    }
+
+    Buffer buffer() {
+        return buffer;
+    }
+
+    /**
+     * Writes a string field; empty and null strings are omitted like proto3 defaults.
+     */
+    ProtoWriter string(int field, String value) {
+        return value != null && !value.isEmpty() ? oneofString(field, value) : this;
+    }
+
+    /**
+     * Writes a string member of a oneof, which unlike a plain field is written even when empty.
+     */
+    ProtoWriter oneofString(int field, String value) {
+        tag(field, LENGTH_DELIMITED);
+        Buffer utf8 = new Buffer().writeUtf8(value);
+        varint(utf8.size());
+        buffer.write(utf8, utf8.size());
+        return this;
+    }
+
+    /**
+     * Writes a varint member of a oneof (an enum, bool or integer), which is written even when zero.
+     */
+    ProtoWriter oneofVarint(int field, long value) {
+        tag(field, VARINT);
+        varint(value);
+        return this;
+    }
+
+    ProtoWriter bool(int field, boolean value) {
+        if (value) {
+            tag(field, VARINT);
+            varint(1);
+        }
+        return this;
+    }
+
+    ProtoWriter uint32(int field, long value) {
+        if (value != 0) {
+            tag(field, VARINT);
+            varint(value);
+        }
+        return this;
+    }
+
+    ProtoWriter float32(int field, float value) {
+        if (value != 0) {
+            tag(field, FIXED32);
+            buffer.writeIntLe(Float.floatToIntBits(value));
+        }
+        return this;
+    }
+
+    ProtoWriter float64(int field, double value) {
+        tag(field, FIXED64);
+        buffer.writeLongLe(Double.doubleToLongBits(value));
+        return this;
+    }
+
+    /**
+     * Writes a packed repeated float field: one length prefix followed by four little-endian bytes per value.
+     */
+    ProtoWriter packedFloats(int field, float[] values) {
+        if (values != null && values.length > 0) {
+            tag(field, LENGTH_DELIMITED);
+            varint(values.length * 4L);
+            for (float value : values) {
+                buffer.writeIntLe(Float.floatToIntBits(value));
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Writes an embedded message that was encoded before.
+     */
+    ProtoWriter bytes(int field, ByteString message) {
+        tag(field, LENGTH_DELIMITED);
+        varint(message.size());
+        buffer.write(message);
+        return this;
+    }
+
+    /**
+     * Starts an embedded message; it is written into this one by {@link #endMessage(int, ProtoWriter)}.
+     */
+    ProtoWriter message() {
+        return new ProtoWriter(new Buffer());
+    }
+
+    ProtoWriter endMessage(int field, ProtoWriter message) {
+        tag(field, LENGTH_DELIMITED);
+        varint(message.buffer.size());
+        buffer.write(message.buffer, message.buffer.size());
+        return this;
+    }
+
+    private void tag(int field, int wireType) {
+        varint(((long) field << 3) | wireType);
+    }
+
+    private void varint(long value) {
+        while ((value & ~0x7FL) != 0) {
+            buffer.writeByte((int) ((value & 0x7F) | 0x80));
+            value >>>= 7;
+        }
+        buffer.writeByte((int) value);
+    }
+}
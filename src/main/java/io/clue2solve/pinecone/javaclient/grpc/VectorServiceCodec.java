@@ -0,0 +1,375 @@
+package io.clue2solve.pinecone.javaclient.grpc;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.clue2solve.pinecone.javaclient.model.DeleteRequest;
+import io.clue2solve.pinecone.javaclient.model.FetchRequest;
+import io.clue2solve.pinecone.javaclient.model.FetchResponse;
+import io.clue2solve.pinecone.javaclient.model.Filter;
+import io.clue2solve.pinecone.javaclient.model.IndexStats;
+import io.clue2solve.pinecone.javaclient.model.QueryRequest;
+import io.clue2solve.pinecone.javaclient.model.QueryResponse;
+import io.clue2solve.pinecone.javaclient.model.UpsertRequest;
+import io.clue2solve.pinecone.javaclient.model.UpsertVector;
+import okio.Buffer;
+import okio.ByteString;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Protobuf encoding of the messages of Pinecone's {@code VectorService}, mapped from and to the client's models.
+ * Vector values are sent as packed repeated floats, and metadata as {@code google.protobuf.Struct}, converted from
+ * and to the JSON strings the models hold.
+ */
+final class VectorServiceCodec {
+    private static final ObjectMapper OBJECT_MAPPER = new ObjectMapper();
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    private VectorServiceCodec() {
+    }
+
+    static Buffer encodeUpsert(UpsertRequest upsertRequest) throws IOException {
+        ProtoWriter writer = new ProtoWriter();
+        if (upsertRequest.getUpsertVectorsList() != null) {
+            for (UpsertVector vector : upsertRequest.getUpsertVectorsList()) {
+                ProtoWriter message = writer.message()
+                        .string(1, vector.getId())
+                        .packedFloats(2, vector.getValuesArray());
+                if (vector.getMetadata() != null) {
+                    message.endMessage(3, struct(message, OBJECT_MAPPER.readTree(vector.getMetadata())));
+                }
+                writer.endMessage(1, message);
+            }
+        }
+        return writer.string(2, upsertRequest.getNamespace()).buffer();
+    }
+
+    static Buffer encodeQuery(QueryRequest queryRequest) {
+        ProtoWriter writer = new ProtoWriter()
+                .string(1, queryRequest.getNamespace())
+                .uint32(2, queryRequest.getTop_k());
+        if (queryRequest.getFilter() != null) {
+            writer.bytes(3, queryRequest.getFilter().encoding(ByteString.class, VectorServiceCodec::encodeFilter));
+        }
+        return writer
+                .bool(4, queryRequest.isIncludeValues())
+                .bool(5, queryRequest.isIncludeMetadata())
+                .packedFloats(7, queryRequest.getVectorArray())
+                .string(8, queryRequest.getId())
+                .buffer();
+    }
+
+    /**
+     * Encodes a filter as a {@code Struct} message. The filter keeps the bytes, so a filter reused across queries
+     * is only converted from its JSON once.
+     */
+    private static ByteString encodeFilter(Filter filter) {
+        try {
+            return struct(new ProtoWriter(), OBJECT_MAPPER.readTree(filter.toJson())).buffer().readByteString();
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    static Buffer encodeFetch(FetchRequest fetchRequest) {
+        ProtoWriter writer = new ProtoWriter();
+        for (String id : fetchRequest.getIds()) {
+            writer.string(1, id);
+        }
+        return writer.string(2, fetchRequest.getNameSpace()).buffer();
+    }
+
+    static Buffer encodeDelete(DeleteRequest deleteRequest) {
+        ProtoWriter writer = new ProtoWriter();
+        if (deleteRequest.getIds() != null) {
+            for (String id : deleteRequest.getIds()) {
+                writer.string(1, id);
+            }
+        }
+        return writer.bool(2, deleteRequest.isDeleteAll())
+                .string(3, deleteRequest.getNamespace())
+                .buffer();
+    }
+
+    static Buffer encodeDescribeIndexStats() {
+        return new Buffer();
+    }
+
+    /**
+     * @return the {@code upserted_count} of an UpsertResponse.
+     */
+    static long decodeUpsert(Buffer message) throws IOException {
+        ProtoReader reader = new ProtoReader(message);
+        long upsertedCount = 0;
+        for (int field; (field = reader.nextField()) != -1; ) {
+            if (field == 1) {
+                upsertedCount = reader.uint();
+            } else {
+                reader.skip();
+            }
+        }
+        return upsertedCount;
+    }
+
+    static List<QueryResponse> decodeQuery(Buffer message) throws IOException {
+        ProtoReader reader = new ProtoReader(message);
+        List<QueryResponse> queryResponses = new ArrayList<>();
+        for (int field; (field = reader.nextField()) != -1; ) {
+            if (field == 2) {
+                queryResponses.add(scoredVector(reader.message()));
+            } else {
+                reader.skip();
+            }
+        }
+        return queryResponses;
+    }
+
+    static Map<String, FetchResponse> decodeFetch(Buffer message) throws IOException {
+        ProtoReader reader = new ProtoReader(message);
+        Map<String, FetchResponse> vectors = new LinkedHashMap<>();
+        String namespace = null;
+        for (int field; (field = reader.nextField()) != -1; ) {
+            if (field == 1) {
+                ProtoReader entry = reader.message();
+                String key = null;
+                FetchResponse vector = null;
+                for (int entryField; (entryField = entry.nextField()) != -1; ) {
+                    if (entryField == 1) {
+                        key = entry.string();
+                    } else if (entryField == 2) {
+                        vector = vector(entry.message());
+                    } else {
+                        entry.skip();
+                    }
+                }
+                if (key != null && vector != null) {
+                    vectors.put(key, vector);
+                }
+            } else if (field == 2) {
+                namespace = reader.string();
+            } else {
+                reader.skip();
+            }
+        }
+        for (FetchResponse vector : vectors.values()) {
+            vector.setNameSpace(namespace);
+        }
+        return vectors;
+    }
+
+    static IndexStats decodeDescribeIndexStats(Buffer message) throws IOException {
+        ProtoReader reader = new ProtoReader(message);
+        IndexStats.IndexStatsBuilder stats = IndexStats.builder();
+        Map<String, Long> namespaces = new LinkedHashMap<>();
+        for (int field; (field = reader.nextField()) != -1; ) {
+            switch (field) {
+                case 1:
+                    ProtoReader entry = reader.message();
+                    String name = "";
+                    long vectorCount = 0;
+                    for (int entryField; (entryField = entry.nextField()) != -1; ) {
+                        if (entryField == 1) {
+                            name = entry.string();
+                        } else if (entryField == 2) {
+                            ProtoReader summary = entry.message();
+                            for (int summaryField; (summaryField = summary.nextField()) != -1; ) {
+                                if (summaryField == 1) {
+                                    vectorCount = summary.uint();
+                                } else {
+                                    summary.skip();
+                                }
+                            }
+                        } else {
+                            entry.skip();
+                        }
+                    }
+                    namespaces.put(name, vectorCount);
+                    break;
+                case 2:
+                    stats.dimension((int) reader.uint());
+                    break;
+                case 3:
+                    stats.indexFullness(reader.float32());
+                    break;
+                case 4:
+                    stats.totalVectorCount(reader.uint());
+                    break;
+                default:
+                    reader.skip();
+            }
+        }
+        return stats.namespaces(namespaces).build();
+    }
+
+    private static QueryResponse scoredVector(ProtoReader reader) throws IOException {
+        QueryResponse queryResponse = new QueryResponse();
+        for (int field; (field = reader.nextField()) != -1; ) {
+            switch (field) {
+                case 1:
+                    queryResponse.setId(UUID.fromString(reader.string()));
+                    break;
+                case 2:
+                    queryResponse.setScore(reader.float32());
+                    break;
+                case 3:
+                    queryResponse.setValuesArray(reader.floats(queryResponse.getValuesArray()));
+                    break;
+                case 4:
+                    queryResponse.setMetadata(structToJson(reader.message()));
+                    break;
+                default:
+                    reader.skip();
+            }
+        }
+        return queryResponse;
+    }
+
+    private static FetchResponse vector(ProtoReader reader) throws IOException {
+        FetchResponse fetchResponse = new FetchResponse();
+        for (int field; (field = reader.nextField()) != -1; ) {
+            switch (field) {
+                case 1:
+                    fetchResponse.setId(UUID.fromString(reader.string()));
+                    break;
+                case 2:
+                    fetchResponse.setValuesArray(reader.floats(fetchResponse.getValuesArray()));
+                    break;
+                case 3:
+                    fetchResponse.setMetadata(structToJson(reader.message()));
+                    break;
+                default:
+                    reader.skip();
+            }
+        }
+        return fetchResponse;
+    }
+
+    /**
+     * Encodes a JSON object as a {@code google.protobuf.Struct} into a new embedded message of the parent.
+     */
+    static ProtoWriter struct(ProtoWriter parent, JsonNode object) {
+        ProtoWriter struct = parent.message();
+        for (Iterator<Map.Entry<String, JsonNode>> fields = object.fields(); fields.hasNext(); ) {
+            Map.Entry<String, JsonNode> field = fields.next();
+            ProtoWriter entry = struct.message().string(1, field.getKey());
+            entry.endMessage(2, value(entry, field.getValue()));
+            struct.endMessage(1, entry);
+        }
+        return struct;
+    }
+
+    private static ProtoWriter value(ProtoWriter parent, JsonNode node) {
+        ProtoWriter value = parent.message();
+        if (node.isObject()) {
+            value.endMessage(5, struct(value, node));
+        } else if (node.isArray()) {
+            ProtoWriter list = value.message();
+            for (JsonNode element : node) {
+                list.endMessage(1, value(list, element));
+            }
+            value.endMessage(6, list);
+        } else if (node.isNumber()) {
+            value.float64(2, node.doubleValue());
+        } else if (node.isTextual()) {
+            value.oneofString(3, node.textValue());
+        } else if (node.isBoolean()) {
+            value.oneofVarint(4, node.booleanValue() ? 1 : 0);
+        } else {
+            value.oneofVarint(1, 0);
+        }
+        return value;
+    }
+
+    /**
+     * Decodes a {@code google.protobuf.Struct} into a JSON object string.
+     */
+    static String structToJson(ProtoReader struct) throws IOException {
+        StringWriter json = new StringWriter();
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(json)) {
+            writeStruct(struct, generator);
+        }
+        return json.toString();
+    }
+
+    private static void writeStruct(ProtoReader struct, JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        for (int field; (field = struct.nextField()) != -1; ) {
+            if (field != 1) {
+                struct.skip();
+                continue;
+            }
+            ProtoReader entry = struct.message();
+            String key = "";
+            ProtoReader value = null;
+            for (int entryField; (entryField = entry.nextField()) != -1; ) {
+                if (entryField == 1) {
+                    key = entry.string();
+                } else if (entryField == 2) {
+                    value = entry.message();
+                } else {
+                    entry.skip();
+                }
+            }
+            generator.writeFieldName(key);
+            writeValue(value, generator);
+        }
+        generator.writeEndObject();
+    }
+
+    private static void writeValue(ProtoReader value, JsonGenerator generator) throws IOException {
+        if (value == null) {
+            generator.writeNull();
+            return;
+        }
+        boolean written = false;
+        for (int field; (field = value.nextField()) != -1; ) {
+            switch (field) {
+                case 1:
+                    value.skip();
+                    generator.writeNull();
+                    break;
+                case 2:
+                    generator.writeNumber(value.float64());
+                    break;
+                case 3:
+                    generator.writeString(value.string());
+                    break;
+                case 4:
+                    generator.writeBoolean(value.bool());
+                    break;
+                case 5:
+                    writeStruct(value.message(), generator);
+                    break;
+                case 6:
+                    ProtoReader list = value.message();
+                    generator.writeStartArray();
+                    for (int listField; (listField = list.nextField()) != -1; ) {
+                        if (listField == 1) {
+                            writeValue(list.message(), generator);
+                        } else {
+                            list.skip();
+                        }
+                    }
+                    generator.writeEndArray();
+                    break;
+                default:
+                    value.skip();
+                    continue;
+            }
+            written = true;
+        }
+        if (!written) {
+            generator.writeNull();
+        }
+    }
+}
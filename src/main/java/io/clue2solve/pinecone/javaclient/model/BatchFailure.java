@@ -0,0 +1,37 @@
+package io.clue2solve.pinecone.javaclient.model;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.List;
+
+/**
+ * Describes a batch of a bulk operation that could not be applied.
+ * The ids are kept so that the caller can retry or log exactly the vectors that were not written.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class BatchFailure {
+    /**
+     * Sequence number of the batch within the bulk operation, starting at 0.
+     */
+    private final long batchIndex;
+
+    /**
+     * Ids of the vectors in the failed batch.
+     */
+    private final List<String> ids;
+
+    /**
+     * Error message returned by PineconeDB, or the message of the exception that failed the batch.
+     */
+    private final String message;
+
+    /**
+     * Exception that failed the batch, or null if PineconeDB rejected it with an error response.
+     */
+    @ToString.Exclude
+    private final Throwable cause;
+}
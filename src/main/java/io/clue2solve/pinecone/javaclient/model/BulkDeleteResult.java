@@ -0,0 +1,36 @@
+package io.clue2solve.pinecone.javaclient.model;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Summary of a bulk delete: how many ids and batches were deleted, which batches failed, the achieved throughput
+ * and the cursor from which an interrupted delete can be resumed.
+ */
+@Getter
+@Builder
+@ToString
+public class BulkDeleteResult {
+    private final long deletedIds;
+    private final long failedIds;
+    private final long batches;
+    /**
+     * Number of ids from the start of the input whose batches have all completed, successfully or not.
+     */
+    private final long cursor;
+    private final Duration elapsed;
+    private final List<BatchFailure> failures;
+
+    public boolean isSuccessful() {
+        return failures.isEmpty();
+    }
+
+    public double getIdsPerSecond() {
+        long nanos = elapsed.toNanos();
+        return nanos == 0 ? 0 : deletedIds * 1_000_000_000d / nanos;
+    }
+}
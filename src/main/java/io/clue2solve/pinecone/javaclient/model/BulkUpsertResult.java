@@ -0,0 +1,40 @@
+package io.clue2solve.pinecone.javaclient.model;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Summary of a bulk upsert: how many vectors and batches were written, which batches failed and the achieved throughput.
+ */
+@Getter
+@Builder
+@ToString
+public class BulkUpsertResult {
+    private final long upsertedVectors;
+    private final long failedVectors;
+    private final long batches;
+    private final long bytes;
+    private final Duration elapsed;
+    private final List<BatchFailure> failures;
+
+    public boolean isSuccessful() {
+        return failures.isEmpty();
+    }
+
+    public double getVectorsPerSecond() {
+        return perSecond(upsertedVectors);
+    }
+
+    public double getBytesPerSecond() {
+        return perSecond(bytes);
+    }
+
+    private double perSecond(long count) {
+        long nanos = elapsed.toNanos();
+        return nanos == 0 ? 0 : count * 1_000_000_000d / nanos;
+    }
+}
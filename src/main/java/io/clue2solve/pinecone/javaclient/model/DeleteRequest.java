@@ -1,11 +1,11 @@
 package io.clue2solve.pinecone.javaclient.model;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.clue2solve.pinecone.javaclient.utils.JsonRequestBody;
+import io.clue2solve.pinecone.javaclient.utils.JsonWritable;
 import lombok.*;
 
-import java.util.HashMap;
-import java.util.Map;
+import java.io.IOException;
 
 /**
  * This class is used to create a DeleteRequest object, which is then used to create a JSON object
@@ -19,7 +19,7 @@ import java.util.Map;
 @Builder
 @AllArgsConstructor
 @NoArgsConstructor
-public class DeleteRequest {
+public class DeleteRequest implements JsonWritable {
 
     private String indexName;
     private String namespace;
@@ -27,24 +27,34 @@ public class DeleteRequest {
     private boolean deleteAll;
 
     /**
-     * This method is used to create a JSON object from the DeleteRequest object.
-     * @return JSONObject Stringified JSON object.
+     * Writes the delete body: the ids to delete, or deleteAll, and the namespace.
+     * @param generator Generator to write to.
+     * @throws IOException if the underlying output fails.
      */
     @Override
-    public String toString() {
-        ObjectMapper objectMapper = new ObjectMapper();
-        Map<String, Object> map = new HashMap<>();
-        map.put("indexName", this.getIndexName());
-        map.put("namespace", this.getNamespace());
-        map.put("ids", this.getIds());
-        try {
-            return objectMapper.writeValueAsString(map);
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException(e);
+    public void writeJson(JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        if (ids != null) {
+            generator.writeArrayFieldStart("ids");
+            for (String id : ids) {
+                generator.writeString(id);
+            }
+            generator.writeEndArray();
+        }
+        if (deleteAll) {
+            generator.writeBooleanField("deleteAll", true);
+        }
+        if (namespace != null) {
+            generator.writeStringField("namespace", namespace);
         }
+        generator.writeEndObject();
     }
 
-
-
-
+    /**
+     * @return the delete body as a JSON string.
+     */
+    @Override
+    public String toString() {
+        return JsonRequestBody.toJsonString(this);
+    }
 }
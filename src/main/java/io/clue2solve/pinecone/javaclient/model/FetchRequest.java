@@ -3,7 +3,12 @@ package io.clue2solve.pinecone.javaclient.model;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import lombok.*;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
 import java.util.HashMap;
+import java.util.List;
 import java.util.Map;
 
 /**
@@ -50,4 +55,50 @@ public class FetchRequest {
         }
         return idsString.substring(0, idsString.length() - 1);
     }
+
+    /**
+     * Splits the ids into requests for the same index and namespace that each stay within the given limits.
+     * Every id is sent as its own {@code ids} query parameter, so the length of the query string is
+     * estimated from the percent-encoded ids.
+     *
+     * @param maxIds         Maximum number of ids per request.
+     * @param maxQueryLength Maximum length of the query string of a request.
+     * @return Requests covering every id in order, empty if there are no ids.
+     */
+    public List<FetchRequest> split(int maxIds, int maxQueryLength) {
+        if (maxIds <= 0) {
+            throw new IllegalArgumentException("maxIds must be positive");
+        }
+        List<FetchRequest> chunks = new ArrayList<>();
+        if (ids == null || ids.length == 0) {
+            return chunks;
+        }
+        int baseLength = nameSpace != null ? "namespace=".length() + encodedLength(nameSpace) : 0;
+        int from = 0;
+        int length = baseLength;
+        for (int i = 0; i < ids.length; i++) {
+            int idLength = "&ids=".length() + encodedLength(ids[i]);
+            if (i > from && (i - from == maxIds || length + idLength > maxQueryLength)) {
+                chunks.add(new FetchRequest(indexName, nameSpace, Arrays.copyOfRange(ids, from, i)));
+                from = i;
+                length = baseLength;
+            }
+            length += idLength;
+        }
+        chunks.add(new FetchRequest(indexName, nameSpace, Arrays.copyOfRange(ids, from, ids.length)));
+        return chunks;
+    }
+
+    /**
+     * Upper bound of the length of a query parameter value once percent-encoded.
+     */
+    private static int encodedLength(String value) {
+        int length = 0;
+        for (byte b : value.getBytes(StandardCharsets.UTF_8)) {
+            boolean unreserved = (b >= 'a' && b <= 'z') || (b >= 'A' && b <= 'Z') || (b >= '0' && b <= '9')
+                    || b == '-' || b == '_' || b == '.' || b == '~';
+            length += unreserved ? 1 : 3;
+        }
+        return length;
+    }
 }
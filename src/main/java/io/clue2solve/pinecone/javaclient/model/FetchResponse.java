@@ -1,8 +1,10 @@
 package io.clue2solve.pinecone.javaclient.model;
 
+import java.util.Arrays;
 import java.util.List;
 import java.util.UUID;
 
+import io.clue2solve.pinecone.javaclient.utils.VectorUtils;
 import lombok.*;
 
 /**
@@ -14,22 +16,53 @@ import lombok.*;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@ToString
+@ToString(doNotUseGetters = true)
 public class FetchResponse {
     private UUID id;
-    private List<Double> values;
+    private float[] values;
     private String nameSpace;
 
     private String additionalProp;
     private String sparseValues;
     private String metadata; // this is a stringified JSON object, so you can parse it into a JSON object.
 
+    /**
+     * @return the values of the vector.
+     */
+    public float[] getValuesArray() {
+        return values;
+    }
+
+    public void setValuesArray(float[] values) {
+        this.values = values;
+    }
+
+    /**
+     * @return a boxed view of the values, kept for compatibility. Prefer {@link #getValuesArray()}.
+     */
+    @Deprecated
+    public List<Double> getValues() {
+        return VectorUtils.asDoubleList(values);
+    }
+
+    public void setValues(List<Double> values) {
+        this.values = VectorUtils.toFloatArray(values);
+    }
+
     //toJSONString returns a stringified JSON object
     public String toJSONString() {
-        return "{\"id\":\"" + id + "\",\"values\":" + values + ",\"nameSpace\":\"" + nameSpace + "\",\"additionalProp\":\"" + additionalProp + "\",\"sparseValues\":\"" + sparseValues + "\",\"metadata\":" + metadata + "}";
+        return "{\"id\":\"" + id + "\",\"values\":" + Arrays.toString(values) + ",\"nameSpace\":\"" + nameSpace + "\",\"additionalProp\":\"" + additionalProp + "\",\"sparseValues\":\"" + sparseValues + "\",\"metadata\":" + metadata + "}";
     }
 
+    public static class FetchResponseBuilder {
+        public FetchResponseBuilder values(float[] values) {
+            this.values = values;
+            return this;
+        }
 
+        public FetchResponseBuilder values(List<Double> values) {
+            this.values = VectorUtils.toFloatArray(values);
+            return this;
+        }
+    }
 }
-
-
@@ -0,0 +1,376 @@
+package io.clue2solve.pinecone.javaclient.model;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.SerializableString;
+import com.fasterxml.jackson.core.io.SerializedString;
+import io.clue2solve.pinecone.javaclient.utils.JsonWritable;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.function.Function;
+
+/**
+ * Metadata filter of a query, built with the operators of Pinecone's filter language:
+ *
+ * <pre>{@code
+ * Filter filter = Filter.and(
+ *         Filter.eq("tenant", "acme"),
+ *         Filter.in("genre", List.of("comedy", "drama")),
+ *         Filter.gte("year", 2020));
+ * }</pre>
+ * <p>
+ * A filter is immutable and compiled to its JSON, as UTF-8 bytes, when it is built, so a filter reused across queries
+ * is copied into each request body as it is instead of being encoded again.
+ * <p>
+ * A value can be a {@link #param(String) parameter} instead, which makes the filter a template. The template is
+ * compiled once as well, and {@link #bind(Map)} only encodes the parameter values and joins them with the compiled
+ * parts, e.g. for a tenant filter that is the same for every query but its value:
+ *
+ * <pre>{@code
+ * Filter template = Filter.and(Filter.eq("tenant", Filter.param("tenant")), Filter.gte("year", 2020));
+ * queryRequest.setFilter(template.bind("tenant", tenantId));
+ * }</pre>
+ * Values are strings, numbers, booleans or, for {@code $in} and {@code $nin}, collections of them. Every parameter
+ * remembers the operator it is used with, so {@link #bind(Map)} rejects the same values the operators do.
+ */
+public final class Filter implements JsonWritable {
+    private static final JsonFactory JSON_FACTORY = new JsonFactory();
+
+    // the compiled JSON is literals[0] + parameters[0] + literals[1] + ... + literals[n]
+    private final String[] literals;
+    private final String[] parameters;
+    // operators[i] is the operator parameters[i] is used with
+    private final String[] operators;
+    private final SerializableString json;
+    private volatile Object encoding;
+
+    private Filter(String[] literals, String[] parameters, String[] operators) {
+        this.literals = literals;
+        this.parameters = parameters;
+        this.operators = operators;
+        if (parameters.length == 0) {
+            SerializedString serialized = new SerializedString(literals[0]);
+            // encode the UTF-8 bytes now rather than on the first request
+            serialized.asUnquotedUTF8();
+            this.json = serialized;
+        } else {
+            this.json = null;
+        }
+    }
+
+    /**
+     * Placeholder of a value in a filter template.
+     */
+    public static final class Parameter {
+        private final String name;
+
+        private Parameter(String name) {
+            this.name = Objects.requireNonNull(name, "name");
+        }
+
+        public String getName() {
+            return name;
+        }
+
+        @Override
+        public String toString() {
+            return "{" + name + "}";
+        }
+    }
+
+    /**
+     * @param name Name the value is bound by.
+     * @return a placeholder for a value that is bound later with {@link #bind(Map)}.
+     */
+    public static Parameter param(String name) {
+        return new Parameter(name);
+    }
+
+    public static Filter eq(String field, Object value) {
+        return field(field, "$eq", value);
+    }
+
+    public static Filter ne(String field, Object value) {
+        return field(field, "$ne", value);
+    }
+
+    public static Filter gt(String field, Object value) {
+        return field(field, "$gt", value);
+    }
+
+    public static Filter gte(String field, Object value) {
+        return field(field, "$gte", value);
+    }
+
+    public static Filter lt(String field, Object value) {
+        return field(field, "$lt", value);
+    }
+
+    public static Filter lte(String field, Object value) {
+        return field(field, "$lte", value);
+    }
+
+    /**
+     * @param field  Metadata field.
+     * @param values Collection of values, or a {@link Parameter} bound to one.
+     * @return a filter matching vectors whose field has one of the values.
+     */
+    public static Filter in(String field, Object values) {
+        return field(field, "$in", values);
+    }
+
+    /**
+     * @param field  Metadata field.
+     * @param values Collection of values, or a {@link Parameter} bound to one.
+     * @return a filter matching vectors whose field has none of the values.
+     */
+    public static Filter nin(String field, Object values) {
+        return field(field, "$nin", values);
+    }
+
+    public static Filter exists(String field, boolean exists) {
+        return field(field, "$exists", exists);
+    }
+
+    public static Filter and(Filter... filters) {
+        return combine("$and", filters);
+    }
+
+    public static Filter or(Filter... filters) {
+        return combine("$or", filters);
+    }
+
+    /**
+     * @return the names of the parameters that are not bound yet, empty unless this filter is a template.
+     */
+    public Set<String> getParameterNames() {
+        return Collections.unmodifiableSet(new LinkedHashSet<>(Arrays.asList(parameters)));
+    }
+
+    /**
+     * Binds one parameter of the template.
+     *
+     * @param name  Parameter name.
+     * @param value Value of the parameter.
+     * @return the filter with the parameter replaced by the value.
+     */
+    public Filter bind(String name, Object value) {
+        return bind(Collections.singletonMap(name, value));
+    }
+
+    /**
+     * Binds parameters of the template. Parameters that are not in the map stay unbound.
+     *
+     * @param values Values by parameter name.
+     * @return the filter with the parameters replaced by their values, or this filter if it has none of them.
+     * @throws IllegalArgumentException if a value is not of a supported type, or not a collection for a parameter
+     *                                  of {@code $in} or {@code $nin}, or a collection for any other parameter.
+     */
+    public Filter bind(Map<String, ?> values) {
+        Parts parts = new Parts();
+        for (int i = 0; i < parameters.length; i++) {
+            parts.literal(literals[i]);
+            if (values.containsKey(parameters[i])) {
+                parts.literal(encode(checkValue(operators[i], values.get(parameters[i]))));
+            } else {
+                parts.parameter(parameters[i], operators[i]);
+            }
+        }
+        parts.literal(literals[parameters.length]);
+        return parts.parameters.size() == parameters.length ? this : parts.build();
+    }
+
+    /**
+     * Writes the compiled filter to the generator.
+     *
+     * @param generator Generator to write to.
+     * @throws IllegalStateException if the filter still has unbound parameters.
+     * @throws IOException           if the underlying output fails.
+     */
+    @Override
+    public void writeJson(JsonGenerator generator) throws IOException {
+        generator.writeRawValue(compiled());
+    }
+
+    /**
+     * @return the filter as a JSON string.
+     * @throws IllegalStateException if the filter still has unbound parameters.
+     */
+    public String toJson() {
+        return compiled().getValue();
+    }
+
+    /**
+     * Returns an encoding of this filter for another wire format, such as the protobuf {@code Struct} of the gRPC
+     * client, computed on first use and kept with the filter, so that a filter reused across queries is encoded
+     * once. A filter keeps a single such encoding; asking for one of another type replaces it.
+     *
+     * @param type    Type of the encoding.
+     * @param encoder Computes the encoding of a filter without unbound parameters.
+     * @return the encoding of this filter.
+     * @throws IllegalStateException if the filter still has unbound parameters.
+     */
+    public <T> T encoding(Class<T> type, Function<? super Filter, ? extends T> encoder) {
+        compiled();
+        Object current = encoding;
+        if (!type.isInstance(current)) {
+            current = Objects.requireNonNull(encoder.apply(this), "encoding");
+            encoding = current;
+        }
+        return type.cast(current);
+    }
+
+    private SerializableString compiled() {
+        if (json == null) {
+            throw new IllegalStateException("Filter has unbound parameters " + getParameterNames());
+        }
+        return json;
+    }
+
+    /**
+     * @return the JSON of the filter, with unbound parameters shown as {@code {name}}.
+     */
+    @Override
+    public String toString() {
+        if (json != null) {
+            return json.getValue();
+        }
+        StringBuilder builder = new StringBuilder(literals[0]);
+        for (int i = 0; i < parameters.length; i++) {
+            builder.append('{').append(parameters[i]).append('}').append(literals[i + 1]);
+        }
+        return builder.toString();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (this == o) {
+            return true;
+        }
+        if (!(o instanceof Filter)) {
+            return false;
+        }
+        Filter that = (Filter) o;
+        return Arrays.equals(literals, that.literals) && Arrays.equals(parameters, that.parameters);
+    }
+
+    @Override
+    public int hashCode() {
+        return 31 * Arrays.hashCode(literals) + Arrays.hashCode(parameters);
+    }
+
+    private static Filter field(String field, String operator, Object value) {
+        Objects.requireNonNull(field, "field");
+        Parts parts = new Parts().literal("{" + encode(field) + ":{\"" + operator + "\":");
+        if (value instanceof Parameter) {
+            parts.parameter(((Parameter) value).getName(), operator);
+        } else {
+            parts.literal(encode(checkValue(operator, value)));
+        }
+        return parts.literal("}}").build();
+    }
+
+    private static Filter combine(String operator, Filter... filters) {
+        if (filters.length == 0) {
+            throw new IllegalArgumentException(operator + " needs at least one filter");
+        }
+        Parts parts = new Parts().literal("{\"" + operator + "\":[");
+        for (int i = 0; i < filters.length; i++) {
+            Filter filter = Objects.requireNonNull(filters[i], "filter");
+            parts.literal(i == 0 ? filter.literals[0] : "," + filter.literals[0]);
+            for (int j = 0; j < filter.parameters.length; j++) {
+                parts.parameter(filter.parameters[j], filter.operators[j]).literal(filter.literals[j + 1]);
+            }
+        }
+        return parts.literal("]}").build();
+    }
+
+    /**
+     * Checks that a value suits the operator: {@code $in} and {@code $nin} take a collection, the others a single value.
+     */
+    private static Object checkValue(String operator, Object value) {
+        boolean takesCollection = "$in".equals(operator) || "$nin".equals(operator);
+        if (takesCollection != value instanceof Collection) {
+            throw new IllegalArgumentException(takesCollection
+                    ? "$in and $nin take a collection of values"
+                    : operator + " takes a single value, not " + value);
+        }
+        return value;
+    }
+
+    /**
+     * Encodes a field name or value as JSON.
+     */
+    private static String encode(Object value) {
+        StringWriter json = new StringWriter();
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(json)) {
+            writeValue(generator, value);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return json.toString();
+    }
+
+    private static void writeValue(JsonGenerator generator, Object value) throws IOException {
+        if (value instanceof String) {
+            generator.writeString((String) value);
+        } else if (value instanceof Boolean) {
+            generator.writeBoolean((Boolean) value);
+        } else if (value instanceof Integer || value instanceof Long || value instanceof Short || value instanceof Byte) {
+            generator.writeNumber(((Number) value).longValue());
+        } else if (value instanceof Number) {
+            generator.writeNumber(((Number) value).doubleValue());
+        } else if (value instanceof Collection) {
+            generator.writeStartArray();
+            for (Object element : (Collection<?>) value) {
+                if (element instanceof Collection) {
+                    throw new IllegalArgumentException("Filter values cannot be nested collections");
+                }
+                writeValue(generator, element);
+            }
+            generator.writeEndArray();
+        } else {
+            throw new IllegalArgumentException("Unsupported filter value: " + value);
+        }
+    }
+
+    /**
+     * Collects literal JSON and parameters, merging adjacent literals.
+     */
+    private static final class Parts {
+        private final List<String> literals = new ArrayList<>();
+        private final List<String> parameters = new ArrayList<>();
+        private final List<String> operators = new ArrayList<>();
+        private final StringBuilder literal = new StringBuilder();
+
+        Parts literal(String json) {
+            literal.append(json);
+            return this;
+        }
+
+        Parts parameter(String name, String operator) {
+            literals.add(literal.toString());
+            literal.setLength(0);
+            parameters.add(name);
+            operators.add(operator);
+            return this;
+        }
+
+        Filter build() {
+            literals.add(literal.toString());
+            return new Filter(literals.toArray(new String[0]), parameters.toArray(new String[0]),
+                    operators.toArray(new String[0]));
+        }
+    }
+}
@@ -0,0 +1,23 @@
+package io.clue2solve.pinecone.javaclient.model;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.util.Map;
+
+/**
+ * Statistics of an index: its dimension, fullness, and the number of vectors in total and per namespace.
+ */
+@Getter
+@Builder
+@ToString
+public class IndexStats {
+    private final int dimension;
+    private final float indexFullness;
+    private final long totalVectorCount;
+    /**
+     * Number of vectors of each namespace, keyed by namespace name; the default namespace is the empty string.
+     */
+    private final Map<String, Long> namespaces;
+}
@@ -0,0 +1,91 @@
+package io.clue2solve.pinecone.javaclient.model;
+
+import io.clue2solve.pinecone.javaclient.utils.ResponseParser;
+import lombok.Getter;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.charset.StandardCharsets;
+import java.util.UUID;
+
+/**
+ * A query match that is backed by the raw response bytes.
+ * Only the id and score are decoded when the response is read; the values and the metadata are located by
+ * their offsets in the shared body and decoded on first access, so callers that only rank by score never pay for them.
+ */
+public class LazyQueryResponse {
+    @Getter
+    private final UUID id;
+    @Getter
+    private final double score;
+
+    private final byte[] body;
+    private final int valuesOffset;
+    private final int valuesLength;
+    private final int metadataOffset;
+    private final int metadataLength;
+
+    private volatile float[] values;
+
+    /**
+     * Creates a match over the response body. An offset of -1 means the field is absent.
+     *
+     * @param id             Id of the vector.
+     * @param score          Score of the vector.
+     * @param body           Raw response body shared by every match of the response.
+     * @param valuesOffset   Offset of the values array in the body.
+     * @param valuesLength   Length of the values array in bytes.
+     * @param metadataOffset Offset of the metadata object in the body.
+     * @param metadataLength Length of the metadata object in bytes.
+     */
+    public LazyQueryResponse(UUID id, double score, byte[] body,
+                             int valuesOffset, int valuesLength, int metadataOffset, int metadataLength) {
+        this.id = id;
+        this.score = score;
+        this.body = body;
+        this.valuesOffset = valuesOffset;
+        this.valuesLength = valuesLength;
+        this.metadataOffset = metadataOffset;
+        this.metadataLength = metadataLength;
+    }
+
+    /**
+     * @return the values of the vector, decoded on first access, or null if the response has no values.
+     */
+    public float[] getValuesArray() {
+        float[] decoded = values;
+        if (decoded == null && valuesOffset >= 0) {
+            try {
+                decoded = ResponseParser.parseFloats(body, valuesOffset, valuesLength);
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+            values = decoded;
+        }
+        return decoded;
+    }
+
+    /**
+     * @return the stringified JSON metadata, copied out of the response on access, or null if the response has none.
+     */
+    public String getMetadata() {
+        return metadataOffset < 0 ? null : new String(body, metadataOffset, metadataLength, StandardCharsets.UTF_8);
+    }
+
+    /**
+     * @return an eagerly decoded copy of this match.
+     */
+    public QueryResponse toQueryResponse() {
+        return QueryResponse.builder()
+                .id(id)
+                .score(score)
+                .values(getValuesArray())
+                .metadata(getMetadata())
+                .build();
+    }
+
+    @Override
+    public String toString() {
+        return "LazyQueryResponse(id=" + id + ", score=" + score + ")";
+    }
+}
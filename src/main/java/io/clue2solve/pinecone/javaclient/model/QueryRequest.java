@@ -1,15 +1,21 @@
 package io.clue2solve.pinecone.javaclient.model;
 
-import com.fasterxml.jackson.core.JsonProcessingException;
-import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.clue2solve.pinecone.javaclient.utils.FloatFormat;
+import io.clue2solve.pinecone.javaclient.utils.JsonRequestBody;
+import io.clue2solve.pinecone.javaclient.utils.JsonWritable;
+import io.clue2solve.pinecone.javaclient.utils.VectorUtils;
 import lombok.*;
-import java.util.HashMap;
+
+import java.io.IOException;
 import java.util.List;
-import java.util.Map;
 
 /**
  * This class is used to create a JSON object for the request body of the query API.
  * The JSON object is then converted to a string and sent as the request body.
+ * <p>
+ * A query searches either by a query {@code vector} or by the {@code id} of a stored vector, which saves fetching the
+ * stored vector and sending it back; exactly one of the two must be set.
  */
 @Getter
 @Setter
@@ -17,36 +23,84 @@ import java.util.Map;
 @NoArgsConstructor
 @AllArgsConstructor
 public class
-QueryRequest {
+QueryRequest implements JsonWritable {
     @NonNull
     private String namespace;
     @NonNull
     private String indexName;
-    @NonNull
-    private List<Double> vector;
+    private float[] vector;
+    private String id;
+    private Filter filter;
     private boolean includeMetadata;
     private boolean includeValues;
     private int top_k = 10;
 
+    /**
+     * @return the query vector, or null if the query is by id.
+     */
+    public float[] getVectorArray() {
+        return vector;
+    }
+
+    public void setVectorArray(float[] vector) {
+        this.vector = vector;
+    }
+
+    /**
+     * @return a boxed view of the query vector, kept for compatibility. Prefer {@link #getVectorArray()}.
+     */
+    @Deprecated
+    public List<Double> getVector() {
+        return VectorUtils.asDoubleList(vector);
+    }
+
+    public void setVector(List<Double> vector) {
+        this.vector = VectorUtils.toFloatArray(vector);
+    }
+
+    /**
+     * Checks that the query searches by exactly one of id or vector.
+     *
+     * @throws IllegalArgumentException if both or neither are set.
+     */
+    public void validate() {
+        if ((id == null) == (vector == null)) {
+            throw new IllegalArgumentException("Exactly one of id or vector must be set on a QueryRequest");
+        }
+    }
+
     /**
      * This method is used to create a JSON object from the QueryRequest object.
      * @return JSONObject
      */
     public String getRequestAsJson() {
-        ObjectMapper objectMapper = new ObjectMapper();
-        Map<String, Object> map = new HashMap<>();
-        map.put("namespace", this.getNamespace());
-        map.put("indexname", this.getIndexName());
-        map.put("includeValues", this.isIncludeValues());
-        map.put("includeMetadata", this.isIncludeMetadata());
-        map.put("top_k", getTop_k());
-        map.put("vector", this.getVector());
-
-        try {
-            return objectMapper.writeValueAsString(map);
-        } catch (JsonProcessingException e) {
-            throw new RuntimeException(e);
+        return JsonRequestBody.toJsonString(this);
+    }
+
+    /**
+     * Writes the query body directly to the generator.
+     * @param generator Generator to write to.
+     * @throws IOException if the underlying output fails.
+     */
+    @Override
+    public void writeJson(JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("namespace", namespace);
+        generator.writeNumberField("top_k", top_k);
+        generator.writeBooleanField("includeValues", includeValues);
+        generator.writeBooleanField("includeMetadata", includeMetadata);
+        if (filter != null) {
+            generator.writeFieldName("filter");
+            filter.writeJson(generator);
         }
+        if (id != null) {
+            generator.writeStringField("id", id);
+        }
+        if (vector != null) {
+            generator.writeFieldName("vector");
+            FloatFormat.writeArray(generator, vector);
+        }
+        generator.writeEndObject();
     }
 
     /**
@@ -57,6 +111,18 @@ QueryRequest {
     public  String toString() {
         return this.getRequestAsJson();
     }
+
+    public static class QueryRequestBuilder {
+        public QueryRequestBuilder vector(@NonNull float[] vector) {
+            this.vector = vector;
+            return this;
+        }
+
+        public QueryRequestBuilder vector(@NonNull List<Double> vector) {
+            this.vector = VectorUtils.toFloatArray(vector);
+            return this;
+        }
+    }
 }
 
 
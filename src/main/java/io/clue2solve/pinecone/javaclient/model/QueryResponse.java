@@ -3,6 +3,7 @@ package io.clue2solve.pinecone.javaclient.model;
 import java.util.List;
 import java.util.UUID;
 
+import io.clue2solve.pinecone.javaclient.utils.VectorUtils;
 import lombok.*;
 
 /**
@@ -14,12 +15,46 @@ import lombok.*;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-@ToString
+@ToString(doNotUseGetters = true)
 public class QueryResponse {
     private UUID id;
     private double score;
-    private List<Double> values;
+    private float[] values;
 
     private String metadata; // this is a stringified JSON object, so you can parse it into a JSON object.
 
+    /**
+     * @return the values of the vector.
+     */
+    public float[] getValuesArray() {
+        return values;
+    }
+
+    public void setValuesArray(float[] values) {
+        this.values = values;
+    }
+
+    /**
+     * @return a boxed view of the values, kept for compatibility. Prefer {@link #getValuesArray()}.
+     */
+    @Deprecated
+    public List<Double> getValues() {
+        return VectorUtils.asDoubleList(values);
+    }
+
+    public void setValues(List<Double> values) {
+        this.values = VectorUtils.toFloatArray(values);
+    }
+
+    public static class QueryResponseBuilder {
+        public QueryResponseBuilder values(float[] values) {
+            this.values = values;
+            return this;
+        }
+
+        public QueryResponseBuilder values(List<Double> values) {
+            this.values = VectorUtils.toFloatArray(values);
+            return this;
+        }
+    }
 }
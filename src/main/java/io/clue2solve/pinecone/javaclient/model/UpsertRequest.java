@@ -1,8 +1,13 @@
 package io.clue2solve.pinecone.javaclient.model;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.clue2solve.pinecone.javaclient.utils.JsonRequestBody;
+import io.clue2solve.pinecone.javaclient.utils.JsonWritable;
 import lombok.*;
+import org.json.JSONArray;
 import org.json.JSONObject;
 
+import java.io.IOException;
 import java.util.List;
 
 /**
@@ -14,35 +19,81 @@ import java.util.List;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class UpsertRequest {
+public class UpsertRequest implements JsonWritable {
     private String indexName;
     private String namespace;
     private List<UpsertVector> upsertVectorsList;
 
+    /**
+     * @return the request as a JSON object with the {@code indexName}, {@code nameSpace} and {@code vectors} keys it
+     * always had, which is not the body sent to Pinecone.
+     * @deprecated Builds the whole request in memory; the client streams the body with {@link JsonRequestBody}.
+     */
+    @Deprecated
     public JSONObject getRequestAsJson() {
         JSONObject jsonObject = new JSONObject();
         jsonObject.put("indexName", this.getIndexName());
         jsonObject.put("nameSpace", this.getNamespace());
-        jsonObject.put("vectors", this.getUpsertVectorsList());
-
+        if (upsertVectorsList != null) {
+            JSONArray vectors = new JSONArray();
+            for (UpsertVector upsertVector : upsertVectorsList) {
+                JSONObject vectorJson = new JSONObject();
+                vectorJson.put("id", upsertVector.getId());
+                vectorJson.put("values", upsertVector.getValues());
+                vectorJson.put("metadata", upsertVector.getMetadata());
+                vectors.put(vectorJson);
+            }
+            jsonObject.put("vectors", vectors);
+        }
         return jsonObject;
     }
-    public String toString() {
-        JSONObject vectorsJson = new JSONObject();
-        vectorsJson.put("indexName", this.getIndexName());
-        vectorsJson.put("namespace", this.getNamespace());
-        for (UpsertVector upsertVector : upsertVectorsList) {
-            JSONObject vectorJson = new JSONObject();
-//            vectorJson.put("namespace", this.getNamespace());
-//            vectorJson.put("indexName", this.getIndexName());
-            vectorJson.put("id", upsertVector.getId());
-            vectorJson.put("values", upsertVector.getValues());
-            vectorJson.put("metadata", new JSONObject(upsertVector.getMetadata()));
-            vectorsJson.append("vectors", vectorJson);
+
+    /**
+     * Writes the upsert body, streaming each vector without building an intermediate JSON tree.
+     * @param generator Generator to write to.
+     * @throws IOException if the underlying output fails.
+     */
+    @Override
+    public void writeJson(JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        if (namespace != null) {
+            generator.writeStringField("namespace", namespace);
+        }
+        generator.writeArrayFieldStart("vectors");
+        if (upsertVectorsList != null) {
+            for (UpsertVector upsertVector : upsertVectorsList) {
+                upsertVector.writeJson(generator);
+            }
         }
-        return vectorsJson.toString();
+        generator.writeEndArray();
+        generator.writeEndObject();
     }
-}
 
+    /**
+     * Estimates the size of the upsert body without serializing it.
+     * @return Upper-bound estimate in bytes.
+     */
+    public long estimateSerializedSize() {
+        // {"namespace":"","vectors":[]}
+        long size = 32 + (namespace == null ? 0 : namespace.length() * 3L);
+        if (upsertVectorsList != null) {
+            for (UpsertVector upsertVector : upsertVectorsList) {
+                size += upsertVector.estimateSerializedSize() + 1;
+            }
+        }
+        return size;
+    }
 
+    @Override
+    public long sizeHint() {
+        return estimateSerializedSize();
+    }
 
+    /**
+     * @return the upsert body as a JSON string.
+     */
+    @Override
+    public String toString() {
+        return JsonRequestBody.toJsonString(this);
+    }
+}
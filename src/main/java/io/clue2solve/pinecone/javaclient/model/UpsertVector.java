@@ -1,8 +1,13 @@
 package io.clue2solve.pinecone.javaclient.model;
 
+import com.fasterxml.jackson.core.JsonGenerator;
+import io.clue2solve.pinecone.javaclient.utils.FloatFormat;
+import io.clue2solve.pinecone.javaclient.utils.JsonWritable;
+import io.clue2solve.pinecone.javaclient.utils.VectorUtils;
 import lombok.*;
 import org.json.JSONObject;
 
+import java.io.IOException;
 import java.util.List;
 
 /**
@@ -14,16 +19,16 @@ import java.util.List;
 @Builder
 @NoArgsConstructor
 @AllArgsConstructor
-public class UpsertVector {
+public class UpsertVector implements JsonWritable {
     /**
      * Unique identifier for the vector.
      */
     private String id;
 
     /**
-     * List of values(the vector).
+     * Values of the vector, stored as primitive floats.
      */
-    private List<Double> values;
+    private float[] values;
 
     /**
      * Metadata associated with the vector.
@@ -31,6 +36,101 @@ public class UpsertVector {
      */
     private String metadata; //TODO: Check if this is a stringified JSON object or a JSON object
 
+    /**
+     * Creates a vector from boxed values, as before values were stored as floats.
+     * Prefer {@link #UpsertVector(String, float[], String)} or the builder. A literal {@code null} for the values
+     * matches both constructors, so callers passing one must cast it to the type they mean.
+     *
+     * @param id       Unique identifier for the vector.
+     * @param values   Values of the vector, may be null.
+     * @param metadata Metadata as a JSON object string, may be null.
+     */
+    @Deprecated
+    public UpsertVector(String id, List<Double> values, String metadata) {
+        this(id, VectorUtils.toFloatArray(values), metadata);
+    }
+
+    /**
+     * @return the values of the vector.
+     */
+    public float[] getValuesArray() {
+        return values;
+    }
+
+    public void setValuesArray(float[] values) {
+        this.values = values;
+    }
+
+    /**
+     * @return a boxed view of the values, kept for compatibility. Prefer {@link #getValuesArray()}.
+     */
+    @Deprecated
+    public List<Double> getValues() {
+        return VectorUtils.asDoubleList(values);
+    }
+
+    public void setValues(List<Double> values) {
+        this.values = VectorUtils.toFloatArray(values);
+    }
+
+    /**
+     * Estimates an upper bound of the number of bytes this vector takes in a serialized upsert body,
+     * without serializing it. Used to split large upserts into batches that stay under the request size limit.
+     * @return estimated size in bytes.
+     */
+    public int estimateSerializedSize() {
+        // {"id":"","values":[],"metadata":}
+        int size = 36 + utf8Length(id) + utf8Length(metadata);
+        if (values != null) {
+            // a value never exceeds FloatFormat.MAX_LENGTH characters, plus the separator
+            size += values.length * (FloatFormat.MAX_LENGTH + 1);
+        }
+        return size;
+    }
+
+    private static int utf8Length(String value) {
+        if (value == null) {
+            return 4;
+        }
+        int length = 0;
+        for (int i = 0; i < value.length(); i++) {
+            char c = value.charAt(i);
+            if (c < 0x80) {
+                length++;
+            } else if (c < 0x800) {
+                length += 2;
+            } else if (Character.isHighSurrogate(c)) {
+                length += 4;
+                i++;
+            } else {
+                length += 3;
+            }
+        }
+        // quotes and escaping headroom
+        return length + 2;
+    }
+
+    /**
+     * Writes the vector as it is sent in an upsert body. The metadata string is spliced in as-is,
+     * so it must already be a valid JSON object.
+     * @param generator Generator to write to.
+     * @throws IOException if the underlying output fails.
+     */
+    @Override
+    public void writeJson(JsonGenerator generator) throws IOException {
+        generator.writeStartObject();
+        generator.writeStringField("id", id);
+        if (values != null) {
+            generator.writeFieldName("values");
+            FloatFormat.writeArray(generator, values);
+        }
+        if (metadata != null) {
+            generator.writeFieldName("metadata");
+            generator.writeRawValue(metadata);
+        }
+        generator.writeEndObject();
+    }
+
     /**
      * This method is used to create a JSON object from the UpsertVector object.
      * @return stringified JSON object.
@@ -42,4 +142,16 @@ public class UpsertVector {
         jsonObject.put("metadata", metadata);
         return String.valueOf(jsonObject);
     }
+
+    public static class UpsertVectorBuilder {
+        public UpsertVectorBuilder values(float[] values) {
+            this.values = values;
+            return this;
+        }
+
+        public UpsertVectorBuilder values(List<Double> values) {
+            this.values = VectorUtils.toFloatArray(values);
+            return this;
+        }
+    }
 }
@@ -0,0 +1,42 @@
+package io.clue2solve.pinecone.javaclient.model;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.Singular;
+
+import java.time.Duration;
+import java.util.List;
+
+/**
+ * Parameters of {@link io.clue2solve.pinecone.javaclient.PineconeDBClient#warmUp(WarmUpRequest)}: the indexes whose
+ * hosts are connected to ahead of the first real request, and how long startup may block on it.
+ */
+@Getter
+public class WarmUpRequest {
+    public static final int DEFAULT_CONNECTIONS_PER_HOST = 2;
+    public static final Duration DEFAULT_TIMEOUT = Duration.ofSeconds(5);
+
+    private final List<String> indexNames;
+    private final int connectionsPerHost;
+    private final boolean describeIndexStats;
+    private final Duration timeout;
+
+    /**
+     * Creates a warm-up request. Settings that are not set fall back to the defaults.
+     *
+     * @param indexNames         Indexes whose hosts are warmed up.
+     * @param connectionsPerHost Number of connections opened to each host. Hosts speaking HTTP/2 multiplex every
+     *                           request over one connection, so more than one is only useful with HTTP/1.1.
+     * @param describeIndexStats Whether the connections are primed with a {@code describe_index_stats} call, which
+     *                           also checks the API key; otherwise a {@code HEAD} request to the host is sent.
+     * @param timeout            Deadline of the whole warm-up; hosts not warmed up by then are reported as failed.
+     */
+    @Builder
+    private WarmUpRequest(@Singular List<String> indexNames, int connectionsPerHost,
+                          boolean describeIndexStats, Duration timeout) {
+        this.indexNames = indexNames;
+        this.connectionsPerHost = connectionsPerHost > 0 ? connectionsPerHost : DEFAULT_CONNECTIONS_PER_HOST;
+        this.describeIndexStats = describeIndexStats;
+        this.timeout = timeout != null ? timeout : DEFAULT_TIMEOUT;
+    }
+}
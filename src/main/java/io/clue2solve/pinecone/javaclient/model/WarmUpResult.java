@@ -0,0 +1,26 @@
+package io.clue2solve.pinecone.javaclient.model;
+
+import lombok.Builder;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Outcome of a warm-up: the hosts that answered, the hosts that failed or did not answer before the deadline with
+ * the reason, and how long the warm-up blocked.
+ */
+@Getter
+@Builder
+@ToString
+public class WarmUpResult {
+    private final List<String> warmedHosts;
+    private final Map<String, Throwable> failedHosts;
+    private final Duration elapsed;
+
+    public boolean isSuccessful() {
+        return failedHosts.isEmpty();
+    }
+}
@@ -0,0 +1,39 @@
+package io.clue2solve.pinecone.javaclient.ratelimit;
+
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * A quota of permits per second with a burst allowance. What a permit stands for depends on the operation it is set
+ * for: one request for queries, fetches and deletes, one byte of request body for upserts.
+ */
+@Getter
+@ToString
+public class RateLimit {
+    private final double permitsPerSecond;
+    private final double burst;
+
+    private RateLimit(double permitsPerSecond, double burst) {
+        if (permitsPerSecond <= 0 || burst <= 0) {
+            throw new IllegalArgumentException("permitsPerSecond and burst must be positive");
+        }
+        this.permitsPerSecond = permitsPerSecond;
+        this.burst = burst;
+    }
+
+    /**
+     * @param permitsPerSecond Sustained rate.
+     * @return a quota allowing bursts of one second worth of permits.
+     */
+    public static RateLimit perSecond(double permitsPerSecond) {
+        return new RateLimit(permitsPerSecond, Math.max(1, permitsPerSecond));
+    }
+
+    /**
+     * @param burst Largest number of permits that can be taken at once after a quiet period.
+     * @return a copy of this quota with the given burst.
+     */
+    public RateLimit withBurst(double burst) {
+        return new RateLimit(permitsPerSecond, burst);
+    }
+}
@@ -0,0 +1,26 @@
+package io.clue2solve.pinecone.javaclient.ratelimit;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+import java.time.Duration;
+
+/**
+ * Point-in-time statistics of one rate-limited index operation.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class RateLimitStats {
+    private final long acquiredPermits;
+    private final long acquisitions;
+    private final long delayedAcquisitions;
+    private final long rejectedAcquisitions;
+    private final Duration totalWait;
+    private final Duration maxWait;
+
+    public Duration getAverageWait() {
+        return acquisitions == 0 ? Duration.ZERO : totalWait.dividedBy(acquisitions);
+    }
+}
@@ -0,0 +1,195 @@
+package io.clue2solve.pinecone.javaclient.ratelimit;
+
+import io.clue2solve.pinecone.javaclient.PineconeDBClient.EndPoints;
+
+import java.time.Duration;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Client-side rate limiter with one token bucket per index and operation.
+ * A quota set for an operation applies to every index separately; a quota set for an index and operation overrides it.
+ * Operations without a quota are not limited.
+ *
+ * <pre>{@code
+ * RateLimiter rateLimiter = new RateLimiter();
+ * rateLimiter.setLimit(EndPoints.QUERY, RateLimit.perSecond(100));
+ * rateLimiter.setLimit("large-index", EndPoints.UPSERT, RateLimit.perSecond(2_000_000).withBurst(4_000_000));
+ * client.setRateLimiter(rateLimiter);
+ * }</pre>
+ */
+public class RateLimiter {
+    private final Map<EndPoints, RateLimit> operationLimits = new ConcurrentHashMap<>();
+    private final Map<Key, RateLimit> indexLimits = new ConcurrentHashMap<>();
+    private final Map<Key, Bucket> buckets = new ConcurrentHashMap<>();
+
+    /**
+     * Sets the quota of an operation for every index.
+     *
+     * @param endPoint  Operation.
+     * @param rateLimit Quota, or null to remove it.
+     */
+    public void setLimit(EndPoints endPoint, RateLimit rateLimit) {
+        if (rateLimit == null) {
+            operationLimits.remove(endPoint);
+        } else {
+            operationLimits.put(endPoint, rateLimit);
+        }
+        buckets.keySet().removeIf(key -> key.endPoint == endPoint);
+    }
+
+    /**
+     * Sets the quota of an operation on one index.
+     *
+     * @param indexName Name of the index.
+     * @param endPoint  Operation.
+     * @param rateLimit Quota, or null to fall back to the quota of the operation.
+     */
+    public void setLimit(String indexName, EndPoints endPoint, RateLimit rateLimit) {
+        Key key = new Key(indexName, endPoint);
+        if (rateLimit == null) {
+            indexLimits.remove(key);
+        } else {
+            indexLimits.put(key, rateLimit);
+        }
+        buckets.remove(key);
+    }
+
+    /**
+     * Takes permits, waiting until they are available.
+     *
+     * @param indexName Name of the index.
+     * @param endPoint  Operation.
+     * @param permits   Number of permits.
+     * @return Time waited in nanoseconds.
+     * @throws InterruptedException if interrupted while waiting; the permits stay taken.
+     */
+    public long acquire(String indexName, EndPoints endPoint, long permits) throws InterruptedException {
+        long waitNanos = reserve(indexName, endPoint, permits);
+        if (waitNanos > 0) {
+            TimeUnit.NANOSECONDS.sleep(waitNanos);
+        }
+        return waitNanos;
+    }
+
+    /**
+     * Takes permits if they are available now, without waiting.
+     *
+     * @param indexName Name of the index.
+     * @param endPoint  Operation.
+     * @param permits   Number of permits.
+     * @return true if the permits were taken, false if the call should be shed or deferred.
+     */
+    public boolean tryAcquire(String indexName, EndPoints endPoint, long permits) {
+        Bucket bucket = bucket(indexName, endPoint);
+        if (bucket == null) {
+            return true;
+        }
+        if (!bucket.tokens.tryAcquire(permits)) {
+            bucket.rejected.increment();
+            return false;
+        }
+        bucket.record(permits, 0);
+        return true;
+    }
+
+    /**
+     * Takes permits in advance without waiting, for callers that schedule the call themselves.
+     *
+     * @param indexName Name of the index.
+     * @param endPoint  Operation.
+     * @param permits   Number of permits.
+     * @return Time in nanoseconds after which the call may be made.
+     */
+    public long reserve(String indexName, EndPoints endPoint, long permits) {
+        Bucket bucket = bucket(indexName, endPoint);
+        if (bucket == null) {
+            return 0;
+        }
+        long waitNanos = bucket.tokens.reserve(permits);
+        bucket.record(permits, waitNanos);
+        return waitNanos;
+    }
+
+    /**
+     * @param indexName Name of the index.
+     * @param endPoint  Operation.
+     * @return statistics of the operation on the index since its quota was last set.
+     */
+    public RateLimitStats getStats(String indexName, EndPoints endPoint) {
+        Bucket bucket = buckets.get(new Key(indexName, endPoint));
+        if (bucket == null) {
+            return new RateLimitStats(0, 0, 0, 0, Duration.ZERO, Duration.ZERO);
+        }
+        return new RateLimitStats(bucket.permits.sum(), bucket.acquisitions.sum(), bucket.delayed.sum(),
+                bucket.rejected.sum(), Duration.ofNanos(bucket.totalWaitNanos.sum()), Duration.ofNanos(bucket.maxWaitNanos.get()));
+    }
+
+    private Bucket bucket(String indexName, EndPoints endPoint) {
+        Key key = new Key(indexName, endPoint);
+        Bucket bucket = buckets.get(key);
+        if (bucket != null) {
+            return bucket;
+        }
+        RateLimit rateLimit = indexLimits.getOrDefault(key, operationLimits.get(endPoint));
+        if (rateLimit == null) {
+            return null;
+        }
+        return buckets.computeIfAbsent(key, k -> new Bucket(rateLimit));
+    }
+
+    private static final class Bucket {
+        private final TokenBucket tokens;
+        private final LongAdder permits = new LongAdder();
+        private final LongAdder acquisitions = new LongAdder();
+        private final LongAdder delayed = new LongAdder();
+        private final LongAdder rejected = new LongAdder();
+        private final LongAdder totalWaitNanos = new LongAdder();
+        private final AtomicLong maxWaitNanos = new AtomicLong();
+
+        private Bucket(RateLimit rateLimit) {
+            this.tokens = new TokenBucket(rateLimit.getPermitsPerSecond(), rateLimit.getBurst());
+        }
+
+        private void record(long acquired, long waitNanos) {
+            permits.add(acquired);
+            acquisitions.increment();
+            if (waitNanos > 0) {
+                delayed.increment();
+                totalWaitNanos.add(waitNanos);
+                maxWaitNanos.accumulateAndGet(waitNanos, Math::max);
+            }
+        }
+    }
+
+    private static final class Key {
+        private final String indexName;
+        private final EndPoints endPoint;
+
+        private Key(String indexName, EndPoints endPoint) {
+            this.indexName = indexName;
+            this.endPoint = endPoint;
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof Key)) {
+                return false;
+            }
+            Key that = (Key) o;
+            return endPoint == that.endPoint && Objects.equals(indexName, that.indexName);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(indexName, endPoint);
+        }
+    }
+}
@@ -0,0 +1,63 @@
+package io.clue2solve.pinecone.javaclient.ratelimit;
+
+/**
+ * Token bucket refilled at a constant rate up to its capacity.
+ * <p>
+ * Reservations may take the bucket into debt: a caller reserving more permits than are available is told how long to
+ * wait, and later callers wait for the debt to be paid off first, so that callers are served in order. A request for
+ * more permits than the capacity is admitted once the bucket is full, so that it cannot starve.
+ */
+public class TokenBucket {
+    private final double capacity;
+    private final double permitsPerNano;
+    private double available;
+    private long lastRefillNanos;
+
+    /**
+     * @param permitsPerSecond Refill rate.
+     * @param capacity         Maximum number of stored permits, which is the largest burst.
+     */
+    public TokenBucket(double permitsPerSecond, double capacity) {
+        if (permitsPerSecond <= 0 || capacity <= 0) {
+            throw new IllegalArgumentException("permitsPerSecond and capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.permitsPerNano = permitsPerSecond / 1_000_000_000d;
+        this.available = capacity;
+        this.lastRefillNanos = System.nanoTime();
+    }
+
+    /**
+     * Takes the permits if they are available now.
+     *
+     * @param permits Number of permits.
+     * @return true if the permits were taken.
+     */
+    public synchronized boolean tryAcquire(long permits) {
+        refill();
+        if (available < Math.min(permits, capacity)) {
+            return false;
+        }
+        available -= permits;
+        return true;
+    }
+
+    /**
+     * Takes the permits, possibly in advance.
+     *
+     * @param permits Number of permits.
+     * @return Time in nanoseconds the caller must wait before using the permits.
+     */
+    public synchronized long reserve(long permits) {
+        refill();
+        double missing = Math.min(permits, capacity) - available;
+        available -= permits;
+        return missing <= 0 ? 0 : (long) Math.ceil(missing / permitsPerNano);
+    }
+
+    private void refill() {
+        long now = System.nanoTime();
+        available = Math.min(capacity, available + (now - lastRefillNanos) * permitsPerNano);
+        lastRefillNanos = now;
+    }
+}
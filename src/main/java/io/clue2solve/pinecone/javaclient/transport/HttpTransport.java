@@ -0,0 +1,36 @@
+package io.clue2solve.pinecone.javaclient.transport;
+
+import okhttp3.Request;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * HTTP transport the Pinecone clients send their requests through.
+ * <p>
+ * Requests and responses are exchanged as OkHttp's immutable {@link Request} and {@link Response} values, so that the
+ * clients' interceptors and response readers work unchanged on every implementation; how the request is actually
+ * sent is up to the transport. Implementations run the interceptors they were created with around every request.
+ *
+ * @see HttpTransportFactory
+ */
+public interface HttpTransport {
+
+    /**
+     * Executes the request on the calling thread.
+     *
+     * @param request Request to be executed.
+     * @return The (unread) response, which the caller must close.
+     * @throws IOException if the request could not be executed.
+     */
+    Response execute(Request request) throws IOException;
+
+    /**
+     * Executes the request without blocking the calling thread. Cancelling the returned future cancels the request.
+     *
+     * @param request Request to be executed.
+     * @return Future completed with the (unread) response, which the caller must close.
+     */
+    CompletableFuture<Response> enqueue(Request request);
+}
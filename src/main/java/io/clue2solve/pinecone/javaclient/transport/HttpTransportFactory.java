@@ -0,0 +1,19 @@
+package io.clue2solve.pinecone.javaclient.transport;
+
+import okhttp3.Interceptor;
+
+import java.util.List;
+
+/**
+ * Creates the {@link HttpTransport} of each client. A factory typically holds the connections, threads and other
+ * resources that the transports it creates share.
+ */
+@FunctionalInterface
+public interface HttpTransportFactory {
+
+    /**
+     * @param interceptors Interceptors of the client, outermost first, to be run around every request.
+     * @return a transport for one client.
+     */
+    HttpTransport create(List<Interceptor> interceptors);
+}
@@ -0,0 +1,423 @@
+package io.clue2solve.pinecone.javaclient.transport;
+
+import okhttp3.Call;
+import okhttp3.Callback;
+import okhttp3.Connection;
+import okhttp3.Headers;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.Okio;
+import okio.Pipe;
+import okio.Timeout;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.time.Duration;
+import java.util.List;
+import java.util.Locale;
+import java.util.Set;
+import java.util.concurrent.CancellationException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * {@link HttpTransport} on the JDK's {@link HttpClient}, which negotiates HTTP/2 natively and sends requests with its
+ * asynchronous API. Instances are created by a {@link JdkHttpTransportFactory}.
+ * <p>
+ * The interceptors run around every request like on OkHttp, with their {@link Interceptor.Chain#call()} reflecting
+ * cancellation. OkHttp interceptors are synchronous and block (retries wait, limiters queue), so an enqueued request
+ * that has interceptors runs them on the call executor, the way OkHttp's dispatcher does, and its thread then waits
+ * for the response. The call executor therefore bounds the asynchronous requests in flight, see
+ * {@link JdkHttpTransportFactory}. Without interceptors an enqueued request never occupies a thread.
+ * <p>
+ * A request that runs on a thread streams its body through a bounded pipe: the thread writes the body while the JDK
+ * client sends it, so the body is never held in memory as a whole. Enqueued requests without interceptors have no
+ * thread to write on, and their bodies are buffered before they are sent.
+ */
+public class JdkHttpTransport implements HttpTransport {
+    /**
+     * Headers the JDK client sets itself and refuses to take from the caller.
+     */
+    private static final Set<String> RESTRICTED_HEADERS = Set.of("connection", "content-length", "expect", "host", "upgrade");
+    /**
+     * Bytes of request body that may be written ahead of the JDK client.
+     */
+    private static final long BODY_PIPE_SIZE = 64 * 1024;
+
+    private final HttpClient httpClient;
+    private final Executor executor;
+    private final Duration requestTimeout;
+    private final List<Interceptor> interceptors;
+
+    /**
+     * @param httpClient     Client used to send the requests.
+     * @param executor       Executor running the interceptors of enqueued requests; it should be bounded, since each
+     *                       request occupies one of its threads until its response arrives.
+     * @param requestTimeout Timeout until the response headers are received, or null for none.
+     * @param interceptors   Interceptors to be run around every request, outermost first.
+     */
+    public JdkHttpTransport(HttpClient httpClient, Executor executor, Duration requestTimeout, List<Interceptor> interceptors) {
+        this.httpClient = httpClient;
+        this.executor = executor;
+        this.requestTimeout = requestTimeout;
+        this.interceptors = List.copyOf(interceptors);
+    }
+
+    @Override
+    public Response execute(Request request) throws IOException {
+        return new JdkCall(request).execute();
+    }
+
+    @Override
+    public CompletableFuture<Response> enqueue(Request request) {
+        JdkCall call = new JdkCall(request);
+        CompletableFuture<Response> future = new CompletableFuture<>();
+        future.whenComplete((response, throwable) -> {
+            if (future.isCancelled()) {
+                call.cancel();
+            }
+        });
+        if (interceptors.isEmpty()) {
+            call.sendAsync(request).whenComplete((response, throwable) -> complete(future, response, throwable));
+            return future;
+        }
+        try {
+            executor.execute(() -> {
+                try {
+                    complete(future, call.execute(), null);
+                } catch (IOException | RuntimeException e) {
+                    complete(future, null, e);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            future.completeExceptionally(new IOException("Transport executor rejected the request", e));
+        }
+        return future;
+    }
+
+    private static void complete(CompletableFuture<Response> future, Response response, Throwable throwable) {
+        if (throwable != null) {
+            future.completeExceptionally(unwrap(throwable));
+        } else if (!future.complete(response)) {
+            response.close();
+        }
+    }
+
+    private static Throwable unwrap(Throwable throwable) {
+        if (throwable instanceof CompletionException && throwable.getCause() != null) {
+            return throwable.getCause();
+        }
+        return throwable;
+    }
+
+    /**
+     * Converts the request, with its body buffered.
+     */
+    private HttpRequest toHttpRequest(Request request) throws IOException {
+        RequestBody body = request.body();
+        if (body == null) {
+            return toHttpRequest(request, HttpRequest.BodyPublishers.noBody());
+        }
+        Buffer buffer = new Buffer();
+        body.writeTo(buffer);
+        return toHttpRequest(request, HttpRequest.BodyPublishers.ofByteArray(buffer.readByteArray()));
+    }
+
+    private HttpRequest toHttpRequest(Request request, HttpRequest.BodyPublisher publisher) {
+        HttpRequest.Builder builder = HttpRequest.newBuilder(request.url().uri());
+        if (requestTimeout != null) {
+            builder.timeout(requestTimeout);
+        }
+        for (String name : request.headers().names()) {
+            if (!RESTRICTED_HEADERS.contains(name.toLowerCase(Locale.ROOT))) {
+                request.headers(name).forEach(value -> builder.header(name, value));
+            }
+        }
+        RequestBody body = request.body();
+        MediaType contentType = body != null ? body.contentType() : null;
+        if (contentType != null && request.header("Content-Type") == null) {
+            builder.header("Content-Type", contentType.toString());
+        }
+        return builder.method(request.method(), publisher).build();
+    }
+
+    /**
+     * @return a publisher that sends what is written to the pipe, once; the JDK client only re-sends bodies of
+     * requests it may retry on its own, which ours are not.
+     */
+    private static HttpRequest.BodyPublisher pipePublisher(Pipe pipe, long contentLength) {
+        AtomicBoolean subscribed = new AtomicBoolean();
+        HttpRequest.BodyPublisher publisher = HttpRequest.BodyPublishers.ofInputStream(() -> {
+            if (!subscribed.compareAndSet(false, true)) {
+                throw new IllegalStateException("The request body can only be sent once");
+            }
+            return Okio.buffer(pipe.source()).inputStream();
+        });
+        return contentLength >= 0 ? HttpRequest.BodyPublishers.fromPublisher(publisher, contentLength) : publisher;
+    }
+
+    private static Response toResponse(Request request, HttpResponse<InputStream> httpResponse) {
+        Headers.Builder headers = new Headers.Builder();
+        httpResponse.headers().map().forEach((name, values) -> {
+            // HTTP/2 pseudo-headers such as :status are not headers
+            if (!name.startsWith(":")) {
+                values.forEach(value -> headers.addUnsafeNonAscii(name, value));
+            }
+        });
+        String contentType = httpResponse.headers().firstValue("Content-Type").orElse(null);
+        long contentLength = httpResponse.headers().firstValueAsLong("Content-Length").orElse(-1);
+        return new Response.Builder()
+                .request(request)
+                .protocol(httpResponse.version() == HttpClient.Version.HTTP_2 ? Protocol.HTTP_2 : Protocol.HTTP_1_1)
+                .code(httpResponse.statusCode())
+                .message("")
+                .headers(headers.build())
+                .body(ResponseBody.create(Okio.buffer(Okio.source(httpResponse.body())),
+                        contentType != null ? MediaType.parse(contentType) : null, contentLength))
+                .build();
+    }
+
+    /**
+     * One request through the interceptors. Cancelling it cancels the exchange in progress.
+     */
+    private final class JdkCall implements Call {
+        private final Request request;
+        private volatile boolean executed;
+        private volatile boolean canceled;
+        private volatile CompletableFuture<?> exchange;
+
+        private JdkCall(Request request) {
+            this.request = request;
+        }
+
+        @NotNull
+        @Override
+        public Request request() {
+            return request;
+        }
+
+        @NotNull
+        @Override
+        public Response execute() throws IOException {
+            executed = true;
+            return new JdkChain(0, request).proceed(request);
+        }
+
+        @Override
+        public void enqueue(@NotNull Callback callback) {
+            executed = true;
+            executor.execute(() -> {
+                Response response;
+                try {
+                    response = new JdkChain(0, request).proceed(request);
+                } catch (IOException e) {
+                    callback.onFailure(this, e);
+                    return;
+                }
+                try {
+                    callback.onResponse(this, response);
+                } catch (IOException e) {
+                    callback.onFailure(this, e);
+                }
+            });
+        }
+
+        @Override
+        public void cancel() {
+            canceled = true;
+            CompletableFuture<?> current = exchange;
+            if (current != null) {
+                current.cancel(true);
+            }
+        }
+
+        @Override
+        public boolean isExecuted() {
+            return executed;
+        }
+
+        @Override
+        public boolean isCanceled() {
+            return canceled;
+        }
+
+        @NotNull
+        @Override
+        public Timeout timeout() {
+            return Timeout.NONE;
+        }
+
+        @NotNull
+        @Override
+        public Call clone() {
+            return new JdkCall(request);
+        }
+
+        /**
+         * Sends the request, after the interceptors ran, with the client's asynchronous API.
+         */
+        CompletableFuture<Response> sendAsync(Request request) {
+            HttpRequest httpRequest;
+            try {
+                httpRequest = toHttpRequest(request);
+            } catch (IOException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+            return sendAsync(request, httpRequest);
+        }
+
+        private CompletableFuture<Response> sendAsync(Request request, HttpRequest httpRequest) {
+            if (canceled) {
+                return CompletableFuture.failedFuture(new IOException("Canceled"));
+            }
+            CompletableFuture<HttpResponse<InputStream>> sent =
+                    httpClient.sendAsync(httpRequest, HttpResponse.BodyHandlers.ofInputStream());
+            exchange = sent;
+            if (canceled) {
+                sent.cancel(true);
+            }
+            return sent.thenApply(httpResponse -> toResponse(request, httpResponse));
+        }
+
+        /**
+         * Sends the request and waits for its response, writing the body on the calling thread meanwhile.
+         */
+        Response send(Request request) throws IOException {
+            RequestBody body = request.body();
+            if (body == null) {
+                return await(sendAsync(request, toHttpRequest(request, HttpRequest.BodyPublishers.noBody())));
+            }
+            Pipe pipe = new Pipe(BODY_PIPE_SIZE);
+            CompletableFuture<Response> sent = sendAsync(request, toHttpRequest(request, pipePublisher(pipe, body.contentLength())));
+            // unblock the writer if the exchange ends before it read the whole body
+            sent.whenComplete((response, throwable) -> pipe.cancel());
+            BufferedSink sink = Okio.buffer(pipe.sink());
+            try {
+                body.writeTo(sink);
+                sink.close();
+            } catch (IOException | RuntimeException e) {
+                if (!sent.isDone()) {
+                    // fail the read side too, so that the truncated body is never sent as a complete one
+                    pipe.cancel();
+                    exchange.cancel(true);
+                    throw e;
+                }
+                // the exchange ended before the body was written, e.g. with an early error response
+            }
+            return await(sent);
+        }
+
+        private Response await(CompletableFuture<Response> sent) throws IOException {
+            try {
+                return sent.get();
+            } catch (InterruptedException e) {
+                cancel();
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for the response");
+            } catch (CancellationException e) {
+                throw new IOException("Canceled", e);
+            } catch (ExecutionException e) {
+                Throwable cause = unwrap(e.getCause());
+                if (cause instanceof IOException) {
+                    throw (IOException) cause;
+                }
+                if (cause instanceof CancellationException) {
+                    throw new IOException("Canceled", cause);
+                }
+                if (cause instanceof RuntimeException) {
+                    throw (RuntimeException) cause;
+                }
+                throw new IOException(cause);
+            }
+        }
+
+        /**
+         * Chain over the transport's interceptors whose last link sends the request.
+         */
+        private final class JdkChain implements Interceptor.Chain {
+            private final int index;
+            private final Request request;
+
+            private JdkChain(int index, Request request) {
+                this.index = index;
+                this.request = request;
+            }
+
+            @NotNull
+            @Override
+            public Request request() {
+                return request;
+            }
+
+            @NotNull
+            @Override
+            public Response proceed(@NotNull Request request) throws IOException {
+                if (index < interceptors.size()) {
+                    return interceptors.get(index).intercept(new JdkChain(index + 1, request));
+                }
+                return send(request);
+            }
+
+            @Override
+            public Connection connection() {
+                return null;
+            }
+
+            @NotNull
+            @Override
+            public Call call() {
+                return JdkCall.this;
+            }
+
+            @Override
+            public int connectTimeoutMillis() {
+                return (int) httpClient.connectTimeout().map(Duration::toMillis).orElse(0L).longValue();
+            }
+
+            @NotNull
+            @Override
+            public Interceptor.Chain withConnectTimeout(int timeout, @NotNull TimeUnit unit) {
+                return this;
+            }
+
+            @Override
+            public int readTimeoutMillis() {
+                return requestTimeout != null ? (int) requestTimeout.toMillis() : 0;
+            }
+
+            @NotNull
+            @Override
+            public Interceptor.Chain withReadTimeout(int timeout, @NotNull TimeUnit unit) {
+                return this;
+            }
+
+            @Override
+            public int writeTimeoutMillis() {
+                return 0;
+            }
+
+            @NotNull
+            @Override
+            public Interceptor.Chain withWriteTimeout(int timeout, @NotNull TimeUnit unit) {
+                return this;
+            }
+        }
+    }
+}
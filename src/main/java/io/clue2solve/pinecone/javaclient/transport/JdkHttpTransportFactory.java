@@ -0,0 +1,82 @@
+package io.clue2solve.pinecone.javaclient.transport;
+
+import lombok.Builder;
+import okhttp3.Interceptor;
+
+import java.net.http.HttpClient;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Creates {@link JdkHttpTransport}s that share one JDK {@link HttpClient}, and with it its connections and executor.
+ * Set it on a {@link io.clue2solve.pinecone.javaclient.PineconeClientConfig} to run the clients of that config on
+ * the JDK client instead of OkHttp; the config's pool and dispatcher settings then do not apply.
+ * <p>
+ * The transports also share a pool of {@code maxRequests} call threads, which plays the part of OkHttp's dispatcher.
+ * An asynchronous request runs its interceptors on one of them and holds it until the response headers arrive, since
+ * OkHttp interceptors are synchronous; requests beyond {@code maxRequests} wait in the pool's queue.
+ *
+ * <pre>{@code
+ * PineconeClientConfig config = PineconeClientConfig.builder()
+ *         .transportFactory(JdkHttpTransportFactory.builder().executor(executor).build())
+ *         .build();
+ * }</pre>
+ */
+public class JdkHttpTransportFactory implements HttpTransportFactory {
+    public static final Duration DEFAULT_CONNECT_TIMEOUT = Duration.ofSeconds(10);
+    public static final Duration DEFAULT_REQUEST_TIMEOUT = Duration.ofSeconds(30);
+    public static final int DEFAULT_MAX_REQUESTS = 64;
+
+    private final HttpClient httpClient;
+    private final ThreadPoolExecutor callExecutor;
+    private final Duration requestTimeout;
+
+    /**
+     * Creates a factory. Settings that are not set fall back to the defaults.
+     *
+     * @param executor       Executor of the JDK client, which runs its short, non-blocking tasks; the JDK's default
+     *                       if not set. It never runs the interceptors.
+     * @param maxRequests    Number of call threads, and so of asynchronous requests in flight, before further ones
+     *                       queue.
+     * @param connectTimeout Timeout of a TCP connect and TLS handshake.
+     * @param requestTimeout Timeout until the response headers of a request are received.
+     * @param http2          Whether HTTP/2 is negotiated with hosts that support it. Defaults to true; false
+     *                       restricts the transports to HTTP/1.1.
+     */
+    @Builder
+    private JdkHttpTransportFactory(Executor executor, int maxRequests, Duration connectTimeout, Duration requestTimeout,
+                                    Boolean http2) {
+        int threads = maxRequests > 0 ? maxRequests : DEFAULT_MAX_REQUESTS;
+        this.callExecutor = new ThreadPoolExecutor(threads, threads, 60, TimeUnit.SECONDS, new LinkedBlockingQueue<>(),
+                runnable -> {
+                    Thread thread = new Thread(runnable, "pinecone-jdk-call");
+                    thread.setDaemon(true);
+                    return thread;
+                });
+        this.callExecutor.allowCoreThreadTimeOut(true);
+        this.requestTimeout = requestTimeout != null ? requestTimeout : DEFAULT_REQUEST_TIMEOUT;
+        HttpClient.Builder builder = HttpClient.newBuilder()
+                .connectTimeout(connectTimeout != null ? connectTimeout : DEFAULT_CONNECT_TIMEOUT)
+                .version(http2 == null || http2 ? HttpClient.Version.HTTP_2 : HttpClient.Version.HTTP_1_1);
+        if (executor != null) {
+            builder.executor(executor);
+        }
+        this.httpClient = builder.build();
+    }
+
+    @Override
+    public HttpTransport create(List<Interceptor> interceptors) {
+        return new JdkHttpTransport(httpClient, callExecutor, requestTimeout, interceptors);
+    }
+
+    /**
+     * @return the number of asynchronous requests waiting for a call thread.
+     */
+    public int getQueuedRequests() {
+        return callExecutor.getQueue().size();
+    }
+}
@@ -0,0 +1,118 @@
+package io.clue2solve.pinecone.javaclient.utils;
+
+/**
+ * Concurrency limit of a single host that adapts to the latencies and failures of its requests,
+ * see {@link ConcurrencyLimitPolicy}.
+ */
+public class AdaptiveLimiter {
+    /**
+     * The minimum latency is re-measured every this many samples, so that it follows a server that got slower.
+     */
+    private static final int MIN_RTT_WINDOW = 500;
+    private static final double SMOOTHING = 0.2;
+
+    private final ConcurrencyLimitPolicy policy;
+    private double limit;
+    private int inFlight;
+    private long minRttNanos = Long.MAX_VALUE;
+    private long windowMinRttNanos = Long.MAX_VALUE;
+    private int windowSamples;
+
+    public AdaptiveLimiter(ConcurrencyLimitPolicy policy) {
+        this.policy = policy;
+        this.limit = policy.getInitialLimit();
+    }
+
+    /**
+     * Waits until the host is under its limit and takes a slot.
+     *
+     * @param timeoutNanos Maximum time to wait; zero or less never blocks.
+     * @return true if a slot was taken and must be released, false if the wait timed out.
+     * @throws InterruptedException if interrupted while waiting.
+     */
+    public synchronized boolean acquire(long timeoutNanos) throws InterruptedException {
+        if (timeoutNanos <= 0 && inFlight >= getLimit()) {
+            return false;
+        }
+        long deadline = System.nanoTime() + timeoutNanos;
+        while (inFlight >= getLimit()) {
+            long remaining = deadline - System.nanoTime();
+            if (remaining <= 0) {
+                return false;
+            }
+            wait(remaining / 1_000_000, (int) (remaining % 1_000_000));
+        }
+        inFlight++;
+        return true;
+    }
+
+    /**
+     * Releases a slot after a successful request and lets the limit grow.
+     *
+     * @param rttNanos Latency of the request.
+     */
+    public synchronized void onSuccess(long rttNanos) {
+        boolean saturated = inFlight * 2 >= limit;
+        inFlight--;
+        if (policy.getAlgorithm() == ConcurrencyLimitPolicy.Algorithm.GRADIENT) {
+            sampleRtt(rttNanos);
+        }
+        // a host that is not using half of its limit gives no evidence that it could take more
+        if (saturated) {
+            double next;
+            if (policy.getAlgorithm() == ConcurrencyLimitPolicy.Algorithm.AIMD) {
+                next = limit + 1;
+            } else {
+                double gradient = Math.max(0.5, Math.min(1.0, (double) minRttNanos / Math.max(1, rttNanos)));
+                next = (1 - SMOOTHING) * limit + SMOOTHING * (limit * gradient + Math.sqrt(limit));
+            }
+            setLimit(next);
+        }
+        notifyAll();
+    }
+
+    /**
+     * Releases a slot after a request that was throttled or failed and cuts the limit.
+     */
+    public synchronized void onDropped() {
+        inFlight--;
+        setLimit(limit * policy.getBackoffRatio());
+        notifyAll();
+    }
+
+    /**
+     * Releases a slot without adjusting the limit, for requests that tell nothing about the server, such as cancelled ones.
+     */
+    public synchronized void onIgnored() {
+        inFlight--;
+        notifyAll();
+    }
+
+    /**
+     * @return the current limit.
+     */
+    public synchronized int getLimit() {
+        return (int) limit;
+    }
+
+    /**
+     * @return the number of requests in flight.
+     */
+    public synchronized int getInFlight() {
+        return inFlight;
+    }
+
+    private void sampleRtt(long rttNanos) {
+        windowMinRttNanos = Math.min(windowMinRttNanos, rttNanos);
+        minRttNanos = Math.min(minRttNanos, rttNanos);
+        if (++windowSamples >= MIN_RTT_WINDOW) {
+            minRttNanos = windowMinRttNanos;
+            windowMinRttNanos = Long.MAX_VALUE;
+            windowSamples = 0;
+        }
+    }
+
+    private void setLimit(double next) {
+        limit = Math.max(policy.getMinLimit(), Math.min(policy.getMaxLimit(), next));
+    }
+}
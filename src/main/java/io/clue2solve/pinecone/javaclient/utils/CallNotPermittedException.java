@@ -0,0 +1,10 @@
+package io.clue2solve.pinecone.javaclient.utils;
+
+/**
+ * Thrown instead of sending a request while the circuit breaker of its host is open.
+ */
+public class CallNotPermittedException extends RejectedCallException {
+    public CallNotPermittedException(String message) {
+        super(message);
+    }
+}
@@ -0,0 +1,186 @@
+package io.clue2solve.pinecone.javaclient.utils;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+/**
+ * Circuit breaker of a single host, see {@link CircuitBreakerPolicy}.
+ * Outcomes are kept in a ring buffer of the last {@code windowSize} calls.
+ * <p>
+ * Every state transition starts a new epoch, and a permit carries the epoch it was granted in. The outcome of a call
+ * that was permitted before the last transition is ignored, so that a call started while CLOSED and finishing after
+ * the breaker went HALF_OPEN does not count as a trial, and neither does a trial finishing after the breaker reopened.
+ */
+public class CircuitBreaker {
+    private static final Logger LOG = LoggerFactory.getLogger(CircuitBreaker.class);
+
+    public enum State {
+        CLOSED, OPEN, HALF_OPEN
+    }
+
+    /**
+     * Returned by {@link #tryAcquire()} when the call is not permitted.
+     */
+    public static final long NOT_PERMITTED = -1;
+
+    /**
+     * Receives the state transitions of the breakers.
+     */
+    @FunctionalInterface
+    public interface Listener {
+        void onStateTransition(String host, State from, State to);
+    }
+
+    private final String host;
+    private final CircuitBreakerPolicy policy;
+    private final boolean[] failed;
+    private final boolean[] slow;
+    private int position;
+    private int calls;
+    private int failures;
+    private int slowCalls;
+
+    private State state = State.CLOSED;
+    private long epoch;
+    private long openedAtNanos;
+    private int trialsStarted;
+    private int trialsSucceeded;
+
+    public CircuitBreaker(String host, CircuitBreakerPolicy policy) {
+        this.host = host;
+        this.policy = policy;
+        this.failed = new boolean[policy.getWindowSize()];
+        this.slow = new boolean[policy.getWindowSize()];
+    }
+
+    /**
+     * Asks to make a call.
+     *
+     * @return the permit of the call, to be passed with its outcome, or {@link #NOT_PERMITTED} if it may not be made.
+     */
+    public long tryAcquire() {
+        State from;
+        long permit;
+        synchronized (this) {
+            if (state == State.CLOSED) {
+                return epoch;
+            }
+            if (state == State.OPEN) {
+                if (System.nanoTime() - openedAtNanos < policy.getOpenDuration().toNanos()) {
+                    return NOT_PERMITTED;
+                }
+                from = transition(State.HALF_OPEN);
+            } else {
+                from = null;
+            }
+            if (trialsStarted >= policy.getHalfOpenCalls()) {
+                return NOT_PERMITTED;
+            }
+            trialsStarted++;
+            permit = epoch;
+        }
+        if (from != null) {
+            fireTransition(from, State.HALF_OPEN);
+        }
+        return permit;
+    }
+
+    /**
+     * Reports the outcome of a permitted call.
+     *
+     * @param permit        Permit of the call.
+     * @param success       Whether the call succeeded.
+     * @param durationNanos Duration of the call.
+     */
+    public void onResult(long permit, boolean success, long durationNanos) {
+        boolean isSlow = durationNanos >= policy.getSlowCallDuration().toNanos();
+        State from = null;
+        State to = null;
+        synchronized (this) {
+            if (permit != epoch) {
+                return;
+            }
+            if (state == State.HALF_OPEN) {
+                if (!success || isSlow) {
+                    from = transition(State.OPEN);
+                    to = State.OPEN;
+                } else if (++trialsSucceeded >= policy.getHalfOpenCalls()) {
+                    from = transition(State.CLOSED);
+                    to = State.CLOSED;
+                }
+            } else if (state == State.CLOSED) {
+                record(!success, isSlow);
+                if (calls >= policy.getMinimumCalls()
+                        && (failures >= policy.getFailureRateThreshold() * calls
+                        || slowCalls >= policy.getSlowCallRateThreshold() * calls)) {
+                    from = transition(State.OPEN);
+                    to = State.OPEN;
+                }
+            }
+        }
+        if (to != null) {
+            fireTransition(from, to);
+        }
+    }
+
+    /**
+     * Reports that a permitted call ended without telling anything about the host, for example because it was cancelled.
+     *
+     * @param permit Permit of the call.
+     */
+    public synchronized void onIgnored(long permit) {
+        if (permit == epoch && state == State.HALF_OPEN && trialsStarted > trialsSucceeded) {
+            trialsStarted--;
+        }
+    }
+
+    public synchronized State getState() {
+        return state;
+    }
+
+    /**
+     * @return the rate of failed calls in the current window, or 0 before any call completed.
+     */
+    public synchronized double getFailureRate() {
+        return calls == 0 ? 0 : (double) failures / calls;
+    }
+
+    private void record(boolean isFailure, boolean isSlow) {
+        if (calls == failed.length) {
+            failures -= failed[position] ? 1 : 0;
+            slowCalls -= slow[position] ? 1 : 0;
+        } else {
+            calls++;
+        }
+        failed[position] = isFailure;
+        slow[position] = isSlow;
+        failures += isFailure ? 1 : 0;
+        slowCalls += isSlow ? 1 : 0;
+        position = (position + 1) % failed.length;
+    }
+
+    private State transition(State to) {
+        State from = state;
+        state = to;
+        epoch++;
+        trialsStarted = 0;
+        trialsSucceeded = 0;
+        if (to == State.OPEN) {
+            openedAtNanos = System.nanoTime();
+        }
+        if (to == State.CLOSED) {
+            calls = 0;
+            failures = 0;
+            slowCalls = 0;
+            position = 0;
+        }
+        return from;
+    }
+
+    private void fireTransition(State from, State to) {
+        LOG.warn("Circuit breaker of host {} changed from {} to {}", host, from, to);
+        if (policy.getListener() != null) {
+            policy.getListener().onStateTransition(host, from, to);
+        }
+    }
+}
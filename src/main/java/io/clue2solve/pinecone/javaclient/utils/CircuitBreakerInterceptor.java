@@ -0,0 +1,83 @@
+package io.clue2solve.pinecone.javaclient.utils;
+
+import okhttp3.Interceptor;
+import okhttp3.Response;
+
+import java.io.IOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Interceptor that keeps a {@link CircuitBreaker} per host and fails requests fast with a
+ * {@link CallNotPermittedException} while the breaker of their host is open. Since every Pinecone index has its own
+ * host, a degraded index is isolated without affecting the others.
+ * <p>
+ * I/O failures and 5xx responses count as failed calls; 429 responses are throttling rather than failure and count
+ * as successes. Requests another interceptor rejected locally with a {@link RejectedCallException}, such as the
+ * {@link ConcurrencyLimitInterceptor}, were never sent and count as neither. The interceptor passes every request
+ * through until a policy is set.
+ */
+public class CircuitBreakerInterceptor implements Interceptor {
+    private volatile CircuitBreakerPolicy policy;
+    private final Map<String, CircuitBreaker> breakers = new ConcurrentHashMap<>();
+    private final LongAdder rejected = new LongAdder();
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        CircuitBreakerPolicy current = policy;
+        if (current == null) {
+            return chain.proceed(chain.request());
+        }
+        String host = chain.request().url().host();
+        CircuitBreaker breaker = breakers.computeIfAbsent(host, h -> new CircuitBreaker(h, current));
+        long permit = breaker.tryAcquire();
+        if (permit == CircuitBreaker.NOT_PERMITTED) {
+            rejected.increment();
+            throw new CallNotPermittedException("Circuit breaker is " + breaker.getState() + " for host " + host);
+        }
+
+        long start = System.nanoTime();
+        Response response;
+        try {
+            response = chain.proceed(chain.request());
+        } catch (IOException e) {
+            if (e instanceof RejectedCallException || chain.call().isCanceled()) {
+                breaker.onIgnored(permit);
+            } else {
+                breaker.onResult(permit, false, System.nanoTime() - start);
+            }
+            throw e;
+        } catch (RuntimeException e) {
+            breaker.onIgnored(permit);
+            throw e;
+        }
+        breaker.onResult(permit, response.code() < 500, System.nanoTime() - start);
+        return response;
+    }
+
+    /**
+     * Sets the policy; the breakers of every host start over closed.
+     *
+     * @param policy Policy to be used, or null to disable the breakers.
+     */
+    public void setPolicy(CircuitBreakerPolicy policy) {
+        this.policy = policy;
+        breakers.clear();
+    }
+
+    /**
+     * @param host Host name.
+     * @return the breaker of the host, or null if no request was made to it under the current policy.
+     */
+    public CircuitBreaker getCircuitBreaker(String host) {
+        return breakers.get(host);
+    }
+
+    /**
+     * @return number of requests rejected because the breaker of their host was open.
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+}
@@ -0,0 +1,62 @@
+package io.clue2solve.pinecone.javaclient.utils;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Settings of the circuit breakers kept per host by the {@link CircuitBreakerInterceptor}.
+ * A breaker opens when, over the last {@code windowSize} calls and with at least {@code minimumCalls} of them,
+ * the rate of failed calls reaches {@code failureRateThreshold} or the rate of calls slower than
+ * {@code slowCallDuration} reaches {@code slowCallRateThreshold}. After {@code openDuration} it lets
+ * {@code halfOpenCalls} trial calls through: if they all succeed it closes, otherwise it opens again.
+ */
+@Getter
+public class CircuitBreakerPolicy {
+    public static final double DEFAULT_FAILURE_RATE_THRESHOLD = 0.5;
+    public static final double DEFAULT_SLOW_CALL_RATE_THRESHOLD = 0.8;
+    public static final Duration DEFAULT_SLOW_CALL_DURATION = Duration.ofSeconds(5);
+    public static final int DEFAULT_WINDOW_SIZE = 50;
+    public static final int DEFAULT_MINIMUM_CALLS = 20;
+    public static final Duration DEFAULT_OPEN_DURATION = Duration.ofSeconds(30);
+    public static final int DEFAULT_HALF_OPEN_CALLS = 3;
+
+    private final double failureRateThreshold;
+    private final double slowCallRateThreshold;
+    private final Duration slowCallDuration;
+    private final int windowSize;
+    private final int minimumCalls;
+    private final Duration openDuration;
+    private final int halfOpenCalls;
+    private final CircuitBreaker.Listener listener;
+
+    /**
+     * Creates a policy. Settings that are not set fall back to the defaults.
+     *
+     * @param failureRateThreshold  Rate of failed calls, in (0, 1], that opens the breaker.
+     * @param slowCallRateThreshold Rate of slow calls, in (0, 1], that opens the breaker.
+     * @param slowCallDuration      Duration above which a call counts as slow.
+     * @param windowSize            Number of most recent calls the rates are computed over.
+     * @param minimumCalls          Number of calls the window needs before the breaker can open.
+     * @param openDuration          Time the breaker stays open before it lets trial calls through.
+     * @param halfOpenCalls         Number of trial calls that must succeed to close the breaker.
+     * @param listener              Optional listener notified of every state transition.
+     */
+    @Builder
+    private CircuitBreakerPolicy(double failureRateThreshold, double slowCallRateThreshold, Duration slowCallDuration,
+                                 int windowSize, int minimumCalls, Duration openDuration, int halfOpenCalls,
+                                 CircuitBreaker.Listener listener) {
+        if (failureRateThreshold < 0 || failureRateThreshold > 1 || slowCallRateThreshold < 0 || slowCallRateThreshold > 1) {
+            throw new IllegalArgumentException("Rate thresholds must be between 0 and 1");
+        }
+        this.failureRateThreshold = failureRateThreshold > 0 ? failureRateThreshold : DEFAULT_FAILURE_RATE_THRESHOLD;
+        this.slowCallRateThreshold = slowCallRateThreshold > 0 ? slowCallRateThreshold : DEFAULT_SLOW_CALL_RATE_THRESHOLD;
+        this.slowCallDuration = slowCallDuration != null ? slowCallDuration : DEFAULT_SLOW_CALL_DURATION;
+        this.windowSize = windowSize > 0 ? windowSize : DEFAULT_WINDOW_SIZE;
+        this.minimumCalls = Math.min(this.windowSize, minimumCalls > 0 ? minimumCalls : DEFAULT_MINIMUM_CALLS);
+        this.openDuration = openDuration != null ? openDuration : DEFAULT_OPEN_DURATION;
+        this.halfOpenCalls = halfOpenCalls > 0 ? halfOpenCalls : DEFAULT_HALF_OPEN_CALLS;
+        this.listener = listener;
+    }
+}
@@ -0,0 +1,34 @@
+package io.clue2solve.pinecone.javaclient.utils;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.util.zip.Deflater;
+
+/**
+ * Describes which request bodies the {@link GzipRequestInterceptor} compresses, and how hard.
+ */
+@Getter
+public class CompressionPolicy {
+    public static final long DEFAULT_MIN_BYTES = 8 * 1024;
+    public static final int DEFAULT_LEVEL = Deflater.DEFAULT_COMPRESSION;
+
+    private final long minBytes;
+    private final int level;
+
+    /**
+     * Creates a policy. Settings that are not set fall back to the defaults.
+     *
+     * @param minBytes Bodies whose (estimated) size is below this are sent uncompressed, since compressing them
+     *                 costs more CPU than it saves bandwidth.
+     * @param level    Deflate level from 1 (fastest) to 9 (smallest); zlib's default level 6 if not set.
+     */
+    @Builder
+    private CompressionPolicy(long minBytes, Integer level) {
+        if (level != null && (level < Deflater.BEST_SPEED || level > Deflater.BEST_COMPRESSION)) {
+            throw new IllegalArgumentException("level must be between 1 and 9");
+        }
+        this.minBytes = minBytes > 0 ? minBytes : DEFAULT_MIN_BYTES;
+        this.level = level != null ? level : DEFAULT_LEVEL;
+    }
+}
@@ -0,0 +1,34 @@
+package io.clue2solve.pinecone.javaclient.utils;
+
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import lombok.ToString;
+
+/**
+ * Snapshot of the work of a {@link GzipRequestInterceptor}: how many bodies were compressed or left alone, the bytes
+ * before and after compression, and the CPU time spent compressing.
+ */
+@Getter
+@AllArgsConstructor
+@ToString
+public class CompressionStats {
+    private final long compressedRequests;
+    private final long skippedRequests;
+    private final long uncompressedBytes;
+    private final long compressedBytes;
+    private final long cpuNanos;
+
+    /**
+     * @return compressed size as a fraction of the uncompressed size, or 1 if nothing was compressed.
+     */
+    public double getCompressionRatio() {
+        return uncompressedBytes == 0 ? 1 : (double) compressedBytes / uncompressedBytes;
+    }
+
+    /**
+     * @return uncompressed megabytes compressed per CPU second, to weigh against the bandwidth saved.
+     */
+    public double getMegabytesPerCpuSecond() {
+        return cpuNanos == 0 ? 0 : uncompressedBytes * 1_000d / cpuNanos;
+    }
+}
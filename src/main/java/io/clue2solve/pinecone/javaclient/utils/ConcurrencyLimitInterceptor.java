@@ -0,0 +1,162 @@
+package io.clue2solve.pinecone.javaclient.utils;
+
+import okhttp3.Interceptor;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.ForwardingSource;
+import okio.Okio;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Interceptor that limits the requests in flight to each host with an {@link AdaptiveLimiter}.
+ * Since every Pinecone index has its own host, a large index ends up with a large limit and a small one with a small
+ * limit, from the same configuration. A request that finds its host at the limit waits up to the policy's
+ * {@code maxQueueWait} and then fails with a {@link RejectedCallException}.
+ * <p>
+ * The wait blocks the thread that runs the call. For asynchronous calls that is an OkHttp dispatcher thread, and the
+ * waiting call counts against the dispatcher's {@code maxRequestsPerHost} like one on the wire, so a long
+ * {@code maxQueueWait} can hold back requests that the limiter would admit. Keep {@code maxRequestsPerHost} above
+ * the policy's {@code maxLimit}, or use a {@code maxQueueWait} of zero, which rejects at once without blocking, and
+ * queue or retry in the caller instead.
+ * <p>
+ * A request holds its slot until its response body is closed, and its latency is measured when the body has been
+ * read to the end, so that a slow transfer of a large response counts as much as a slow first byte.
+ * <p>
+ * The interceptor passes every request through until a policy is set.
+ */
+public class ConcurrencyLimitInterceptor implements Interceptor {
+    private volatile ConcurrencyLimitPolicy policy;
+    private final Map<String, AdaptiveLimiter> limiters = new ConcurrentHashMap<>();
+    private final LongAdder rejected = new LongAdder();
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        ConcurrencyLimitPolicy current = policy;
+        if (current == null) {
+            return chain.proceed(chain.request());
+        }
+        String host = chain.request().url().host();
+        AdaptiveLimiter limiter = limiters.computeIfAbsent(host, h -> new AdaptiveLimiter(current));
+        try {
+            if (!limiter.acquire(current.getMaxQueueWait().toNanos())) {
+                rejected.increment();
+                throw new RejectedCallException("Concurrency limit of " + limiter.getLimit() + " reached for host " + host);
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for the concurrency limit of host " + host);
+        }
+
+        long start = System.nanoTime();
+        Response response;
+        try {
+            response = chain.proceed(chain.request());
+        } catch (IOException e) {
+            // a call an inner interceptor rejected, e.g. an open circuit breaker, tells nothing about the host's load
+            if (e instanceof RejectedCallException || chain.call().isCanceled()) {
+                limiter.onIgnored();
+            } else {
+                limiter.onDropped();
+            }
+            throw e;
+        } catch (RuntimeException e) {
+            limiter.onIgnored();
+            throw e;
+        }
+        if (response.code() == 429 || response.code() >= 500) {
+            limiter.onDropped();
+            return response;
+        }
+        ResponseBody body = response.body();
+        if (body == null) {
+            limiter.onSuccess(System.nanoTime() - start);
+            return response;
+        }
+        ReleasingSource source = new ReleasingSource(body, limiter, start);
+        return response.newBuilder()
+                .body(ResponseBody.create(Okio.buffer(source), body.contentType(), body.contentLength()))
+                .build();
+    }
+
+    /**
+     * Sets the policy; the limits of every host start over from its initial limit.
+     *
+     * @param policy Policy to be used, or null to stop limiting.
+     */
+    public void setPolicy(ConcurrencyLimitPolicy policy) {
+        this.policy = policy;
+        limiters.clear();
+    }
+
+    /**
+     * @param host Host name.
+     * @return the limiter of the host, or null if no request was made to it under the current policy.
+     */
+    public AdaptiveLimiter getLimiter(String host) {
+        return limiters.get(host);
+    }
+
+    /**
+     * @return number of requests rejected because their host stayed at its limit.
+     */
+    public long getRejectedCount() {
+        return rejected.sum();
+    }
+
+    /**
+     * Releases the slot of a request once its body is closed: as a success measured up to the end of the body, as a
+     * drop if reading failed, and without adjusting the limit if the body was closed before its end.
+     */
+    private static final class ReleasingSource extends ForwardingSource {
+        private final AdaptiveLimiter limiter;
+        private final long start;
+        private final AtomicBoolean released = new AtomicBoolean();
+        private long rttNanos = -1;
+        private boolean failed;
+
+        ReleasingSource(ResponseBody body, AdaptiveLimiter limiter, long start) {
+            super(body.source());
+            this.limiter = limiter;
+            this.start = start;
+        }
+
+        @Override
+        public long read(Buffer sink, long byteCount) throws IOException {
+            long read;
+            try {
+                read = super.read(sink, byteCount);
+            } catch (IOException e) {
+                failed = true;
+                throw e;
+            }
+            if (read == -1 && rttNanos < 0) {
+                rttNanos = System.nanoTime() - start;
+            }
+            return read;
+        }
+
+        @Override
+        public void close() throws IOException {
+            try {
+                super.close();
+            } finally {
+                if (released.compareAndSet(false, true)) {
+                    if (failed) {
+                        limiter.onDropped();
+                    } else if (rttNanos >= 0) {
+                        limiter.onSuccess(rttNanos);
+                    } else {
+                        limiter.onIgnored();
+                    }
+                }
+            }
+        }
+    }
+}
@@ -0,0 +1,66 @@
+package io.clue2solve.pinecone.javaclient.utils;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Settings of the adaptive concurrency limit applied per host by the {@link ConcurrencyLimitInterceptor}.
+ * The limit starts at {@code initialLimit} and moves between {@code minLimit} and {@code maxLimit}: it is cut by
+ * {@code backoffRatio} on every 429, 5xx or I/O failure, and otherwise grows according to the {@link Algorithm}.
+ */
+@Getter
+public class ConcurrencyLimitPolicy {
+    public static final int DEFAULT_INITIAL_LIMIT = 20;
+    public static final int DEFAULT_MIN_LIMIT = 1;
+    public static final int DEFAULT_MAX_LIMIT = 500;
+    public static final double DEFAULT_BACKOFF_RATIO = 0.9;
+    public static final Duration DEFAULT_MAX_QUEUE_WAIT = Duration.ofMillis(500);
+
+    /**
+     * How the limit grows while requests succeed.
+     */
+    public enum Algorithm {
+        /**
+         * Additive increase, multiplicative decrease: the limit grows by one per successful request.
+         */
+        AIMD,
+        /**
+         * The limit follows the ratio of the minimum latency to the current latency, so that it stops growing as soon
+         * as requests start queueing at the server, before any request fails.
+         */
+        GRADIENT
+    }
+
+    private final Algorithm algorithm;
+    private final int initialLimit;
+    private final int minLimit;
+    private final int maxLimit;
+    private final double backoffRatio;
+    private final Duration maxQueueWait;
+
+    /**
+     * Creates a policy. Settings that are not set fall back to the defaults.
+     *
+     * @param algorithm    How the limit grows.
+     * @param initialLimit Limit of a host before any request completed.
+     * @param minLimit     Lower bound of the limit.
+     * @param maxLimit     Upper bound of the limit.
+     * @param backoffRatio Factor applied to the limit on a 429, a 5xx or an I/O failure.
+     * @param maxQueueWait Time a request waits for the limit before it is rejected; zero rejects at once.
+     */
+    @Builder
+    private ConcurrencyLimitPolicy(Algorithm algorithm, int initialLimit, int minLimit, int maxLimit,
+                                   double backoffRatio, Duration maxQueueWait) {
+        if (backoffRatio < 0 || backoffRatio >= 1) {
+            throw new IllegalArgumentException("backoffRatio must be between 0 and 1");
+        }
+        this.algorithm = algorithm != null ? algorithm : Algorithm.GRADIENT;
+        this.minLimit = minLimit > 0 ? minLimit : DEFAULT_MIN_LIMIT;
+        this.maxLimit = Math.max(this.minLimit, maxLimit > 0 ? maxLimit : DEFAULT_MAX_LIMIT);
+        this.initialLimit = Math.max(this.minLimit, Math.min(this.maxLimit, initialLimit > 0 ? initialLimit : DEFAULT_INITIAL_LIMIT));
+        this.backoffRatio = backoffRatio > 0 ? backoffRatio : DEFAULT_BACKOFF_RATIO;
+        this.maxQueueWait = maxQueueWait != null ? maxQueueWait : DEFAULT_MAX_QUEUE_WAIT;
+    }
+}
@@ -0,0 +1,45 @@
+package io.clue2solve.pinecone.javaclient.utils;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+
+import java.io.IOException;
+
+/**
+ * JSON encoding of float32 vector components. Each value is written with {@link JsonGenerator#writeNumber(float)},
+ * straight into the generator's buffer. With {@link StreamWriteFeature#USE_FAST_DOUBLE_WRITER} enabled, as on the
+ * factory of {@link JsonRequestBody}, Jackson formats it with its Schubfach implementation, which finds the shortest
+ * decimal that parses back to the same float ({@link Float#toString(float)} only guarantees that from Java 19 on).
+ * <p>
+ * JSON has no representation of NaN or infinity, so vectors with such components are rejected when they are encoded
+ * instead of being sent as strings the server would refuse.
+ */
+public final class FloatFormat {
+    /**
+     * Maximum length of a formatted value, e.g. {@code -1.17549435E-38}.
+     */
+    public static final int MAX_LENGTH = 15;
+
+    private FloatFormat() {
+    }
+
+    /**
+     * Writes the values as a JSON array of numbers.
+     *
+     * @param generator Generator to write to.
+     * @param values    Values to write.
+     * @throws IllegalArgumentException if a value is NaN or infinite.
+     * @throws IOException              if the underlying output fails.
+     */
+    public static void writeArray(JsonGenerator generator, float[] values) throws IOException {
+        generator.writeStartArray(values, values.length);
+        for (int i = 0; i < values.length; i++) {
+            if (!Float.isFinite(values[i])) {
+                throw new IllegalArgumentException("Vector component " + i + " is " + values[i]
+                        + ", which cannot be encoded as JSON");
+            }
+            generator.writeNumber(values[i]);
+        }
+        generator.writeEndArray();
+    }
+}
@@ -0,0 +1,168 @@
+package io.clue2solve.pinecone.javaclient.utils;
+
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.Okio;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Interceptor that sends request bodies gzip-compressed, with {@code Content-Encoding: gzip}, when they are at least
+ * the policy's {@code minBytes}. The body is compressed while it is streamed to the connection, so it is never held
+ * in memory in either form; its size is taken from its content length, or for a {@link JsonRequestBody} from the
+ * estimate of its model. Bodies of unknown size are sent as they are.
+ * <p>
+ * The interceptor passes every request through until a policy is set. It should be the innermost interceptor, so
+ * that the others (logging in particular) see the uncompressed body.
+ */
+public class GzipRequestInterceptor implements Interceptor {
+    private static final ThreadMXBean THREADS = ManagementFactory.getThreadMXBean();
+
+    private volatile CompressionPolicy policy;
+    private final LongAdder compressed = new LongAdder();
+    private final LongAdder skipped = new LongAdder();
+    private final LongAdder uncompressedBytes = new LongAdder();
+    private final LongAdder compressedBytes = new LongAdder();
+    private final LongAdder cpuNanos = new LongAdder();
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        CompressionPolicy current = policy;
+        RequestBody body = request.body();
+        if (current == null || body == null || request.header("Content-Encoding") != null) {
+            return chain.proceed(request);
+        }
+        long size = body.contentLength();
+        if (size < 0 && body instanceof JsonRequestBody) {
+            size = ((JsonRequestBody) body).estimatedLength();
+        }
+        if (size < current.getMinBytes()) {
+            skipped.increment();
+            return chain.proceed(request);
+        }
+        compressed.increment();
+        return chain.proceed(request.newBuilder()
+                .header("Content-Encoding", "gzip")
+                .method(request.method(), new GzipRequestBody(body, current.getLevel()))
+                .build());
+    }
+
+    /**
+     * Sets the policy.
+     *
+     * @param policy Policy to be used, or null to stop compressing.
+     */
+    public void setPolicy(CompressionPolicy policy) {
+        this.policy = policy;
+    }
+
+    /**
+     * @return the compression work done so far. A retried request counts once, but its bytes once per attempt.
+     */
+    public CompressionStats getStats() {
+        return new CompressionStats(compressed.sum(), skipped.sum(), uncompressedBytes.sum(), compressedBytes.sum(),
+                cpuNanos.sum());
+    }
+
+    private static long cpuTime() {
+        return THREADS.isCurrentThreadCpuTimeSupported() ? THREADS.getCurrentThreadCpuTime() : System.nanoTime();
+    }
+
+    /**
+     * Compresses the delegate body into a small in-memory buffer that is moved to the connection after every write,
+     * so that the CPU time measured is the compression's alone and not the time spent waiting on the socket.
+     */
+    private final class GzipRequestBody extends RequestBody {
+        private final RequestBody delegate;
+        private final int level;
+
+        private GzipRequestBody(RequestBody delegate, int level) {
+            this.delegate = delegate;
+            this.level = level;
+        }
+
+        @Override
+        public MediaType contentType() {
+            return delegate.contentType();
+        }
+
+        @Override
+        public long contentLength() {
+            return -1;
+        }
+
+        @Override
+        public void writeTo(@NotNull BufferedSink sink) throws IOException {
+            Buffer gzipped = new Buffer();
+            LeveledGzipOutputStream gzip = new LeveledGzipOutputStream(gzipped.outputStream(), level);
+            OutputStream compressing = new OutputStream() {
+                @Override
+                public void write(int b) throws IOException {
+                    write(new byte[]{(byte) b}, 0, 1);
+                }
+
+                @Override
+                public void write(byte[] bytes, int offset, int length) throws IOException {
+                    long start = cpuTime();
+                    gzip.write(bytes, offset, length);
+                    cpuNanos.add(cpuTime() - start);
+                    uncompressedBytes.add(length);
+                    drain();
+                }
+
+                @Override
+                public void close() throws IOException {
+                    long start = cpuTime();
+                    gzip.finish();
+                    cpuNanos.add(cpuTime() - start);
+                    drain();
+                }
+
+                private void drain() throws IOException {
+                    long size = gzipped.size();
+                    if (size > 0) {
+                        compressedBytes.add(size);
+                        sink.write(gzipped, size);
+                    }
+                }
+            };
+            try {
+                // not closed on failure, which would finish the gzip stream and send a truncated body as a valid one
+                BufferedSink uncompressed = Okio.buffer(Okio.sink(compressing));
+                delegate.writeTo(uncompressed);
+                uncompressed.close();
+            } finally {
+                gzip.end();
+            }
+        }
+    }
+
+    /**
+     * Gzip stream at a given compression level whose native deflater can be released without finishing the stream.
+     */
+    private static final class LeveledGzipOutputStream extends GZIPOutputStream {
+        LeveledGzipOutputStream(OutputStream out, int level) throws IOException {
+            super(out, 8192);
+            def.setLevel(level);
+        }
+
+        /**
+         * Releases the deflater's native memory; the stream cannot be written afterwards.
+         */
+        void end() {
+            def.end();
+        }
+    }
+}
@@ -0,0 +1,57 @@
+package io.clue2solve.pinecone.javaclient.utils;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+
+/**
+ * Describes when a query is hedged: once it has been outstanding for longer than the given percentile of the
+ * recent query latencies of its index, a duplicate is sent and the first response wins.
+ * Hedges are limited to {@code maxExtraLoad} of the recent queries plus one per second, so that quiet indexes can
+ * still hedge, and no query is hedged before the index has {@code minSamples} latencies to derive the delay from.
+ * A {@code maxExtraLoad} of zero turns hedging off.
+ */
+@Getter
+public class HedgingPolicy {
+    public static final double DEFAULT_PERCENTILE = 95;
+    public static final Duration DEFAULT_MIN_DELAY = Duration.ofMillis(5);
+    public static final double DEFAULT_MAX_EXTRA_LOAD = 0.05;
+    public static final int DEFAULT_MIN_SAMPLES = 100;
+
+    private final double percentile;
+    private final Duration minDelay;
+    private final double maxExtraLoad;
+    private final int minSamples;
+
+    /**
+     * Creates a policy. Settings that are not set fall back to the defaults.
+     *
+     * @param percentile   Percentile of the index's query latencies after which a query is hedged.
+     * @param minDelay     Lower bound of the hedging delay.
+     * @param maxExtraLoad Maximum number of hedges per query, for example 0.05 for at most 5% extra queries, or 0 for
+     *                     no hedges.
+     * @param minSamples   Number of latencies an index needs before its queries are hedged.
+     */
+    @Builder
+    private HedgingPolicy(double percentile, Duration minDelay, Double maxExtraLoad, int minSamples) {
+        if (percentile < 0 || percentile > 100 || (maxExtraLoad != null && maxExtraLoad < 0)) {
+            throw new IllegalArgumentException("percentile must be between 0 and 100 and maxExtraLoad not negative");
+        }
+        this.percentile = percentile > 0 ? percentile : DEFAULT_PERCENTILE;
+        this.minDelay = minDelay != null ? minDelay : DEFAULT_MIN_DELAY;
+        this.maxExtraLoad = maxExtraLoad != null ? maxExtraLoad : DEFAULT_MAX_EXTRA_LOAD;
+        this.minSamples = minSamples > 0 ? minSamples : DEFAULT_MIN_SAMPLES;
+    }
+
+    /**
+     * @param histogram Recent query latencies of the index.
+     * @return the delay after which a query is hedged in nanoseconds, or -1 if it should not be hedged.
+     */
+    public long hedgeDelayNanos(LatencyHistogram histogram) {
+        if (maxExtraLoad == 0 || histogram.getCount() < minSamples) {
+            return -1;
+        }
+        return Math.max(minDelay.toNanos(), histogram.percentileNanos(percentile));
+    }
+}
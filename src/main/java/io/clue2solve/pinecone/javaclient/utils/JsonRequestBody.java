@@ -0,0 +1,67 @@
+package io.clue2solve.pinecone.javaclient.utils;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import okhttp3.MediaType;
+import okhttp3.RequestBody;
+import okio.BufferedSink;
+import org.jetbrains.annotations.NotNull;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.io.UncheckedIOException;
+
+/**
+ * Request body that streams a {@link JsonWritable} into OkHttp's sink while the request is being sent.
+ * The body is encoded again on every write, so it can be replayed (e.g. on retries) without ever being held in memory.
+ */
+public class JsonRequestBody extends RequestBody {
+    public static final MediaType JSON = MediaType.get("application/json");
+
+    private static final JsonFactory JSON_FACTORY = JsonFactory.builder()
+            .disable(StreamWriteFeature.AUTO_CLOSE_TARGET)
+            .enable(StreamWriteFeature.USE_FAST_DOUBLE_WRITER)
+            .build();
+
+    private final JsonWritable writable;
+
+    public JsonRequestBody(@NotNull JsonWritable writable) {
+        this.writable = writable;
+    }
+
+    @Override
+    public MediaType contentType() {
+        return JSON;
+    }
+
+    @Override
+    public void writeTo(@NotNull BufferedSink sink) throws IOException {
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(sink.outputStream())) {
+            writable.writeJson(generator);
+        }
+    }
+
+    /**
+     * @return the estimated size of the body, or -1 if its model does not provide one.
+     */
+    public long estimatedLength() {
+        return writable.sizeHint();
+    }
+
+    /**
+     * Encodes the object into a String, for logging and {@code toString()} implementations.
+     *
+     * @param writable Object to encode.
+     * @return JSON representation of the object.
+     */
+    public static String toJsonString(JsonWritable writable) {
+        StringWriter writer = new StringWriter();
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(writer)) {
+            writable.writeJson(generator);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return writer.toString();
+    }
+}
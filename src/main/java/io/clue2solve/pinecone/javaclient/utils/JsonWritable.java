@@ -0,0 +1,30 @@
+package io.clue2solve.pinecone.javaclient.utils;
+
+import com.fasterxml.jackson.core.JsonGenerator;
+
+import java.io.IOException;
+
+/**
+ * Implemented by request models that write their JSON representation straight to a {@link JsonGenerator},
+ * so that a request body never has to be built as a tree or a String first.
+ */
+@FunctionalInterface
+public interface JsonWritable {
+
+    /**
+     * Writes this object as one complete JSON value.
+     *
+     * @param generator Generator to write to.
+     * @throws IOException if the underlying output fails.
+     */
+    void writeJson(JsonGenerator generator) throws IOException;
+
+    /**
+     * Estimates the size of the JSON representation without writing it.
+     *
+     * @return Estimated size in bytes, or -1 if unknown.
+     */
+    default long sizeHint() {
+        return -1;
+    }
+}
@@ -0,0 +1,76 @@
+package io.clue2solve.pinecone.javaclient.utils;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Histogram of request latencies with logarithmic buckets, each about 10% wider than the previous one,
+ * covering 1 microsecond to about 100 seconds.
+ * <p>
+ * The histogram favours recent traffic: once it holds {@code 2 * DECAY_THRESHOLD} samples, every bucket is halved,
+ * so percentiles follow a change in latency after a few thousand requests.
+ */
+public class LatencyHistogram {
+    private static final double GROWTH = 1.1;
+    private static final int BUCKETS = 194;
+    private static final long DECAY_THRESHOLD = 5_000;
+
+    private final long[] counts = new long[BUCKETS];
+    private long count;
+
+    /**
+     * Records a latency.
+     *
+     * @param nanos Latency in nanoseconds.
+     */
+    public synchronized void record(long nanos) {
+        counts[bucket(nanos)]++;
+        if (++count >= 2 * DECAY_THRESHOLD) {
+            count = 0;
+            for (int i = 0; i < BUCKETS; i++) {
+                counts[i] >>= 1;
+                count += counts[i];
+            }
+        }
+    }
+
+    /**
+     * @return number of samples currently weighing in the histogram.
+     */
+    public synchronized long getCount() {
+        return count;
+    }
+
+    /**
+     * Returns the latency below which the given percentage of samples fall, rounded up to the bucket bound.
+     *
+     * @param percentile Percentile between 0 and 100.
+     * @return Latency in nanoseconds, or -1 if the histogram is empty.
+     */
+    public synchronized long percentileNanos(double percentile) {
+        if (count == 0) {
+            return -1;
+        }
+        long rank = (long) Math.ceil(count * Math.min(100, Math.max(0, percentile)) / 100);
+        long seen = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            seen += counts[i];
+            if (seen >= rank && seen > 0) {
+                return upperBoundNanos(i);
+            }
+        }
+        return upperBoundNanos(BUCKETS - 1);
+    }
+
+    private static int bucket(long nanos) {
+        long micros = TimeUnit.NANOSECONDS.toMicros(nanos);
+        if (micros <= 1) {
+            return 0;
+        }
+        int bucket = (int) Math.ceil(Math.log(micros) / Math.log(GROWTH));
+        return Math.min(bucket, BUCKETS - 1);
+    }
+
+    private static long upperBoundNanos(int bucket) {
+        return (long) (Math.pow(GROWTH, bucket) * 1_000);
+    }
+}
@@ -1,12 +1,22 @@
 package io.clue2solve.pinecone.javaclient.utils;
 
+import io.clue2solve.pinecone.javaclient.transport.HttpTransport;
 import lombok.NoArgsConstructor;
 import okhttp3.Call;
+import okhttp3.Callback;
 import okhttp3.OkHttpClient;
 import okhttp3.Request;
+import okhttp3.Response;
+import org.jetbrains.annotations.NotNull;
 
+import java.io.IOException;
+import java.util.concurrent.CompletableFuture;
+
+/**
+ * {@link HttpTransport} on OkHttp. The client's interceptors are those of the wrapped {@link OkHttpClient}.
+ */
 @NoArgsConstructor
-public class OkHttpClientWrapper {
+public class OkHttpClientWrapper implements HttpTransport {
     private OkHttpClient client;
 
     public OkHttpClientWrapper(OkHttpClient client) {
@@ -19,4 +29,41 @@ public class OkHttpClientWrapper {
         }
         return client.newCall(request);
     }
-}
\ No newline at end of file
+
+    @Override
+    public Response execute(Request request) throws IOException {
+        return newCall(request).execute();
+    }
+
+    /**
+     * Enqueues the request on OkHttp's dispatcher instead of executing it on the calling thread.
+     * Cancelling the returned future cancels the underlying call.
+     *
+     * @param request Request to be executed.
+     * @return Future completed with the (unread) response, which the caller must close.
+     */
+    @Override
+    public CompletableFuture<Response> enqueue(Request request) {
+        Call call = newCall(request);
+        CompletableFuture<Response> future = new CompletableFuture<>();
+        future.whenComplete((response, throwable) -> {
+            if (future.isCancelled()) {
+                call.cancel();
+            }
+        });
+        call.enqueue(new Callback() {
+            @Override
+            public void onFailure(@NotNull Call call, @NotNull IOException e) {
+                future.completeExceptionally(e);
+            }
+
+            @Override
+            public void onResponse(@NotNull Call call, @NotNull Response response) {
+                if (!future.complete(response)) {
+                    response.close();
+                }
+            }
+        });
+        return future;
+    }
+}
@@ -24,12 +24,12 @@ public class OkHttpLoggingInterceptor implements Interceptor {
             .build();
         logger.info("Sending request: {}\n{}", request.url(),  headers);
 
-        String requestBody = null;
-        if (request.body() != null) {
+        // Buffering the body defeats streaming request bodies, so it is only done when it will be logged
+        if (request.body() != null && logger.isDebugEnabled()) {
             Buffer requestBuffer = new Buffer();
             request.body().writeTo(requestBuffer);
-            requestBody = requestBuffer.readUtf8();
-            logger.info("Request Body:\n------\n{}\n------",requestBody != null ? JsonUtils.toPrettyFormat(requestBody) : null);
+            String requestBody = requestBuffer.readUtf8();
+            logger.debug("Request Body:\n------\n{}\n------", JsonUtils.toPrettyFormat(requestBody));
         }
 
         Response response = chain.proceed(request);
@@ -40,10 +40,14 @@ public class OkHttpLoggingInterceptor implements Interceptor {
             .build();
         logger.info("Received response for {} in {}ms\n{}", response.request().url(), (t2 - t1)/1000000, responseHeaders);
 
+        // Reading the body here would defeat the streaming response parsers, so it is only done when it will be logged
+        if (response.body() == null || !logger.isDebugEnabled()) {
+            return response;
+        }
         MediaType contentType = response.body().contentType();
         String content = response.body().string(); // Only read once
 
-        logger.info("Response body:\n------\n{}\n------", JsonUtils.toPrettyFormat(content));
+        logger.debug("Response body:\n------\n{}\n------", JsonUtils.toPrettyFormat(content));
 
         ResponseBody wrappedBody = ResponseBody.create(contentType, content);
         //noinspection KotlinInternalInJava
@@ -0,0 +1,13 @@
+package io.clue2solve.pinecone.javaclient.utils;
+
+import java.io.IOException;
+
+/**
+ * Thrown when the client refuses to send a request in order to protect an overloaded or failing server.
+ * The request was not sent, and retrying it immediately is not useful.
+ */
+public class RejectedCallException extends IOException {
+    public RejectedCallException(String message) {
+        super(message);
+    }
+}
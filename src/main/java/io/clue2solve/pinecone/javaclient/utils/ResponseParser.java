@@ -0,0 +1,332 @@
+package io.clue2solve.pinecone.javaclient.utils;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.JsonParser;
+import com.fasterxml.jackson.core.JsonToken;
+import com.fasterxml.jackson.core.StreamReadFeature;
+import io.clue2solve.pinecone.javaclient.model.FetchResponse;
+import io.clue2solve.pinecone.javaclient.model.LazyQueryResponse;
+import io.clue2solve.pinecone.javaclient.model.QueryResponse;
+
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.StringWriter;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Token-level parsers for the query and fetch responses.
+ * The responses are decoded while they are read from the network, straight into the result models:
+ * no String copy of the body and no JsonNode tree are created, and values are read as primitive floats.
+ */
+public final class ResponseParser {
+
+    private static final JsonFactory JSON_FACTORY = JsonFactory.builder()
+            .enable(StreamReadFeature.AUTO_CLOSE_SOURCE)
+            .build();
+
+    private ResponseParser() {
+    }
+
+    /**
+     * Parses the matches of a query response.
+     *
+     * @param body Response body, closed once parsed.
+     * @return List of QueryResponses, empty if the response has no matches.
+     * @throws IOException if the body cannot be read or is not valid JSON.
+     */
+    public static List<QueryResponse> parseQueryResponse(InputStream body) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            return parseQueryResponse(parser);
+        }
+    }
+
+    /**
+     * Parses the matches of a query response.
+     *
+     * @param json Response body.
+     * @return List of QueryResponses, empty if the response has no matches.
+     * @throws IOException if the body is not valid JSON.
+     */
+    public static List<QueryResponse> parseQueryResponse(String json) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(json)) {
+            return parseQueryResponse(parser);
+        }
+    }
+
+    /**
+     * Parses every vector of a fetch response.
+     *
+     * @param body Response body, closed once parsed.
+     * @return FetchResponses keyed by vector id, in response order.
+     * @throws IOException if the body cannot be read or is not valid JSON.
+     */
+    public static Map<String, FetchResponse> parseFetchResponse(InputStream body) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            return parseFetchResponse(parser);
+        }
+    }
+
+    /**
+     * Indexes the matches of a query response without decoding their values and metadata.
+     *
+     * @param body Complete response body, retained by the returned matches.
+     * @return List of lazily decoded matches, empty if the response has no matches.
+     * @throws IOException if the body is not valid JSON.
+     */
+    public static List<LazyQueryResponse> parseLazyQueryResponse(byte[] body) throws IOException {
+        List<LazyQueryResponse> queryResponses = new ArrayList<>();
+        try (JsonParser parser = JSON_FACTORY.createParser(body)) {
+            if (parser.nextToken() != JsonToken.START_OBJECT) {
+                return queryResponses;
+            }
+            while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                String field = parser.currentName();
+                JsonToken token = parser.nextToken();
+                if ("matches".equals(field) && token == JsonToken.START_ARRAY) {
+                    while (parser.nextToken() == JsonToken.START_OBJECT) {
+                        queryResponses.add(indexMatch(parser, body));
+                    }
+                } else {
+                    parser.skipChildren();
+                }
+            }
+        }
+        return queryResponses;
+    }
+
+    /**
+     * Decodes a JSON array of numbers located in a byte range.
+     *
+     * @param body   Buffer holding the array.
+     * @param offset Offset of the array.
+     * @param length Length of the array in bytes.
+     * @return Values of the array.
+     * @throws IOException if the range is not a valid JSON array.
+     */
+    public static float[] parseFloats(byte[] body, int offset, int length) throws IOException {
+        try (JsonParser parser = JSON_FACTORY.createParser(body, offset, length)) {
+            return readFloats(parser, parser.nextToken());
+        }
+    }
+
+    /**
+     * Wraps a response body so that reading more than {@code maxBytes} fails instead of buffering an unbounded response.
+     *
+     * @param body     Response body.
+     * @param maxBytes Maximum number of bytes that may be read.
+     * @return Size-limited stream over the body.
+     */
+    public static InputStream limit(InputStream body, long maxBytes) {
+        return new LimitedInputStream(body, maxBytes);
+    }
+
+    private static List<QueryResponse> parseQueryResponse(JsonParser parser) throws IOException {
+        List<QueryResponse> queryResponses = new ArrayList<>();
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return queryResponses;
+        }
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
+            if ("matches".equals(field) && token == JsonToken.START_ARRAY) {
+                while (parser.nextToken() == JsonToken.START_OBJECT) {
+                    queryResponses.add(parseMatch(parser));
+                }
+            } else {
+                parser.skipChildren();
+            }
+        }
+        return queryResponses;
+    }
+
+    private static QueryResponse parseMatch(JsonParser parser) throws IOException {
+        QueryResponse queryResponse = new QueryResponse();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
+            switch (field) {
+                case "id":
+                    queryResponse.setId(UUID.fromString(parser.getText()));
+                    break;
+                case "score":
+                    queryResponse.setScore(parser.getDoubleValue());
+                    break;
+                case "values":
+                    queryResponse.setValuesArray(readFloats(parser, token));
+                    break;
+                case "metadata":
+                    queryResponse.setMetadata(readRaw(parser, token));
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        return queryResponse;
+    }
+
+    private static LazyQueryResponse indexMatch(JsonParser parser, byte[] body) throws IOException {
+        UUID id = null;
+        double score = 0;
+        int valuesOffset = -1;
+        int valuesLength = 0;
+        int metadataOffset = -1;
+        int metadataLength = 0;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
+            switch (field) {
+                case "id":
+                    id = UUID.fromString(parser.getText());
+                    break;
+                case "score":
+                    score = parser.getDoubleValue();
+                    break;
+                case "values":
+                case "metadata":
+                    if (token == JsonToken.VALUE_NULL) {
+                        break;
+                    }
+                    // byte offsets are relative to the start of the array the parser was created over
+                    int start = (int) parser.currentTokenLocation().getByteOffset();
+                    parser.skipChildren();
+                    int end = (int) parser.currentLocation().getByteOffset();
+                    if ("values".equals(field)) {
+                        valuesOffset = start;
+                        valuesLength = end - start;
+                    } else {
+                        metadataOffset = start;
+                        metadataLength = end - start;
+                    }
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        return new LazyQueryResponse(id, score, body, valuesOffset, valuesLength, metadataOffset, metadataLength);
+    }
+
+    private static Map<String, FetchResponse> parseFetchResponse(JsonParser parser) throws IOException {
+        Map<String, FetchResponse> fetchResponses = new LinkedHashMap<>();
+        if (parser.nextToken() != JsonToken.START_OBJECT) {
+            return fetchResponses;
+        }
+        String namespace = null;
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
+            if ("vectors".equals(field) && token == JsonToken.START_OBJECT) {
+                while (parser.nextToken() == JsonToken.FIELD_NAME) {
+                    String id = parser.currentName();
+                    parser.nextToken();
+                    fetchResponses.put(id, parseVector(parser));
+                }
+            } else if ("namespace".equals(field) && token == JsonToken.VALUE_STRING) {
+                namespace = parser.getText();
+            } else {
+                parser.skipChildren();
+            }
+        }
+        for (FetchResponse fetchResponse : fetchResponses.values()) {
+            fetchResponse.setNameSpace(namespace);
+        }
+        return fetchResponses;
+    }
+
+    private static FetchResponse parseVector(JsonParser parser) throws IOException {
+        FetchResponse fetchResponse = new FetchResponse();
+        while (parser.nextToken() == JsonToken.FIELD_NAME) {
+            String field = parser.currentName();
+            JsonToken token = parser.nextToken();
+            switch (field) {
+                case "id":
+                    fetchResponse.setId(UUID.fromString(parser.getText()));
+                    break;
+                case "values":
+                    fetchResponse.setValuesArray(readFloats(parser, token));
+                    break;
+                case "metadata":
+                    fetchResponse.setMetadata(readRaw(parser, token));
+                    break;
+                case "sparseValues":
+                    fetchResponse.setSparseValues(readRaw(parser, token));
+                    break;
+                default:
+                    parser.skipChildren();
+            }
+        }
+        return fetchResponse;
+    }
+
+    private static float[] readFloats(JsonParser parser, JsonToken token) throws IOException {
+        if (token != JsonToken.START_ARRAY) {
+            parser.skipChildren();
+            return null;
+        }
+        float[] values = new float[64];
+        int size = 0;
+        while (parser.nextToken() != JsonToken.END_ARRAY) {
+            if (size == values.length) {
+                values = Arrays.copyOf(values, size * 2);
+            }
+            values[size++] = parser.getFloatValue();
+        }
+        return size == values.length ? values : Arrays.copyOf(values, size);
+    }
+
+    /**
+     * Copies the current value back to its JSON text, for the fields the models keep as stringified JSON.
+     */
+    private static String readRaw(JsonParser parser, JsonToken token) throws IOException {
+        if (token == JsonToken.VALUE_NULL) {
+            return null;
+        }
+        StringWriter writer = new StringWriter();
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(writer)) {
+            generator.copyCurrentStructure(parser);
+        }
+        return writer.toString();
+    }
+
+    private static final class LimitedInputStream extends FilterInputStream {
+        private final long maxBytes;
+        private long remaining;
+
+        private LimitedInputStream(InputStream in, long maxBytes) {
+            super(in);
+            this.maxBytes = maxBytes;
+            this.remaining = maxBytes;
+        }
+
+        @Override
+        public int read() throws IOException {
+            int b = super.read();
+            if (b >= 0) {
+                consume(1);
+            }
+            return b;
+        }
+
+        @Override
+        public int read(byte[] buffer, int offset, int length) throws IOException {
+            int read = super.read(buffer, offset, (int) Math.min(length, remaining + 1));
+            if (read > 0) {
+                consume(read);
+            }
+            return read;
+        }
+
+        private void consume(long bytes) throws IOException {
+            remaining -= bytes;
+            if (remaining < 0) {
+                throw new IOException("Response exceeds the maximum size of " + maxBytes + " bytes");
+            }
+        }
+    }
+}
@@ -0,0 +1,93 @@
+package io.clue2solve.pinecone.javaclient.utils;
+
+import lombok.Builder;
+
+/**
+ * Caps retries at a fraction of the requests made over the last ten seconds, plus a small fixed allowance,
+ * so that retries cannot multiply the load on a server that is already failing.
+ * <p>
+ * The window is kept as ten one-second buckets; a retry is permitted while the retries made in the window stay
+ * below {@code minRetriesPerSecond * 10 + retryRatio * requests}.
+ */
+public class RetryBudget {
+    public static final double DEFAULT_RETRY_RATIO = 0.1;
+    public static final int DEFAULT_MIN_RETRIES_PER_SECOND = 10;
+
+    private static final int BUCKETS = 10;
+    private static final long BUCKET_NANOS = 1_000_000_000L;
+
+    private final double retryRatio;
+    private final int minRetriesPerSecond;
+
+    private final long[] requests = new long[BUCKETS];
+    private final long[] retries = new long[BUCKETS];
+    private long currentBucket;
+    private long exhausted;
+
+    /**
+     * Creates a budget. Settings that are not set fall back to the defaults.
+     *
+     * @param retryRatio          Retries permitted per request in the window.
+     * @param minRetriesPerSecond Retries always permitted per second, so that low traffic can still retry.
+     */
+    @Builder
+    private RetryBudget(double retryRatio, int minRetriesPerSecond) {
+        if (retryRatio < 0 || minRetriesPerSecond < 0) {
+            throw new IllegalArgumentException("retryRatio and minRetriesPerSecond must not be negative");
+        }
+        this.retryRatio = retryRatio > 0 ? retryRatio : DEFAULT_RETRY_RATIO;
+        this.minRetriesPerSecond = minRetriesPerSecond > 0 ? minRetriesPerSecond : DEFAULT_MIN_RETRIES_PER_SECOND;
+    }
+
+    /**
+     * Records a new request, which earns {@code retryRatio} retries.
+     */
+    public synchronized void onRequest() {
+        requests[bucket()]++;
+    }
+
+    /**
+     * Takes a retry from the budget.
+     *
+     * @return true if the retry is permitted, false if the budget is exhausted.
+     */
+    public synchronized boolean tryAcquireRetry() {
+        int bucket = bucket();
+        long requestSum = 0;
+        long retrySum = 0;
+        for (int i = 0; i < BUCKETS; i++) {
+            requestSum += requests[i];
+            retrySum += retries[i];
+        }
+        if (retrySum >= (long) minRetriesPerSecond * BUCKETS + retryRatio * requestSum) {
+            exhausted++;
+            return false;
+        }
+        retries[bucket]++;
+        return true;
+    }
+
+    /**
+     * @return number of retries that were refused because the budget was exhausted.
+     */
+    public synchronized long getExhaustedCount() {
+        return exhausted;
+    }
+
+    /**
+     * Rotates the window to the current second and returns its bucket.
+     */
+    private int bucket() {
+        long now = System.nanoTime() / BUCKET_NANOS;
+        if (now != currentBucket) {
+            long expired = Math.min(now - currentBucket, BUCKETS);
+            for (long i = 1; i <= expired; i++) {
+                int index = (int) Math.floorMod(currentBucket + i, (long) BUCKETS);
+                requests[index] = 0;
+                retries[index] = 0;
+            }
+            currentBucket = now;
+        }
+        return (int) Math.floorMod(now, (long) BUCKETS);
+    }
+}
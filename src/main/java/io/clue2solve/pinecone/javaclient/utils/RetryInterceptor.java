@@ -0,0 +1,155 @@
+package io.clue2solve.pinecone.javaclient.utils;
+
+import okhttp3.Interceptor;
+import okhttp3.Request;
+import okhttp3.Response;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.time.ZonedDateTime;
+import java.time.format.DateTimeFormatter;
+import java.time.format.DateTimeParseException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Interceptor that retries failed requests according to a {@link RetryPolicy}, within a shared {@link RetryBudget}.
+ * <p>
+ * The policy of a request is taken from its {@code RetryPolicy} tag, which lets the caller choose it per operation.
+ * Untagged requests use the default policy if their method is idempotent (GET, HEAD, PUT, DELETE, OPTIONS) and are
+ * not retried otherwise. Requests the client itself rejected with a {@link RejectedCallException} are not retried.
+ * Retries wait on the calling thread, which for asynchronous calls is a dispatcher thread.
+ */
+public class RetryInterceptor implements Interceptor {
+    private static final Logger LOG = LoggerFactory.getLogger(RetryInterceptor.class);
+
+    private final RetryPolicy defaultPolicy;
+    private final RetryBudget budget;
+    private final LongAdder retries = new LongAdder();
+
+    /**
+     * Creates an interceptor with the default policy and budget.
+     */
+    public RetryInterceptor() {
+        this(RetryPolicy.DEFAULT, RetryBudget.builder().build());
+    }
+
+    /**
+     * @param defaultPolicy Policy of untagged idempotent requests.
+     * @param budget        Budget shared by every request through this interceptor.
+     */
+    public RetryInterceptor(RetryPolicy defaultPolicy, RetryBudget budget) {
+        this.defaultPolicy = defaultPolicy;
+        this.budget = budget;
+    }
+
+    @Override
+    public Response intercept(Chain chain) throws IOException {
+        Request request = chain.request();
+        RetryPolicy policy = policyOf(request);
+        budget.onRequest();
+        for (int attempt = 1; ; attempt++) {
+            Response response = null;
+            IOException failure = null;
+            try {
+                response = chain.proceed(request);
+            } catch (IOException e) {
+                failure = e;
+            }
+
+            boolean retryable = response != null
+                    ? policy.isRetryable(response.code())
+                    : policy.isRetryOnConnectionFailure() && !(failure instanceof RejectedCallException)
+                    && !chain.call().isCanceled();
+            long delayNanos = response != null ? retryAfterNanos(response) : -1;
+            if (delayNanos < 0) {
+                delayNanos = policy.backoffNanos(attempt);
+            } else if (delayNanos > policy.getMaxDelay().toNanos()) {
+                retryable = false;
+            }
+            if (!retryable || attempt >= policy.getMaxAttempts() || !budget.tryAcquireRetry()) {
+                if (failure != null) {
+                    throw failure;
+                }
+                return response;
+            }
+
+            LOG.warn("Retrying {} in {}ms after attempt {} failed with {}", request.url(),
+                    TimeUnit.NANOSECONDS.toMillis(delayNanos), attempt,
+                    response != null ? "HTTP " + response.code() : failure.toString());
+            if (response != null) {
+                response.close();
+            }
+            retries.increment();
+            sleep(delayNanos);
+            if (chain.call().isCanceled()) {
+                throw new IOException("Canceled");
+            }
+        }
+    }
+
+    /**
+     * @return number of retries made.
+     */
+    public long getRetryCount() {
+        return retries.sum();
+    }
+
+    /**
+     * @return the budget shared by the requests of this interceptor.
+     */
+    public RetryBudget getBudget() {
+        return budget;
+    }
+
+    private RetryPolicy policyOf(Request request) {
+        RetryPolicy tagged = request.tag(RetryPolicy.class);
+        if (tagged != null) {
+            return tagged;
+        }
+        switch (request.method()) {
+            case "GET":
+            case "HEAD":
+            case "PUT":
+            case "DELETE":
+            case "OPTIONS":
+                return defaultPolicy;
+            default:
+                return RetryPolicy.NONE;
+        }
+    }
+
+    /**
+     * Parses a {@code Retry-After} header given either in seconds or as an HTTP date.
+     *
+     * @return the requested delay in nanoseconds, or -1 if the response has no valid header.
+     */
+    static long retryAfterNanos(Response response) {
+        String retryAfter = response.header("Retry-After");
+        if (retryAfter == null) {
+            return -1;
+        }
+        try {
+            return TimeUnit.SECONDS.toNanos(Math.max(0, Long.parseLong(retryAfter.trim())));
+        } catch (NumberFormatException e) {
+            try {
+                ZonedDateTime date = ZonedDateTime.parse(retryAfter.trim(), DateTimeFormatter.RFC_1123_DATE_TIME);
+                return Math.max(0, Duration.between(ZonedDateTime.now(date.getZone()), date).toNanos());
+            } catch (DateTimeParseException ignored) {
+                return -1;
+            }
+        }
+    }
+
+    private static void sleep(long nanos) throws InterruptedIOException {
+        try {
+            TimeUnit.NANOSECONDS.sleep(nanos);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting to retry");
+        }
+    }
+}
@@ -0,0 +1,80 @@
+package io.clue2solve.pinecone.javaclient.utils;
+
+import lombok.Builder;
+import lombok.Getter;
+
+import java.time.Duration;
+import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * Describes when and how often a failed request is retried by the {@link RetryInterceptor}.
+ * Delays grow exponentially from {@code baseDelay} up to {@code maxDelay} and are fully jittered, so that clients
+ * failing together do not retry together. A {@code Retry-After} header overrides the computed delay; when it asks
+ * for more than {@code maxDelay}, the response is returned instead of being retried.
+ */
+@Getter
+public class RetryPolicy {
+    public static final int DEFAULT_MAX_ATTEMPTS = 3;
+    public static final Duration DEFAULT_BASE_DELAY = Duration.ofMillis(100);
+    public static final Duration DEFAULT_MAX_DELAY = Duration.ofSeconds(5);
+    public static final Set<Integer> DEFAULT_RETRY_STATUS_CODES = Set.of(429, 500, 502, 503, 504);
+
+    /**
+     * Policy with the default settings.
+     */
+    public static final RetryPolicy DEFAULT = RetryPolicy.builder().build();
+
+    /**
+     * Policy that never retries.
+     */
+    public static final RetryPolicy NONE = RetryPolicy.builder().maxAttempts(1).build();
+
+    private final int maxAttempts;
+    private final Duration baseDelay;
+    private final Duration maxDelay;
+    private final Set<Integer> retryStatusCodes;
+    private final boolean retryOnConnectionFailure;
+
+    /**
+     * Creates a policy. Settings that are not set fall back to the defaults; connection failures are retried
+     * unless {@code retryOnConnectionFailure} is explicitly set to false.
+     *
+     * @param maxAttempts              Maximum number of attempts, including the first one.
+     * @param baseDelay                Upper bound of the delay before the first retry.
+     * @param maxDelay                 Upper bound of any delay.
+     * @param retryStatusCodes         HTTP status codes that are retried.
+     * @param retryOnConnectionFailure Whether I/O failures such as connection resets and timeouts are retried.
+     */
+    @Builder
+    private RetryPolicy(int maxAttempts, Duration baseDelay, Duration maxDelay, Set<Integer> retryStatusCodes,
+                        Boolean retryOnConnectionFailure) {
+        this.maxAttempts = maxAttempts > 0 ? maxAttempts : DEFAULT_MAX_ATTEMPTS;
+        this.baseDelay = baseDelay != null ? baseDelay : DEFAULT_BASE_DELAY;
+        this.maxDelay = maxDelay != null ? maxDelay : DEFAULT_MAX_DELAY;
+        this.retryStatusCodes = retryStatusCodes != null ? Set.copyOf(retryStatusCodes) : DEFAULT_RETRY_STATUS_CODES;
+        this.retryOnConnectionFailure = retryOnConnectionFailure == null || retryOnConnectionFailure;
+    }
+
+    /**
+     * @param statusCode HTTP status code of a response.
+     * @return true if a response with this status code is retried.
+     */
+    public boolean isRetryable(int statusCode) {
+        return retryStatusCodes.contains(statusCode);
+    }
+
+    /**
+     * Computes the delay before a retry with full jitter: a random delay between zero and the exponential backoff.
+     *
+     * @param attempt Number of the attempt that failed, starting at 1.
+     * @return Delay in nanoseconds.
+     */
+    public long backoffNanos(int attempt) {
+        long ceiling = baseDelay.toNanos() << Math.min(attempt - 1, 30);
+        if (ceiling <= 0 || ceiling > maxDelay.toNanos()) {
+            ceiling = maxDelay.toNanos();
+        }
+        return ceiling <= 0 ? 0 : ThreadLocalRandom.current().nextLong(ceiling + 1);
+    }
+}
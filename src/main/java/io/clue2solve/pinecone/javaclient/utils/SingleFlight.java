@@ -0,0 +1,184 @@
+package io.clue2solve.pinecone.javaclient.utils;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+
+/**
+ * Coalesces identical concurrent calls: while a call for a key is in flight, further calls for the same key
+ * attach to its pending result instead of being executed again. Once the call completes, the next call for the
+ * key is executed normally, so results are shared but never cached.
+ * <p>
+ * Every caller gets its own future. Cancelling it detaches only that caller; the shared call is cancelled once
+ * every attached caller has cancelled.
+ *
+ * @param <K> Type of the request fingerprint; must implement equals and hashCode.
+ * @param <V> Type of the result.
+ */
+public class SingleFlight<K, V> {
+    private final ConcurrentHashMap<K, Flight> flights = new ConcurrentHashMap<>();
+    private final LongAdder executed = new LongAdder();
+    private final LongAdder coalesced = new LongAdder();
+
+    /**
+     * A blocking call that may fail with an IOException.
+     */
+    @FunctionalInterface
+    public interface Call<V> {
+        V call() throws IOException;
+    }
+
+    /**
+     * Executes the call, or attaches to the identical call already in flight.
+     *
+     * @param key  Fingerprint of the request.
+     * @param call Call that starts the request and returns its pending result.
+     * @return Future completed with the shared result.
+     */
+    public CompletableFuture<V> executeAsync(K key, Supplier<CompletableFuture<V>> call) {
+        while (true) {
+            Flight created = new Flight(key);
+            Flight existing = flights.putIfAbsent(key, created);
+            if (existing != null) {
+                CompletableFuture<V> follower = existing.subscribe();
+                if (follower != null) {
+                    coalesced.increment();
+                    return follower;
+                }
+                // every caller of the existing flight cancelled it, start over
+                flights.remove(key, existing);
+                continue;
+            }
+            executed.increment();
+            CompletableFuture<V> follower = created.subscribe();
+            CompletableFuture<V> source;
+            try {
+                source = call.get();
+            } catch (RuntimeException e) {
+                source = CompletableFuture.failedFuture(e);
+            }
+            created.start(source);
+            return follower;
+        }
+    }
+
+    /**
+     * Executes the call on the calling thread, or waits for the identical call already in flight.
+     *
+     * @param key  Fingerprint of the request.
+     * @param call Blocking call that performs the request.
+     * @return The shared result.
+     * @throws IOException if the call failed or the wait was interrupted.
+     */
+    public V execute(K key, Call<V> call) throws IOException {
+        CompletableFuture<V> future = executeAsync(key, () -> {
+            try {
+                return CompletableFuture.completedFuture(call.call());
+            } catch (IOException e) {
+                return CompletableFuture.failedFuture(e);
+            }
+        });
+        try {
+            return future.get();
+        } catch (InterruptedException e) {
+            future.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new InterruptedIOException("Interrupted while waiting for a coalesced call");
+        } catch (ExecutionException e) {
+            Throwable cause = e.getCause();
+            if (cause instanceof IOException) {
+                throw (IOException) cause;
+            }
+            if (cause instanceof RuntimeException) {
+                throw (RuntimeException) cause;
+            }
+            throw new IOException(cause);
+        }
+    }
+
+    /**
+     * @return number of calls that were actually executed.
+     */
+    public long getExecutedCount() {
+        return executed.sum();
+    }
+
+    /**
+     * @return number of calls that attached to a call already in flight instead of being executed.
+     */
+    public long getCoalescedCount() {
+        return coalesced.sum();
+    }
+
+    private final class Flight {
+        private final K key;
+        private final CompletableFuture<V> shared = new CompletableFuture<>();
+        private CompletableFuture<V> source;
+        private int subscribers;
+        private boolean abandoned;
+
+        private Flight(K key) {
+            this.key = key;
+        }
+
+        synchronized CompletableFuture<V> subscribe() {
+            if (abandoned) {
+                return null;
+            }
+            subscribers++;
+            CompletableFuture<V> follower = new CompletableFuture<>();
+            shared.whenComplete((value, throwable) -> {
+                if (throwable != null) {
+                    follower.completeExceptionally(unwrap(throwable));
+                } else {
+                    follower.complete(value);
+                }
+            });
+            follower.whenComplete((value, throwable) -> {
+                if (follower.isCancelled()) {
+                    unsubscribe();
+                }
+            });
+            return follower;
+        }
+
+        synchronized void start(CompletableFuture<V> source) {
+            this.source = source;
+            if (abandoned) {
+                source.cancel(true);
+            }
+            source.whenComplete((value, throwable) -> {
+                flights.remove(key, this);
+                if (throwable != null) {
+                    shared.completeExceptionally(unwrap(throwable));
+                } else {
+                    shared.complete(value);
+                }
+            });
+        }
+
+        private synchronized void unsubscribe() {
+            if (--subscribers > 0 || shared.isDone()) {
+                return;
+            }
+            abandoned = true;
+            flights.remove(key, this);
+            if (source != null) {
+                source.cancel(true);
+            }
+            shared.cancel(true);
+        }
+
+        private Throwable unwrap(Throwable throwable) {
+            if (throwable instanceof CompletionException && throwable.getCause() != null) {
+                return throwable.getCause();
+            }
+            return throwable;
+        }
+    }
+}
@@ -0,0 +1,71 @@
+package io.clue2solve.pinecone.javaclient.utils;
+
+import java.util.AbstractList;
+import java.util.List;
+import java.util.Objects;
+import java.util.RandomAccess;
+
+/**
+ * Conversions between the primitive {@code float[]} vectors stored by the model classes
+ * and the boxed {@code List<Double>} form used by the original API.
+ */
+public final class VectorUtils {
+
+    private VectorUtils() {
+    }
+
+    /**
+     * Copies a boxed list into a primitive array.
+     *
+     * @param values Boxed values, may be null.
+     * @return Primitive copy of the values, or null if values is null.
+     */
+    public static float[] toFloatArray(List<? extends Number> values) {
+        if (values == null) {
+            return null;
+        }
+        float[] array = new float[values.size()];
+        int i = 0;
+        for (Number value : values) {
+            array[i++] = value.floatValue();
+        }
+        return array;
+    }
+
+    /**
+     * Returns a fixed-size {@code List<Double>} view of the array. Elements are boxed on access and
+     * {@link List#set(int, Object)} writes through to the array.
+     *
+     * @param values Primitive values, may be null.
+     * @return List view of the array, or null if values is null.
+     */
+    public static List<Double> asDoubleList(float[] values) {
+        return values == null ? null : new DoubleListView(values);
+    }
+
+    private static final class DoubleListView extends AbstractList<Double> implements RandomAccess {
+        private final float[] values;
+
+        private DoubleListView(float[] values) {
+            this.values = values;
+        }
+
+        @Override
+        public Double get(int index) {
+            return (double) values[index];
+        }
+
+        @Override
+        public Double set(int index, Double element) {
+            Objects.requireNonNull(element);
+            double previous = values[index];
+            values[index] = element.floatValue();
+            return previous;
+        }
+
+        @Override
+        public int size() {
+            return values.length;
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package io.clue2solve.pinecone.javaclient;
+
+import io.clue2solve.pinecone.javaclient.model.FetchRequest;
+import io.clue2solve.pinecone.javaclient.model.FetchResponse;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class BatchingFetcherTest {
+
+    private static PineconeDBClient client(List<List<String>> requests) {
+        PineconeDBClient client = mock(PineconeDBClient.class);
+        when(client.fetchAllAsync(any(FetchRequest.class))).thenAnswer(invocation -> {
+            FetchRequest request = invocation.getArgument(0);
+            synchronized (requests) {
+                requests.add(Arrays.asList(request.getIds()));
+            }
+            Map<String, FetchResponse> vectors = new LinkedHashMap<>();
+            for (String id : request.getIds()) {
+                if (!id.startsWith("missing")) {
+                    vectors.put(id, FetchResponse.builder().metadata(id).build());
+                }
+            }
+            return CompletableFuture.completedFuture(vectors);
+        });
+        return client;
+    }
+
+    @Test
+    public void testBatchesFetchesWithinWindow() {
+        List<List<String>> requests = new ArrayList<>();
+        try (BatchingFetcher fetcher = BatchingFetcher.builder()
+                .client(client(requests))
+                .indexName("index")
+                .window(Duration.ofMillis(50))
+                .build()) {
+            CompletableFuture<FetchResponse> a = fetcher.fetch("a");
+            CompletableFuture<FetchResponse> b = fetcher.fetch("b");
+            CompletableFuture<FetchResponse> again = fetcher.fetch("a");
+            CompletableFuture<FetchResponse> missing = fetcher.fetch("missing");
+
+            assertEquals("a", a.join().getMetadata());
+            assertEquals("b", b.join().getMetadata());
+            assertEquals("a", again.join().getMetadata());
+            assertNull(missing.join());
+            assertEquals(List.of(List.of("a", "b", "missing")), requests);
+            assertEquals(4, fetcher.getRequestedCount());
+            assertEquals(1, fetcher.getBatchCount());
+        }
+    }
+
+    @Test
+    public void testSendsFullBatchWithoutWaiting() {
+        List<List<String>> requests = new ArrayList<>();
+        try (BatchingFetcher fetcher = BatchingFetcher.builder()
+                .client(client(requests))
+                .indexName("index")
+                .window(Duration.ofMinutes(1))
+                .maxBatchSize(2)
+                .build()) {
+            fetcher.fetch("a");
+            CompletableFuture<FetchResponse> b = fetcher.fetch("b");
+
+            assertTrue(b.isDone());
+            assertEquals(List.of(List.of("a", "b")), requests);
+        }
+    }
+
+    @Test
+    public void testFailedBatchFailsEveryCaller() {
+        PineconeDBClient client = mock(PineconeDBClient.class);
+        when(client.fetchAllAsync(any(FetchRequest.class)))
+                .thenReturn(CompletableFuture.failedFuture(new IOException("unavailable")));
+        BatchingFetcher fetcher = BatchingFetcher.builder().client(client).indexName("index").build();
+        CompletableFuture<FetchResponse> a = fetcher.fetch("a");
+        fetcher.close();
+
+        CompletionException e = assertThrows(CompletionException.class, a::join);
+        assertTrue(e.getCause() instanceof IOException);
+        assertTrue(fetcher.fetch("b").isCompletedExceptionally());
+    }
+}
@@ -0,0 +1,116 @@
+package io.clue2solve.pinecone.javaclient;
+
+import io.clue2solve.pinecone.javaclient.model.BulkDeleteResult;
+import io.clue2solve.pinecone.javaclient.model.DeleteRequest;
+import io.clue2solve.pinecone.javaclient.utils.OkHttpClientWrapper;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class BulkDeleterTest {
+
+    private static List<String> ids(int count) {
+        return IntStream.range(0, count).mapToObj(i -> "id-" + i).collect(Collectors.toList());
+    }
+
+    @Test
+    public void testDeletesInBatches() throws Exception {
+        PineconeDBClient client = mock(PineconeDBClient.class);
+        List<Integer> batchSizes = new ArrayList<>();
+        when(client.deleteBatchAsync(any(DeleteRequest.class))).thenAnswer(invocation -> {
+            DeleteRequest request = invocation.getArgument(0);
+            synchronized (batchSizes) {
+                batchSizes.add(request.getIds().length);
+            }
+            return CompletableFuture.completedFuture("{}");
+        });
+        List<Long> progress = new ArrayList<>();
+
+        BulkDeleteResult result = BulkDeleter.builder()
+                .client(client)
+                .indexName("index")
+                .namespace("ns")
+                .maxBatchIds(10)
+                .progressListener(progress::add)
+                .build()
+                .deleteAll(ids(25).iterator());
+
+        assertTrue(result.isSuccessful());
+        assertEquals(25, result.getDeletedIds());
+        assertEquals(3, result.getBatches());
+        assertEquals(25, result.getCursor());
+        assertEquals(List.of(10, 10, 5), batchSizes);
+        assertEquals(List.of(10L, 20L, 25L), progress);
+    }
+
+    @Test
+    public void testCursorWaitsForEarlierBatches() throws Exception {
+        PineconeDBClient client = mock(PineconeDBClient.class);
+        CompletableFuture<String> first = new CompletableFuture<>();
+        when(client.deleteBatchAsync(any(DeleteRequest.class)))
+                .thenReturn(first)
+                .thenReturn(CompletableFuture.failedFuture(new IOException("invalid id")));
+
+        BulkDeleter deleter = BulkDeleter.builder()
+                .client(client)
+                .indexName("index")
+                .maxBatchIds(2)
+                .build();
+        for (String id : ids(4)) {
+            deleter.add(id);
+        }
+        assertEquals(0, deleter.getCursor());
+
+        first.complete("{}");
+        BulkDeleteResult result = deleter.finish();
+
+        assertFalse(result.isSuccessful());
+        assertEquals(4, result.getCursor());
+        assertEquals(2, result.getDeletedIds());
+        assertEquals(List.of("id-2", "id-3"), result.getFailures().get(0).getIds());
+        assertEquals("invalid id", result.getFailures().get(0).getMessage());
+    }
+
+    @Test
+    public void testServerErrorWithEmptyBodyFailsTheBatch() throws Exception {
+        OkHttpClientWrapper wrapper = mock(OkHttpClientWrapper.class);
+        when(wrapper.enqueue(any(Request.class))).thenAnswer(invocation -> CompletableFuture.completedFuture(
+                new Response.Builder()
+                        .request(invocation.getArgument(0))
+                        .protocol(Protocol.HTTP_1_1)
+                        .code(500)
+                        .message("Internal Server Error")
+                        .body(ResponseBody.create("", MediaType.get("application/json")))
+                        .build()));
+        PineconeDBClient client = new PineconeDBClient("env", "project", "key");
+        client.setClient(wrapper);
+
+        BulkDeleteResult result = BulkDeleter.builder()
+                .client(client)
+                .indexName("index")
+                .build()
+                .deleteAll(ids(3).iterator());
+
+        assertFalse(result.isSuccessful());
+        assertEquals(0, result.getDeletedIds());
+        assertEquals(3, result.getFailedIds());
+        assertEquals("Request failed with HTTP 500", result.getFailures().get(0).getMessage());
+    }
+}
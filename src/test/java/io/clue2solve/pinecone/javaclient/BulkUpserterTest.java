@@ -0,0 +1,141 @@
+package io.clue2solve.pinecone.javaclient;
+
+import io.clue2solve.pinecone.javaclient.model.BulkUpsertResult;
+import io.clue2solve.pinecone.javaclient.model.UpsertRequest;
+import io.clue2solve.pinecone.javaclient.model.UpsertVector;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class BulkUpserterTest {
+
+    private static List<UpsertVector> vectors(int count) {
+        List<UpsertVector> vectors = new ArrayList<>();
+        for (int i = 0; i < count; i++) {
+            vectors.add(UpsertVector.builder()
+                    .id("id-" + i)
+                    .values(new float[]{0.1f, 0.2f, 0.3f})
+                    .metadata("{\"page\":\"" + i + "\"}")
+                    .build());
+        }
+        return vectors;
+    }
+
+    @Test
+    public void testSplitsByVectorCount() throws Exception {
+        PineconeDBClient client = mock(PineconeDBClient.class);
+        List<Integer> batchSizes = new ArrayList<>();
+        when(client.upsertAsync(any(UpsertRequest.class))).thenAnswer(invocation -> {
+            UpsertRequest request = invocation.getArgument(0);
+            synchronized (batchSizes) {
+                batchSizes.add(request.getUpsertVectorsList().size());
+            }
+            return CompletableFuture.completedFuture("{\"upsertedCount\":" + request.getUpsertVectorsList().size() + "}");
+        });
+
+        BulkUpserter upserter = BulkUpserter.builder()
+                .client(client)
+                .indexName("index")
+                .namespace("ns")
+                .maxBatchVectors(10)
+                .build();
+        BulkUpsertResult result = upserter.upsertAll(vectors(25).iterator());
+
+        assertTrue(result.isSuccessful());
+        assertEquals(25, result.getUpsertedVectors());
+        assertEquals(3, result.getBatches());
+        assertEquals(Arrays.asList(10, 10, 5), batchSizes);
+    }
+
+    @Test
+    public void testSplitsByBytes() throws Exception {
+        PineconeDBClient client = mock(PineconeDBClient.class);
+        when(client.upsertAsync(any(UpsertRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture("{\"upsertedCount\":1}"));
+
+        int vectorSize = vectors(1).get(0).estimateSerializedSize();
+        BulkUpserter upserter = BulkUpserter.builder()
+                .client(client)
+                .indexName("index")
+                .namespace("ns")
+                .maxBatchBytes(vectorSize * 3L)
+                .build();
+        BulkUpsertResult result = upserter.upsertAll(vectors(10).iterator());
+
+        assertEquals(10, result.getUpsertedVectors());
+        assertTrue(result.getBatches() >= 5);
+    }
+
+    @Test
+    public void testReportsFailedBatches() throws Exception {
+        PineconeDBClient client = mock(PineconeDBClient.class);
+        when(client.upsertAsync(any(UpsertRequest.class)))
+                .thenReturn(CompletableFuture.completedFuture("{\"upsertedCount\":2}"))
+                .thenReturn(CompletableFuture.completedFuture("{\"code\":3,\"message\":\"Vector dimension mismatch\"}"));
+
+        List<String> failedIds = new ArrayList<>();
+        BulkUpserter upserter = BulkUpserter.builder()
+                .client(client)
+                .indexName("index")
+                .namespace("ns")
+                .maxBatchVectors(2)
+                .maxInFlight(1)
+                .failureListener(failure -> failedIds.addAll(failure.getIds()))
+                .build();
+        BulkUpsertResult result = upserter.upsertAll(vectors(4).iterator());
+
+        assertFalse(result.isSuccessful());
+        assertEquals(2, result.getUpsertedVectors());
+        assertEquals(2, result.getFailedVectors());
+        assertEquals("Vector dimension mismatch", result.getFailures().get(0).getMessage());
+        assertEquals(Arrays.asList("id-2", "id-3"), failedIds);
+    }
+
+    @Test
+    public void testKeepsTheBatchWhenInterruptedWhileWaitingForAPermit() throws Exception {
+        PineconeDBClient client = mock(PineconeDBClient.class);
+        CompletableFuture<String> firstBatch = new CompletableFuture<>();
+        List<String> sentIds = new ArrayList<>();
+        when(client.upsertAsync(any(UpsertRequest.class))).thenAnswer(invocation -> {
+            UpsertRequest request = invocation.getArgument(0);
+            synchronized (sentIds) {
+                request.getUpsertVectorsList().forEach(vector -> sentIds.add(vector.getId()));
+            }
+            return sentIds.size() == 2 ? firstBatch : CompletableFuture.completedFuture("{\"upsertedCount\":2}");
+        });
+
+        BulkUpserter upserter = BulkUpserter.builder()
+                .client(client)
+                .indexName("index")
+                .namespace("ns")
+                .maxBatchVectors(2)
+                .maxInFlight(1)
+                .build();
+        List<UpsertVector> vectors = vectors(4);
+        upserter.add(vectors.get(0));
+        upserter.add(vectors.get(1));
+        upserter.add(vectors.get(2));
+        Thread.currentThread().interrupt();
+        assertThrows(InterruptedException.class, () -> upserter.add(vectors.get(3)));
+
+        firstBatch.complete("{\"upsertedCount\":2}");
+        upserter.add(vectors.get(3));
+        BulkUpsertResult result = upserter.finish();
+
+        assertTrue(result.isSuccessful());
+        assertEquals(4, result.getUpsertedVectors());
+        assertEquals(2, result.getBatches());
+        assertEquals(Arrays.asList("id-0", "id-1", "id-2", "id-3"), sentIds);
+    }
+}
@@ -0,0 +1,44 @@
+package io.clue2solve.pinecone.javaclient;
+
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class PineconeClientConfigTest {
+
+    @Test
+    public void testClientsShareTransport() {
+        PineconeClientConfig config = PineconeClientConfig.builder()
+                .maxRequestsPerHost(100)
+                .readTimeout(Duration.ofSeconds(3))
+                .http2(false)
+                .build();
+
+        OkHttpClient first = config.newHttpClientBuilder().build();
+        OkHttpClient second = config.newHttpClientBuilder().build();
+
+        assertSame(first.connectionPool(), second.connectionPool());
+        assertSame(first.dispatcher(), second.dispatcher());
+        assertEquals(100, first.dispatcher().getMaxRequestsPerHost());
+        assertEquals(PineconeClientConfig.DEFAULT_MAX_REQUESTS, first.dispatcher().getMaxRequests());
+        assertEquals(3000, first.readTimeoutMillis());
+        assertEquals(List.of(Protocol.HTTP_1_1), first.protocols());
+
+        OkHttpClient other = PineconeClientConfig.builder().build().newHttpClientBuilder().build();
+        assertNotSame(first.connectionPool(), other.connectionPool());
+    }
+
+    @Test
+    public void testRejectsPerHostLimitAboveTotal() {
+        assertThrows(IllegalArgumentException.class,
+                () -> PineconeClientConfig.builder().maxRequests(10).maxRequestsPerHost(20).build());
+    }
+}
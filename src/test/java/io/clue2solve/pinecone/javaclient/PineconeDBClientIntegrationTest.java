@@ -130,6 +130,28 @@ public class PineconeDBClientIntegrationTest {
         // Assert that the response matches the expected JSON
         assertEquals(expectedUpsertResponse, response);
     }
+
+    @Test
+    @Order(0)
+    public void testUpsertAsync() throws Exception {
+        String response = pineconeDBClient.upsertAsync(upsertRequest).get();
+        assertEquals(expectedUpsertResponse, response);
+    }
+
+    @Test
+    @Order(0)
+    public void testBulkUpsert() throws Exception {
+        try (BulkUpserter upserter = BulkUpserter.builder()
+                .client(pineconeDBClient)
+                .indexName(indexName)
+                .namespace(nameSpace)
+                .build()) {
+            BulkUpsertResult result = upserter.upsertAll(upsertRequest.getUpsertVectorsList().iterator());
+            assertTrue(result.isSuccessful());
+            assertEquals(1, result.getUpsertedVectors());
+        }
+    }
+
     @Test
     @Order(1)
     public void testQuery() throws IOException {
@@ -143,6 +165,17 @@ public class PineconeDBClientIntegrationTest {
         assertTrue(containsUpsertedVector);
     }
 
+    @Test
+    @Order(1)
+    public void testQueryAsync() throws Exception {
+        List<QueryResponse> queryResponses = pineconeDBClient.queryAsync(queryRequest).get();
+        assertNotNull(queryResponses);
+
+        boolean containsUpsertedVector = queryResponses.stream()
+            .anyMatch(response -> uuidString.equals(response.getId().toString()));
+        assertTrue(containsUpsertedVector);
+    }
+
     @Test
     @Order(2)
     public void testFetch() throws IOException {
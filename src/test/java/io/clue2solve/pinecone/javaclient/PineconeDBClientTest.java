@@ -0,0 +1,429 @@
+package io.clue2solve.pinecone.javaclient;
+
+import io.clue2solve.pinecone.javaclient.model.FetchRequest;
+import io.clue2solve.pinecone.javaclient.model.FetchResponse;
+import io.clue2solve.pinecone.javaclient.model.QueryRequest;
+import io.clue2solve.pinecone.javaclient.model.QueryResponse;
+import io.clue2solve.pinecone.javaclient.model.WarmUpRequest;
+import io.clue2solve.pinecone.javaclient.model.WarmUpResult;
+import io.clue2solve.pinecone.javaclient.ratelimit.RateLimit;
+import io.clue2solve.pinecone.javaclient.ratelimit.RateLimiter;
+import io.clue2solve.pinecone.javaclient.utils.CircuitBreaker;
+import io.clue2solve.pinecone.javaclient.utils.CircuitBreakerPolicy;
+import io.clue2solve.pinecone.javaclient.utils.ConcurrencyLimitPolicy;
+import io.clue2solve.pinecone.javaclient.utils.HedgingPolicy;
+import io.clue2solve.pinecone.javaclient.utils.OkHttpClientWrapper;
+import io.clue2solve.pinecone.javaclient.utils.RejectedCallException;
+import okhttp3.MediaType;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.timeout;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class PineconeDBClientTest {
+
+    private static final String QUERY_RESPONSE =
+            "{\"matches\":[{\"id\":\"6f1c2b4e-8a4d-4c7a-9a53-2f1b3c4d5e6f\",\"score\":0.9}],\"namespace\":\"ns\"}";
+
+    private static Response response(Request request, String body) {
+        return new Response.Builder()
+                .request(request)
+                .protocol(Protocol.HTTP_1_1)
+                .code(200)
+                .message("OK")
+                .body(ResponseBody.create(body, MediaType.get("application/json")))
+                .build();
+    }
+
+    private static QueryRequest queryRequest() {
+        return QueryRequest.builder()
+                .indexName("index")
+                .namespace("ns")
+                .vector(new float[]{0.1f, 0.2f})
+                .top_k(1)
+                .build();
+    }
+
+    @Test
+    public void testHedgedQueryTakesFirstResponseAndCancelsTheOther() throws Exception {
+        OkHttpClientWrapper wrapper = mock(OkHttpClientWrapper.class);
+        CompletableFuture<Response> slow = new CompletableFuture<>();
+        when(wrapper.enqueue(any(Request.class)))
+                .thenReturn(slow)
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(response(invocation.getArgument(0), QUERY_RESPONSE)));
+        PineconeDBClient client = new PineconeDBClient("env", "project", "key");
+        client.setClient(wrapper);
+        client.setHedgingPolicy(HedgingPolicy.builder().minSamples(1).minDelay(Duration.ofMillis(1)).build());
+        client.getQueryLatencies("index").record(TimeUnit.MILLISECONDS.toNanos(1));
+
+        List<QueryResponse> queryResponses = client.queryAsync(queryRequest()).get(5, TimeUnit.SECONDS);
+
+        assertEquals(1, queryResponses.size());
+        assertEquals(1, client.getHedgedQueryCount());
+        assertTrue(slow.isCancelled());
+        // only the hedge that answered is recorded, not the delay before it was sent
+        assertEquals(2, client.getQueryLatencies("index").getCount());
+    }
+
+    @Test
+    public void testZeroExtraLoadTurnsHedgingOff() throws Exception {
+        OkHttpClientWrapper wrapper = mock(OkHttpClientWrapper.class);
+        CompletableFuture<Response> slow = new CompletableFuture<>();
+        when(wrapper.enqueue(any(Request.class))).thenReturn(slow);
+        PineconeDBClient client = new PineconeDBClient("env", "project", "key");
+        client.setClient(wrapper);
+        client.setHedgingPolicy(HedgingPolicy.builder().minSamples(1).minDelay(Duration.ofMillis(1)).maxExtraLoad(0.0).build());
+        client.getQueryLatencies("index").record(TimeUnit.MILLISECONDS.toNanos(1));
+
+        CompletableFuture<List<QueryResponse>> future = client.queryAsync(queryRequest());
+        Thread.sleep(50);
+        slow.complete(response(new Request.Builder().url("https://index").build(), QUERY_RESPONSE));
+
+        assertEquals(1, future.get(5, TimeUnit.SECONDS).size());
+        assertEquals(0, client.getHedgedQueryCount());
+        verify(wrapper, times(1)).enqueue(any(Request.class));
+    }
+
+    @Test
+    public void testQueryIsNotHedgedWithoutLatencies() throws Exception {
+        OkHttpClientWrapper wrapper = mock(OkHttpClientWrapper.class);
+        when(wrapper.enqueue(any(Request.class)))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(response(invocation.getArgument(0), QUERY_RESPONSE)));
+        PineconeDBClient client = new PineconeDBClient("env", "project", "key");
+        client.setClient(wrapper);
+        client.setHedgingPolicy(HedgingPolicy.builder().build());
+
+        client.query(queryRequest());
+
+        assertEquals(0, client.getHedgedQueryCount());
+        assertEquals(1, client.getQueryLatencies("index").getCount());
+    }
+
+    @Test
+    public void testCancellingAsyncCallCancelsTheTransportCall() {
+        OkHttpClientWrapper wrapper = mock(OkHttpClientWrapper.class);
+        CompletableFuture<Response> pending = new CompletableFuture<>();
+        when(wrapper.enqueue(any(Request.class))).thenReturn(pending);
+        PineconeDBClient client = new PineconeDBClient("env", "project", "key");
+        client.setClient(wrapper);
+
+        CompletableFuture<List<QueryResponse>> future = client.queryAsync(queryRequest());
+        assertTrue(future.cancel(true));
+
+        assertTrue(pending.isCancelled());
+    }
+
+    @Test
+    public void testAsyncFailuresPropagate() {
+        OkHttpClientWrapper wrapper = mock(OkHttpClientWrapper.class);
+        IOException failure = new IOException("connection reset");
+        when(wrapper.enqueue(any(Request.class)))
+                .thenReturn(CompletableFuture.failedFuture(failure))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(response(invocation.getArgument(0), "{\"matches\":")));
+        PineconeDBClient client = new PineconeDBClient("env", "project", "key");
+        client.setClient(wrapper);
+
+        ExecutionException transportFailure = assertThrows(ExecutionException.class,
+                () -> client.queryAsync(queryRequest()).get(5, TimeUnit.SECONDS));
+        assertSame(failure, transportFailure.getCause());
+        ExecutionException parseFailure = assertThrows(ExecutionException.class,
+                () -> client.queryAsync(queryRequest()).get(5, TimeUnit.SECONDS));
+        assertTrue(parseFailure.getCause() instanceof UncheckedIOException);
+    }
+
+    @Test
+    public void testQueryRequiresExactlyOneOfIdAndVector() {
+        OkHttpClientWrapper wrapper = mock(OkHttpClientWrapper.class);
+        PineconeDBClient client = new PineconeDBClient("env", "project", "key");
+        client.setClient(wrapper);
+        QueryRequest both = queryRequest();
+        both.setId("id-1");
+        QueryRequest neither = queryRequest();
+        neither.setVectorArray(null);
+
+        assertThrows(IllegalArgumentException.class, () -> client.query(both));
+        assertThrows(IllegalArgumentException.class, () -> client.queryAsync(neither));
+        verify(wrapper, never()).enqueue(any(Request.class));
+    }
+
+    @Test
+    public void testRateLimitedQueryIsEnqueuedWhenPermitsAreDue() throws Exception {
+        OkHttpClientWrapper wrapper = mock(OkHttpClientWrapper.class);
+        when(wrapper.enqueue(any(Request.class)))
+                .thenAnswer(invocation -> CompletableFuture.completedFuture(response(invocation.getArgument(0), QUERY_RESPONSE)));
+        PineconeDBClient client = new PineconeDBClient("env", "project", "key");
+        client.setClient(wrapper);
+        RateLimiter rateLimiter = new RateLimiter();
+        rateLimiter.setLimit(PineconeDBClient.EndPoints.QUERY, RateLimit.perSecond(2).withBurst(1));
+        client.setRateLimiter(rateLimiter);
+
+        client.queryAsync(queryRequest()).get(5, TimeUnit.SECONDS);
+        CompletableFuture<List<QueryResponse>> throttled = client.queryAsync(queryRequest());
+        assertFalse(throttled.isDone());
+        verify(wrapper, times(1)).enqueue(any(Request.class));
+
+        assertEquals(1, throttled.get(5, TimeUnit.SECONDS).size());
+        assertEquals(1, rateLimiter.getStats("index", PineconeDBClient.EndPoints.QUERY).getDelayedAcquisitions());
+        // the half second spent waiting for the permit is not part of the recorded latency
+        assertEquals(2, client.getQueryLatencies("index").getCount());
+        assertTrue(client.getQueryLatencies("index").percentileNanos(100) < TimeUnit.MILLISECONDS.toNanos(250));
+    }
+
+    @Test
+    public void testRetriesTakeRateLimitPermits() throws Exception {
+        AtomicInteger attempts = new AtomicInteger();
+        PineconeClientConfig config = PineconeClientConfig.builder()
+                .transportFactory(interceptors -> {
+                    OkHttpClient.Builder builder = new OkHttpClient.Builder();
+                    interceptors.forEach(builder::addInterceptor);
+                    // answers in place of the server: throttled once, then the matches
+                    builder.addInterceptor(chain -> attempts.incrementAndGet() == 1
+                            ? response(chain.request(), "").newBuilder().code(429).header("Retry-After", "0").build()
+                            : response(chain.request(), QUERY_RESPONSE));
+                    return new OkHttpClientWrapper(builder.build());
+                })
+                .build();
+        PineconeDBClient client = new PineconeDBClient("env", "project", "key", config);
+        RateLimiter rateLimiter = new RateLimiter();
+        rateLimiter.setLimit(PineconeDBClient.EndPoints.QUERY, RateLimit.perSecond(1000));
+        client.setRateLimiter(rateLimiter);
+
+        assertEquals(1, client.query(queryRequest()).size());
+        assertEquals(1, client.queryAsync(queryRequest()).get(5, TimeUnit.SECONDS).size());
+
+        assertEquals(3, attempts.get());
+        assertEquals(3, rateLimiter.getStats("index", PineconeDBClient.EndPoints.QUERY).getAcquiredPermits());
+    }
+
+    @Test
+    public void testConcurrencyLimitRejectionsLeaveTheCircuitBreakerClosed() throws Exception {
+        CountDownLatch release = new CountDownLatch(1);
+        AtomicReference<String> host = new AtomicReference<>();
+        PineconeClientConfig config = PineconeClientConfig.builder()
+                .transportFactory(interceptors -> {
+                    OkHttpClient.Builder builder = new OkHttpClient.Builder();
+                    interceptors.forEach(builder::addInterceptor);
+                    // answers in place of the server, holding the only slot until released
+                    builder.addInterceptor(chain -> {
+                        host.set(chain.request().url().host());
+                        try {
+                            release.await(5, TimeUnit.SECONDS);
+                        } catch (InterruptedException e) {
+                            Thread.currentThread().interrupt();
+                        }
+                        return response(chain.request(), QUERY_RESPONSE);
+                    });
+                    return new OkHttpClientWrapper(builder.build());
+                })
+                .build();
+        PineconeDBClient client = new PineconeDBClient("env", "project", "key", config);
+        client.setConcurrencyLimitPolicy(ConcurrencyLimitPolicy.builder()
+                .minLimit(1)
+                .initialLimit(1)
+                .maxLimit(1)
+                .maxQueueWait(Duration.ZERO)
+                .build());
+        client.setCircuitBreakerPolicy(CircuitBreakerPolicy.builder()
+                .windowSize(4)
+                .minimumCalls(2)
+                .build());
+
+        CompletableFuture<List<QueryResponse>> held = client.queryAsync(queryRequest());
+        while (host.get() == null) {
+            Thread.sleep(1);
+        }
+        for (int i = 0; i < 5; i++) {
+            assertThrows(RejectedCallException.class, () -> client.query(queryRequest()));
+        }
+        release.countDown();
+
+        assertEquals(1, held.get(5, TimeUnit.SECONDS).size());
+        assertEquals(5, client.getConcurrencyLimitInterceptor().getRejectedCount());
+        assertEquals(CircuitBreaker.State.CLOSED,
+                client.getCircuitBreakerInterceptor().getCircuitBreaker(host.get()).getState());
+    }
+
+    private static final String[] FETCH_IDS = {
+            "00000000-0000-0000-0000-000000000001", "00000000-0000-0000-0000-000000000002",
+            "00000000-0000-0000-0000-000000000003", "00000000-0000-0000-0000-000000000004",
+            "00000000-0000-0000-0000-000000000005", "00000000-0000-0000-0000-000000000006",
+            "00000000-0000-0000-0000-000000000007"};
+
+    /**
+     * Client whose fetches of {@link #FETCH_IDS} are split into chunks of 3, 3 and 1 ids, which are recorded
+     * with their pending responses instead of being sent.
+     */
+    private static PineconeDBClient chunkedFetchClient(OkHttpClientWrapper wrapper, List<Request> requests,
+                                                       List<CompletableFuture<Response>> responses) {
+        when(wrapper.enqueue(any(Request.class))).thenAnswer(invocation -> {
+            CompletableFuture<Response> response = new CompletableFuture<>();
+            synchronized (requests) {
+                requests.add(invocation.getArgument(0));
+                responses.add(response);
+            }
+            return response;
+        });
+        PineconeDBClient client = new PineconeDBClient("env", "project", "key");
+        client.setClient(wrapper);
+        client.setFetchConcurrency(2);
+        client.setMaxFetchUrlLength(200);
+        return client;
+    }
+
+    private static Response fetchResponse(Request request) {
+        StringBuilder body = new StringBuilder("{\"vectors\":{");
+        List<String> ids = request.url().queryParameterValues("ids");
+        for (int i = 0; i < ids.size(); i++) {
+            body.append(i > 0 ? "," : "").append('"').append(ids.get(i)).append("\":{\"id\":\"")
+                    .append(ids.get(i)).append("\",\"values\":[1.0]}");
+        }
+        return response(request, body.append("},\"namespace\":\"ns\"}").toString());
+    }
+
+    private static FetchRequest fetchAllRequest() {
+        return new FetchRequest("index", "ns", FETCH_IDS);
+    }
+
+    @Test
+    public void testFetchAllBoundsConcurrencyAndMergesChunksInIdOrder() throws Exception {
+        OkHttpClientWrapper wrapper = mock(OkHttpClientWrapper.class);
+        List<Request> requests = new ArrayList<>();
+        List<CompletableFuture<Response>> responses = new ArrayList<>();
+        PineconeDBClient client = chunkedFetchClient(wrapper, requests, responses);
+
+        CompletableFuture<Map<String, FetchResponse>> future = client.fetchAllAsync(fetchAllRequest());
+        verify(wrapper, times(2)).enqueue(any(Request.class));
+
+        // the second chunk completes first and makes room for the third
+        responses.get(1).complete(fetchResponse(requests.get(1)));
+        verify(wrapper, timeout(5000).times(3)).enqueue(any(Request.class));
+        responses.get(2).complete(fetchResponse(requests.get(2)));
+        assertFalse(future.isDone());
+        responses.get(0).complete(fetchResponse(requests.get(0)));
+
+        Map<String, FetchResponse> vectors = future.get(5, TimeUnit.SECONDS);
+        assertEquals(List.of(FETCH_IDS), new ArrayList<>(vectors.keySet()));
+        assertEquals(List.of(3, 3, 1), requests.stream().map(request -> request.url().queryParameterValues("ids").size())
+                .collect(Collectors.toList()));
+    }
+
+    @Test
+    public void testFetchAllFailsWithFirstFailedChunkAndCancelsTheOthers() throws Exception {
+        OkHttpClientWrapper wrapper = mock(OkHttpClientWrapper.class);
+        List<Request> requests = new ArrayList<>();
+        List<CompletableFuture<Response>> responses = new ArrayList<>();
+        PineconeDBClient client = chunkedFetchClient(wrapper, requests, responses);
+
+        CompletableFuture<Map<String, FetchResponse>> future = client.fetchAllAsync(fetchAllRequest());
+        IOException failure = new IOException("connection reset");
+        responses.get(0).completeExceptionally(failure);
+
+        ExecutionException e = assertThrows(ExecutionException.class, () -> future.get(5, TimeUnit.SECONDS));
+        assertSame(failure, e.getCause());
+        assertTrue(responses.get(1).isCancelled());
+        verify(wrapper, times(2)).enqueue(any(Request.class));
+    }
+
+    @Test
+    public void testCancellingFetchAllCancelsChunksInFlight() {
+        OkHttpClientWrapper wrapper = mock(OkHttpClientWrapper.class);
+        List<Request> requests = new ArrayList<>();
+        List<CompletableFuture<Response>> responses = new ArrayList<>();
+        PineconeDBClient client = chunkedFetchClient(wrapper, requests, responses);
+
+        CompletableFuture<Map<String, FetchResponse>> future = client.fetchAllAsync(fetchAllRequest());
+        assertTrue(future.cancel(true));
+
+        assertTrue(responses.get(0).isCancelled());
+        assertTrue(responses.get(1).isCancelled());
+        verify(wrapper, times(2)).enqueue(any(Request.class));
+    }
+
+    @Test
+    public void testWarmUpReportsHostsThatMissTheDeadline() {
+        OkHttpClientWrapper wrapper = mock(OkHttpClientWrapper.class);
+        CompletableFuture<Response> hanging = new CompletableFuture<>();
+        when(wrapper.enqueue(any(Request.class))).thenAnswer(invocation -> {
+            Request request = invocation.getArgument(0);
+            return request.url().host().startsWith("slow-")
+                    ? hanging
+                    : CompletableFuture.completedFuture(response(request, "{}"));
+        });
+        PineconeDBClient client = new PineconeDBClient("env", "project", "key");
+        client.setClient(wrapper);
+
+        WarmUpResult result = client.warmUp(WarmUpRequest.builder()
+                .indexName("fast")
+                .indexName("slow")
+                .connectionsPerHost(3)
+                .timeout(Duration.ofMillis(50))
+                .build());
+
+        assertEquals(List.of("fast-project.svc.env.pinecone.io"), result.getWarmedHosts());
+        assertEquals(Set.of("slow-project.svc.env.pinecone.io"), result.getFailedHosts().keySet());
+        assertTrue(hanging.isCancelled());
+        verify(wrapper, times(6)).enqueue(any(Request.class));
+    }
+
+    @Test
+    public void testWarmUpDoesNotTakeRateLimitPermits() {
+        AtomicInteger calls = new AtomicInteger();
+        PineconeClientConfig config = PineconeClientConfig.builder()
+                .transportFactory(interceptors -> {
+                    OkHttpClient.Builder builder = new OkHttpClient.Builder();
+                    interceptors.forEach(builder::addInterceptor);
+                    builder.addInterceptor(chain -> {
+                        calls.incrementAndGet();
+                        return response(chain.request(), "{}");
+                    });
+                    return new OkHttpClientWrapper(builder.build());
+                })
+                .build();
+        PineconeDBClient client = new PineconeDBClient("env", "project", "key", config);
+        RateLimiter rateLimiter = new RateLimiter();
+        rateLimiter.setLimit(PineconeDBClient.EndPoints.DESCRIBE_INDEX_STATS, RateLimit.perSecond(1));
+        client.setRateLimiter(rateLimiter);
+
+        WarmUpResult result = client.warmUp(WarmUpRequest.builder()
+                .indexName("index")
+                .connectionsPerHost(3)
+                .describeIndexStats(true)
+                .timeout(Duration.ofSeconds(1))
+                .build());
+
+        assertEquals(List.of("index-project.svc.env.pinecone.io"), result.getWarmedHosts());
+        assertEquals(3, calls.get());
+        assertEquals(0, rateLimiter.getStats("index", PineconeDBClient.EndPoints.DESCRIBE_INDEX_STATS)
+                .getAcquiredPermits());
+    }
+}
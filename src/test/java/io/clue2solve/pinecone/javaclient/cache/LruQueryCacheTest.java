@@ -0,0 +1,129 @@
+package io.clue2solve.pinecone.javaclient.cache;
+
+import io.clue2solve.pinecone.javaclient.model.QueryRequest;
+import io.clue2solve.pinecone.javaclient.model.QueryResponse;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class LruQueryCacheTest {
+
+    private static QueryRequest query(String namespace, float... vector) {
+        return QueryRequest.builder()
+                .indexName("index")
+                .namespace(namespace)
+                .vector(vector)
+                .top_k(10)
+                .build();
+    }
+
+    private static List<QueryResponse> result() {
+        return List.of(QueryResponse.builder().id(UUID.randomUUID()).score(0.9).build());
+    }
+
+    private static void put(QueryCache cache, QueryRequest queryRequest, List<QueryResponse> result) {
+        cache.put(queryRequest, result, cache.generation(queryRequest));
+    }
+
+    @Test
+    public void testHitOnIdenticalQuery() {
+        LruQueryCache cache = LruQueryCache.builder().build();
+        List<QueryResponse> result = result();
+        put(cache, query("ns", 0.1f, 0.2f), result);
+
+        assertEquals(result, cache.get(query("ns", 0.1f, 0.2f)));
+        assertNull(cache.get(query("ns", 0.1f, 0.3f)));
+        assertNull(cache.get(query("other", 0.1f, 0.2f)));
+        assertEquals(1, cache.getStats().getHits());
+        assertEquals(2, cache.getStats().getMisses());
+    }
+
+    @Test
+    public void testInvalidateNamespace() {
+        LruQueryCache cache = LruQueryCache.builder().build();
+        put(cache, query("ns", 0.1f), result());
+        put(cache, query("other", 0.1f), result());
+
+        cache.invalidate("index", "ns");
+
+        assertNull(cache.get(query("ns", 0.1f)));
+        assertNotNull(cache.get(query("other", 0.1f)));
+    }
+
+    @Test
+    public void testDropsResultOfQueryOverlappingAWrite() {
+        LruQueryCache cache = LruQueryCache.builder().build();
+        QueryRequest queryRequest = query("ns", 0.1f);
+        long generation = cache.generation(queryRequest);
+
+        cache.invalidate("index", "ns");
+        cache.put(queryRequest, result(), generation);
+
+        assertNull(cache.get(queryRequest));
+        assertEquals(0, cache.getStats().getEntries());
+    }
+
+    @Test
+    public void testCachedResultIsACopy() {
+        LruQueryCache cache = LruQueryCache.builder().build();
+        QueryRequest queryRequest = query("ns", 0.1f);
+        List<QueryResponse> result = new ArrayList<>(result());
+
+        List<QueryResponse> returned = cache.put(queryRequest, result, cache.generation(queryRequest));
+        result.clear();
+
+        assertEquals(1, cache.get(queryRequest).size());
+        assertSame(returned, cache.get(queryRequest));
+        assertThrows(UnsupportedOperationException.class, returned::clear);
+    }
+
+    @Test
+    public void testForgetsGenerationsOfManyNamespacesWithoutServingStaleResults() {
+        LruQueryCache cache = LruQueryCache.builder().build();
+        QueryRequest queryRequest = query("ns", 0.1f);
+        cache.invalidate("index", "ns");
+        long generation = cache.generation(queryRequest);
+
+        cache.invalidate("index", "ns");
+        for (int i = 0; i < AbstractQueryCache.MAX_TRACKED_NAMESPACES; i++) {
+            cache.invalidate("index", "ns-" + i);
+        }
+        cache.put(queryRequest, result(), generation);
+
+        assertNull(cache.get(queryRequest));
+        put(cache, queryRequest, result());
+        assertNotNull(cache.get(queryRequest));
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsed() {
+        LruQueryCache cache = LruQueryCache.builder().maxEntries(2).build();
+        put(cache, query("ns", 1f), result());
+        put(cache, query("ns", 2f), result());
+        cache.get(query("ns", 1f));
+        put(cache, query("ns", 3f), result());
+
+        assertNotNull(cache.get(query("ns", 1f)));
+        assertNull(cache.get(query("ns", 2f)));
+        assertEquals(1, cache.getStats().getEvictions());
+    }
+
+    @Test
+    public void testExpiresAfterTtl() throws InterruptedException {
+        LruQueryCache cache = LruQueryCache.builder().ttl(Duration.ofMillis(20)).build();
+        put(cache, query("ns", 1f), result());
+        Thread.sleep(50);
+
+        assertNull(cache.get(query("ns", 1f)));
+        assertEquals(0, cache.getStats().getEntries());
+    }
+}
@@ -0,0 +1,99 @@
+package io.clue2solve.pinecone.javaclient.cache;
+
+import io.clue2solve.pinecone.javaclient.model.QueryRequest;
+import io.clue2solve.pinecone.javaclient.model.QueryResponse;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+public class SemanticQueryCacheTest {
+
+    private static QueryRequest query(int topK, float... vector) {
+        return QueryRequest.builder()
+                .indexName("index")
+                .namespace("ns")
+                .vector(vector)
+                .top_k(topK)
+                .build();
+    }
+
+    private static List<QueryResponse> result() {
+        return List.of(QueryResponse.builder().id(UUID.randomUUID()).score(0.9).build());
+    }
+
+    private static void put(QueryCache cache, QueryRequest queryRequest, List<QueryResponse> result) {
+        cache.put(queryRequest, result, cache.generation(queryRequest));
+    }
+
+    @Test
+    public void testHitOnSimilarVector() {
+        SemanticQueryCache cache = SemanticQueryCache.builder().similarityThreshold(0.99).build();
+        List<QueryResponse> result = result();
+        put(cache, query(10, 0.6f, 0.8f, 0f), result);
+
+        assertEquals(result, cache.get(query(10, 0.6001f, 0.7999f, 0.0001f)));
+        assertNull(cache.get(query(10, 0.8f, 0.6f, 0f)));
+        assertNull(cache.get(query(5, 0.6f, 0.8f, 0f)));
+        assertEquals(1, cache.getStats().getHits());
+    }
+
+    @Test
+    public void testInvalidateNamespace() {
+        SemanticQueryCache cache = SemanticQueryCache.builder().build();
+        put(cache, query(10, 1f, 0f), result());
+        cache.invalidate("index", "ns");
+
+        assertNull(cache.get(query(10, 1f, 0f)));
+        assertEquals(0, cache.getStats().getEntries());
+    }
+
+    @Test
+    public void testDropsResultOfQueryOverlappingAWriteAndCopiesResults() {
+        SemanticQueryCache cache = SemanticQueryCache.builder().build();
+        QueryRequest queryRequest = query(10, 1f, 0f);
+        long generation = cache.generation(queryRequest);
+        cache.invalidate("index", "ns");
+        cache.put(queryRequest, result(), generation);
+        assertNull(cache.get(queryRequest));
+
+        List<QueryResponse> result = new ArrayList<>(result());
+        List<QueryResponse> returned = cache.put(queryRequest, result, cache.generation(queryRequest));
+        result.clear();
+
+        assertSame(returned, cache.get(queryRequest));
+        assertEquals(1, returned.size());
+    }
+
+    @Test
+    public void testEvictsLeastRecentlyUsed() {
+        SemanticQueryCache cache = SemanticQueryCache.builder().maxEntries(2).build();
+        put(cache, query(10, 1f, 0f), result());
+        put(cache, query(10, 0f, 1f), result());
+        cache.get(query(10, 1f, 0f));
+        put(cache, query(10, -1f, 0f), result());
+
+        assertNotNull(cache.get(query(10, 1f, 0f)));
+        assertNull(cache.get(query(10, 0f, 1f)));
+        assertEquals(1, cache.getStats().getEvictions());
+    }
+
+    @Test
+    public void testEstimateHitRate() {
+        SemanticQueryCache cache = SemanticQueryCache.builder().similarityThreshold(0.999).build();
+        put(cache, query(10, 1f, 0f), result());
+        // cosine similarity of about 0.995
+        cache.get(query(10, 1f, 0.1f));
+        cache.get(query(10, 1f, 0f));
+
+        assertEquals(0.5, cache.getStats().getHitRate());
+        assertEquals(1.0, cache.estimateHitRate(0.99));
+        assertEquals(0.5, cache.estimateHitRate(0.999));
+    }
+}
@@ -0,0 +1,196 @@
+package io.clue2solve.pinecone.javaclient.grpc;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.clue2solve.pinecone.javaclient.model.FetchRequest;
+import io.clue2solve.pinecone.javaclient.model.FetchResponse;
+import io.clue2solve.pinecone.javaclient.model.Filter;
+import io.clue2solve.pinecone.javaclient.model.IndexStats;
+import io.clue2solve.pinecone.javaclient.model.QueryRequest;
+import io.clue2solve.pinecone.javaclient.model.QueryResponse;
+import io.clue2solve.pinecone.javaclient.model.UpsertRequest;
+import io.clue2solve.pinecone.javaclient.model.UpsertVector;
+import io.clue2solve.pinecone.javaclient.utils.OkHttpClientWrapper;
+import okhttp3.Headers;
+import okhttp3.HttpUrl;
+import okhttp3.OkHttpClient;
+import okhttp3.Protocol;
+import okhttp3.mockwebserver.MockResponse;
+import okhttp3.mockwebserver.MockWebServer;
+import okhttp3.mockwebserver.RecordedRequest;
+import okio.Buffer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+/**
+ * Runs the gRPC client against a stub VectorService served over cleartext HTTP/2.
+ */
+public class PineconeGrpcClientTest {
+    private static final String ID = "6f1c2b4e-8a4d-4c7a-9a53-2f1b3c4d5e6f";
+
+    private MockWebServer server;
+    private PineconeGrpcClient client;
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        server = new MockWebServer();
+        server.setProtocols(List.of(Protocol.H2_PRIOR_KNOWLEDGE));
+        server.start();
+        HttpUrl stub = server.url("/");
+        OkHttpClient okHttpClient = new OkHttpClient.Builder()
+                .protocols(List.of(Protocol.H2_PRIOR_KNOWLEDGE))
+                // send the calls meant for the index hosts to the stub
+                .addInterceptor(chain -> chain.proceed(chain.request().newBuilder()
+                        .url(chain.request().url().newBuilder().scheme("http").host(stub.host()).port(stub.port()).build())
+                        .build()))
+                .build();
+        client = new PineconeGrpcClient("env", "project", "key");
+        client.setClient(new OkHttpClientWrapper(okHttpClient));
+    }
+
+    @AfterEach
+    public void tearDown() throws IOException {
+        server.shutdown();
+    }
+
+    private static MockResponse grpcResponse(ProtoWriter message) {
+        Buffer body = new Buffer().writeByte(0).writeInt((int) message.buffer().size());
+        body.write(message.buffer(), message.buffer().size());
+        return new MockResponse()
+                .setHeader("content-type", "application/grpc")
+                .setBody(body)
+                .setTrailers(Headers.of("grpc-status", "0"));
+    }
+
+    private static ProtoReader requestMessage(RecordedRequest request) throws IOException {
+        Buffer body = request.getBody();
+        assertEquals(0, body.readByte());
+        assertEquals(body.size() - 4, body.readInt());
+        return new ProtoReader(body);
+    }
+
+    @Test
+    public void testUpsertSendsPackedFloatsAndStructMetadata() throws Exception {
+        ProtoWriter response = new ProtoWriter().uint32(1, 1);
+        server.enqueue(grpcResponse(response));
+        UpsertRequest upsertRequest = new UpsertRequest("index", "ns", List.of(UpsertVector.builder()
+                .id("v1")
+                .values(new float[]{0.5f, -1.25f})
+                .metadata("{\"genre\":\"drama\",\"year\":2020,\"tags\":[\"a\",false],\"empty\":\"\",\"none\":null}")
+                .build()));
+
+        assertEquals(1, client.upsert(upsertRequest));
+
+        RecordedRequest request = server.takeRequest(5, TimeUnit.SECONDS);
+        assertEquals("/VectorService/Upsert", request.getPath());
+        assertEquals("application/grpc", request.getHeader("content-type"));
+        assertEquals("key", request.getHeader("api-key"));
+        ProtoReader message = requestMessage(request);
+        assertEquals(1, message.nextField());
+        ProtoReader vector = message.message();
+        assertEquals(1, vector.nextField());
+        assertEquals("v1", vector.string());
+        assertEquals(2, vector.nextField());
+        assertArrayEquals(new float[]{0.5f, -1.25f}, vector.floats(null));
+        assertEquals(3, vector.nextField());
+        assertEquals("{\"genre\":\"drama\",\"year\":2020.0,\"tags\":[\"a\",false],\"empty\":\"\",\"none\":null}",
+                VectorServiceCodec.structToJson(vector.message()));
+        assertEquals(2, message.nextField());
+        assertEquals("ns", message.string());
+    }
+
+    @Test
+    public void testQueryReturnsModels() throws Exception {
+        ProtoWriter response = new ProtoWriter();
+        ProtoWriter match = response.message()
+                .string(1, ID)
+                .float32(2, 0.75f)
+                .packedFloats(3, new float[]{1f, 2f});
+        match.endMessage(4, VectorServiceCodec.struct(match, new ObjectMapper()
+                .readTree("{\"genre\":\"drama\"}")));
+        response.endMessage(2, match).string(3, "ns");
+        server.enqueue(grpcResponse(response));
+
+        List<QueryResponse> matches = client.queryAsync(QueryRequest.builder()
+                .indexName("index")
+                .namespace("ns")
+                .vector(new float[]{1f, 2f})
+                .top_k(3)
+                .includeValues(true)
+                .filter(Filter.in("genre", List.of("drama", "comedy")))
+                .build()).get(5, TimeUnit.SECONDS);
+
+        assertEquals(1, matches.size());
+        assertEquals(ID, matches.get(0).getId().toString());
+        assertEquals(0.75, matches.get(0).getScore());
+        assertArrayEquals(new float[]{1f, 2f}, matches.get(0).getValuesArray());
+        assertEquals("{\"genre\":\"drama\"}", matches.get(0).getMetadata());
+        RecordedRequest request = server.takeRequest();
+        assertEquals("/VectorService/Query", request.getPath());
+        ProtoReader message = requestMessage(request);
+        assertEquals(1, message.nextField());
+        assertEquals("ns", message.string());
+        assertEquals(2, message.nextField());
+        assertEquals(3, message.uint());
+        assertEquals(3, message.nextField());
+        assertEquals("{\"genre\":{\"$in\":[\"drama\",\"comedy\"]}}", VectorServiceCodec.structToJson(message.message()));
+    }
+
+    @Test
+    public void testFetchAllReturnsVectorsById() throws Exception {
+        ProtoWriter response = new ProtoWriter();
+        ProtoWriter entry = response.message().string(1, ID);
+        entry.endMessage(2, entry.message().string(1, ID).packedFloats(2, new float[]{3f}));
+        response.endMessage(1, entry).string(2, "ns");
+        server.enqueue(grpcResponse(response));
+
+        Map<String, FetchResponse> vectors = client.fetchAll(new FetchRequest("index", "ns", new String[]{ID, "missing"}));
+
+        assertEquals(1, vectors.size());
+        assertArrayEquals(new float[]{3f}, vectors.get(ID).getValuesArray());
+        assertEquals("ns", vectors.get(ID).getNameSpace());
+        ProtoReader request = requestMessage(server.takeRequest());
+        assertEquals(1, request.nextField());
+        assertEquals(ID, request.string());
+        assertEquals(1, request.nextField());
+        assertEquals("missing", request.string());
+    }
+
+    @Test
+    public void testDescribeIndexStats() throws Exception {
+        ProtoWriter response = new ProtoWriter();
+        ProtoWriter entry = response.message().string(1, "ns");
+        entry.endMessage(2, entry.message().uint32(1, 42));
+        response.endMessage(1, entry).uint32(2, 1536).float32(3, 0.5f).uint32(4, 42);
+        server.enqueue(grpcResponse(response));
+
+        IndexStats stats = client.describeIndexStats("index");
+
+        assertEquals(1536, stats.getDimension());
+        assertEquals(0.5f, stats.getIndexFullness());
+        assertEquals(42, stats.getTotalVectorCount());
+        assertEquals(Map.of("ns", 42L), stats.getNamespaces());
+    }
+
+    @Test
+    public void testFailedStatusThrows() {
+        server.enqueue(new MockResponse()
+                .setHeader("content-type", "application/grpc")
+                .setHeader("grpc-status", "3")
+                .setHeader("grpc-message", "Vector%20dimension%20mismatch"));
+
+        GrpcStatusException e = assertThrows(GrpcStatusException.class, () -> client.describeIndexStats("index"));
+
+        assertEquals(3, e.getStatus());
+        assertEquals("gRPC status 3: Vector dimension mismatch", e.getMessage());
+    }
+}
@@ -0,0 +1,49 @@
+package io.clue2solve.pinecone.javaclient.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FetchRequestTest {
+
+    private static FetchRequest request(int count) {
+        String[] ids = IntStream.range(0, count).mapToObj(i -> "id-" + i).toArray(String[]::new);
+        return new FetchRequest("index", "ns", ids);
+    }
+
+    @Test
+    public void testSplitByIdCount() {
+        List<FetchRequest> chunks = request(25).split(10, Integer.MAX_VALUE);
+
+        assertEquals(3, chunks.size());
+        assertEquals(10, chunks.get(0).getIds().length);
+        assertEquals(5, chunks.get(2).getIds().length);
+        assertEquals("id-20", chunks.get(2).getIds()[0]);
+        assertEquals("ns", chunks.get(2).getNameSpace());
+    }
+
+    @Test
+    public void testSplitByQueryLength() {
+        // "namespace=ns" is 12 characters and every "&ids=id-N" 9 characters
+        List<FetchRequest> chunks = request(10).split(100, 12 + 3 * 9);
+
+        assertEquals(4, chunks.size());
+        assertArrayEquals(new String[]{"id-0", "id-1", "id-2"}, chunks.get(0).getIds());
+        assertTrue(chunks.stream().allMatch(chunk -> chunk.getIds().length <= 3));
+    }
+
+    @Test
+    public void testSplitKeepsAnOversizedIdInItsOwnRequest() {
+        FetchRequest request = new FetchRequest("index", "ns", new String[]{"a", "é".repeat(100), "b"});
+
+        List<FetchRequest> chunks = request.split(100, 50);
+
+        assertEquals(3, chunks.size());
+        assertEquals(0, new FetchRequest("index", "ns", new String[0]).split(10, 50).size());
+    }
+}
@@ -0,0 +1,82 @@
+package io.clue2solve.pinecone.javaclient.model;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class FilterTest {
+
+    @Test
+    public void testCompilesOperators() {
+        Filter filter = Filter.and(
+                Filter.eq("tenant", "acme"),
+                Filter.or(Filter.in("genre", List.of("comedy", "drama")), Filter.exists("award", true)),
+                Filter.gte("year", 2020),
+                Filter.lt("rating", 4.5),
+                Filter.ne("title", "Say \"hi\""));
+
+        assertEquals("{\"$and\":[{\"tenant\":{\"$eq\":\"acme\"}},"
+                        + "{\"$or\":[{\"genre\":{\"$in\":[\"comedy\",\"drama\"]}},{\"award\":{\"$exists\":true}}]},"
+                        + "{\"year\":{\"$gte\":2020}},{\"rating\":{\"$lt\":4.5}},{\"title\":{\"$ne\":\"Say \\\"hi\\\"\"}}]}",
+                filter.toJson());
+    }
+
+    @Test
+    public void testBindsTemplateParameters() {
+        Filter template = Filter.and(
+                Filter.eq("tenant", Filter.param("tenant")),
+                Filter.nin("genre", Filter.param("excluded")),
+                Filter.gte("year", 2020));
+
+        assertEquals(Set.of("tenant", "excluded"), template.getParameterNames());
+        assertThrows(IllegalStateException.class, template::toJson);
+
+        Filter partial = template.bind("tenant", "acme");
+        assertEquals(Set.of("excluded"), partial.getParameterNames());
+        Filter bound = partial.bind(Map.of("excluded", List.of("horror")));
+        assertEquals("{\"$and\":[{\"tenant\":{\"$eq\":\"acme\"}},{\"genre\":{\"$nin\":[\"horror\"]}},{\"year\":{\"$gte\":2020}}]}",
+                bound.toJson());
+        assertEquals(Filter.and(Filter.eq("tenant", "acme"), Filter.nin("genre", List.of("horror")), Filter.gte("year", 2020)),
+                bound);
+        assertNotEquals(bound, template.bind(Map.of("tenant", "other", "excluded", List.of("horror"))));
+        assertSame(template, template.bind("unknown", 1));
+    }
+
+    @Test
+    public void testRejectsUnsupportedValues() {
+        assertThrows(IllegalArgumentException.class, () -> Filter.eq("tenant", new Object()));
+        assertThrows(IllegalArgumentException.class, () -> Filter.in("genre", "drama"));
+        assertThrows(IllegalArgumentException.class, () -> Filter.eq("genre", List.of("drama")));
+        assertThrows(IllegalArgumentException.class, Filter::and);
+    }
+
+    @Test
+    public void testBindChecksValuesAgainstTheOperatorOfTheParameter() {
+        Filter template = Filter.and(Filter.in("genre", Filter.param("genres")), Filter.eq("tenant", Filter.param("tenant")));
+
+        assertThrows(IllegalArgumentException.class, () -> template.bind("genres", "drama"));
+        assertThrows(IllegalArgumentException.class, () -> template.bind("tenant", List.of("acme")));
+        // the operator survives partial binding
+        assertThrows(IllegalArgumentException.class, () -> template.bind("tenant", "acme").bind("genres", "drama"));
+    }
+
+    @Test
+    public void testKeepsOneEncodingPerFilter() {
+        Filter filter = Filter.eq("tenant", "acme");
+        AtomicInteger encoded = new AtomicInteger();
+
+        assertEquals(filter.toJson().length(), filter.encoding(Integer.class, f -> encoded.incrementAndGet() * f.toJson().length()));
+        assertEquals(filter.toJson().length(), filter.encoding(Integer.class, f -> encoded.incrementAndGet() * f.toJson().length()));
+        assertEquals(1, encoded.get());
+        assertThrows(IllegalStateException.class,
+                () -> Filter.eq("tenant", Filter.param("tenant")).encoding(Integer.class, f -> 0));
+    }
+}
@@ -0,0 +1,54 @@
+package io.clue2solve.pinecone.javaclient.ratelimit;
+
+import io.clue2solve.pinecone.javaclient.PineconeDBClient.EndPoints;
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class RateLimiterTest {
+
+    @Test
+    public void testTryAcquireWithinBurst() {
+        RateLimiter rateLimiter = new RateLimiter();
+        rateLimiter.setLimit(EndPoints.QUERY, RateLimit.perSecond(1).withBurst(2));
+
+        assertTrue(rateLimiter.tryAcquire("index", EndPoints.QUERY, 1));
+        assertTrue(rateLimiter.tryAcquire("index", EndPoints.QUERY, 1));
+        assertFalse(rateLimiter.tryAcquire("index", EndPoints.QUERY, 1));
+        // every index has its own bucket, and operations without a quota are not limited
+        assertTrue(rateLimiter.tryAcquire("other", EndPoints.QUERY, 1));
+        assertTrue(rateLimiter.tryAcquire("index", EndPoints.FETCH, 1_000));
+        assertEquals(1, rateLimiter.getStats("index", EndPoints.QUERY).getRejectedAcquisitions());
+    }
+
+    @Test
+    public void testReserveQueuesBehindDebt() {
+        RateLimiter rateLimiter = new RateLimiter();
+        rateLimiter.setLimit("index", EndPoints.UPSERT, RateLimit.perSecond(1000));
+
+        assertEquals(0, rateLimiter.reserve("index", EndPoints.UPSERT, 1000));
+        long wait = rateLimiter.reserve("index", EndPoints.UPSERT, 500);
+        assertTrue(wait > TimeUnit.MILLISECONDS.toNanos(400) && wait <= TimeUnit.MILLISECONDS.toNanos(500), String.valueOf(wait));
+        long next = rateLimiter.reserve("index", EndPoints.UPSERT, 500);
+        assertTrue(next > wait, next + " > " + wait);
+
+        RateLimitStats stats = rateLimiter.getStats("index", EndPoints.UPSERT);
+        assertEquals(2000, stats.getAcquiredPermits());
+        assertEquals(2, stats.getDelayedAcquisitions());
+        assertEquals(next, stats.getMaxWait().toNanos());
+    }
+
+    @Test
+    public void testOversizedRequestWaitsForFullBucket() throws InterruptedException {
+        TokenBucket bucket = new TokenBucket(100, 10);
+
+        assertTrue(bucket.tryAcquire(50));
+        assertFalse(bucket.tryAcquire(1));
+        Thread.sleep(50);
+        assertFalse(bucket.tryAcquire(1));
+    }
+}
@@ -0,0 +1,197 @@
+package io.clue2solve.pinecone.javaclient.transport;
+
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import io.clue2solve.pinecone.javaclient.utils.RetryInterceptor;
+import io.clue2solve.pinecone.javaclient.utils.RetryPolicy;
+import okhttp3.Call;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicReference;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Behaviour every {@link HttpTransport} must have, checked against a local stub server.
+ */
+public abstract class HttpTransportContractTest {
+    private static final MediaType JSON = MediaType.get("application/json");
+
+    private HttpServer server;
+    private ExecutorService serverExecutor;
+    private final AtomicInteger flakyCalls = new AtomicInteger();
+    private final CountDownLatch slowStarted = new CountDownLatch(1);
+    private final CountDownLatch release = new CountDownLatch(1);
+
+    protected abstract HttpTransport createTransport(List<Interceptor> interceptors);
+
+    @BeforeEach
+    public void startServer() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.createContext("/echo", exchange -> {
+            String body = new String(exchange.getRequestBody().readAllBytes(), StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("X-Api-Key", String.valueOf(exchange.getRequestHeaders().getFirst("Api-Key")));
+            exchange.getResponseHeaders().add("X-Trace", String.valueOf(exchange.getRequestHeaders().getFirst("X-Trace")));
+            respond(exchange, 200, exchange.getRequestMethod() + " " + body);
+        });
+        server.createContext("/unavailable", exchange -> respond(exchange, 503, "{\"message\":\"unavailable\"}"));
+        server.createContext("/flaky", exchange -> respond(exchange, flakyCalls.incrementAndGet() < 3 ? 503 : 200, "{}"));
+        server.createContext("/slow", exchange -> {
+            slowStarted.countDown();
+            try {
+                release.await(5, TimeUnit.SECONDS);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+            }
+            respond(exchange, 200, "{}");
+        });
+        serverExecutor = Executors.newCachedThreadPool();
+        server.setExecutor(serverExecutor);
+        server.start();
+    }
+
+    @AfterEach
+    public void stopServer() {
+        release.countDown();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    private static void respond(HttpExchange exchange, int code, String body) throws IOException {
+        byte[] bytes = body.getBytes(StandardCharsets.UTF_8);
+        exchange.getResponseHeaders().add("Content-Type", "application/json");
+        if ("HEAD".equals(exchange.getRequestMethod())) {
+            exchange.sendResponseHeaders(code, -1);
+        } else {
+            exchange.sendResponseHeaders(code, bytes.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(bytes);
+            }
+        }
+        exchange.close();
+    }
+
+    private String url(String path) {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + path;
+    }
+
+    @Test
+    public void testExecutesPostWithHeadersAndBody() throws IOException {
+        HttpTransport transport = createTransport(List.of());
+        Request request = new Request.Builder()
+                .url(url("/echo"))
+                .addHeader("Api-Key", "key")
+                .post(RequestBody.create("{\"topK\":1}", JSON))
+                .build();
+
+        try (Response response = transport.execute(request)) {
+            assertEquals(200, response.code());
+            assertEquals("key", response.header("X-Api-Key"));
+            assertEquals("application/json", response.body().contentType().toString());
+            assertEquals("POST {\"topK\":1}", response.body().string());
+        }
+    }
+
+    @Test
+    public void testReturnsErrorStatusWithBody() throws IOException {
+        HttpTransport transport = createTransport(List.of());
+
+        try (Response response = transport.execute(new Request.Builder().url(url("/unavailable")).build())) {
+            assertEquals(503, response.code());
+            assertEquals("{\"message\":\"unavailable\"}", response.body().string());
+        }
+    }
+
+    @Test
+    public void testExecutesHeadWithoutBody() throws IOException {
+        HttpTransport transport = createTransport(List.of());
+
+        try (Response response = transport.execute(new Request.Builder().url(url("/echo")).head().build())) {
+            assertEquals(200, response.code());
+            assertEquals("", response.body().string());
+        }
+    }
+
+    @Test
+    public void testEnqueueCompletesWithResponse() throws Exception {
+        HttpTransport transport = createTransport(List.of());
+        Request request = new Request.Builder().url(url("/echo")).post(RequestBody.create("[]", JSON)).build();
+
+        try (Response response = transport.enqueue(request).get(5, TimeUnit.SECONDS)) {
+            assertEquals("POST []", response.body().string());
+        }
+    }
+
+    @Test
+    public void testRunsInterceptorsInOrder() throws Exception {
+        Interceptor outer = chain -> chain.proceed(chain.request().newBuilder().header("X-Trace", "outer").build());
+        Interceptor inner = chain -> chain.proceed(chain.request().newBuilder()
+                .header("X-Trace", chain.request().header("X-Trace") + ",inner").build());
+        HttpTransport transport = createTransport(List.of(outer, inner));
+
+        try (Response response = transport.enqueue(new Request.Builder().url(url("/echo")).build()).get(5, TimeUnit.SECONDS)) {
+            assertEquals("outer,inner", response.header("X-Trace"));
+        }
+    }
+
+    @Test
+    public void testEnqueueSendsLargeBodyThroughInterceptors() throws Exception {
+        HttpTransport transport = createTransport(List.of(chain -> chain.proceed(chain.request())));
+        String body = "[" + "0.25,".repeat(100_000) + "1]";
+        Request request = new Request.Builder().url(url("/echo")).post(RequestBody.create(body, JSON)).build();
+
+        try (Response response = transport.enqueue(request).get(5, TimeUnit.SECONDS)) {
+            assertEquals("POST " + body, response.body().string());
+        }
+    }
+
+    @Test
+    public void testRetryInterceptorRetriesThroughTransport() throws IOException {
+        HttpTransport transport = createTransport(List.of(new RetryInterceptor()));
+        Request request = new Request.Builder()
+                .url(url("/flaky"))
+                .tag(RetryPolicy.class, RetryPolicy.builder().maxAttempts(3).baseDelay(Duration.ofMillis(1)).build())
+                .build();
+
+        try (Response response = transport.execute(request)) {
+            assertEquals(200, response.code());
+        }
+        assertEquals(3, flakyCalls.get());
+    }
+
+    @Test
+    public void testCancellingEnqueuedRequestCancelsCall() throws Exception {
+        AtomicReference<Call> call = new AtomicReference<>();
+        HttpTransport transport = createTransport(List.of(chain -> {
+            call.set(chain.call());
+            return chain.proceed(chain.request());
+        }));
+
+        CompletableFuture<Response> future = transport.enqueue(new Request.Builder().url(url("/slow")).build());
+        assertTrue(slowStarted.await(5, TimeUnit.SECONDS));
+        future.cancel(true);
+
+        assertTrue(call.get().isCanceled());
+    }
+}
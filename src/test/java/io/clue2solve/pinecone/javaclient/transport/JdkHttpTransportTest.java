@@ -0,0 +1,14 @@
+package io.clue2solve.pinecone.javaclient.transport;
+
+import okhttp3.Interceptor;
+
+import java.util.List;
+
+public class JdkHttpTransportTest extends HttpTransportContractTest {
+    private static final JdkHttpTransportFactory FACTORY = JdkHttpTransportFactory.builder().build();
+
+    @Override
+    protected HttpTransport createTransport(List<Interceptor> interceptors) {
+        return FACTORY.create(interceptors);
+    }
+}
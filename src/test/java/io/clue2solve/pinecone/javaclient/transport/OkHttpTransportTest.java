@@ -0,0 +1,14 @@
+package io.clue2solve.pinecone.javaclient.transport;
+
+import io.clue2solve.pinecone.javaclient.PineconeClientConfig;
+import okhttp3.Interceptor;
+
+import java.util.List;
+
+public class OkHttpTransportTest extends HttpTransportContractTest {
+
+    @Override
+    protected HttpTransport createTransport(List<Interceptor> interceptors) {
+        return PineconeClientConfig.DEFAULT.createTransport(interceptors);
+    }
+}
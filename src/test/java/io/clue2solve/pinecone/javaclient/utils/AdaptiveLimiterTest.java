@@ -0,0 +1,62 @@
+package io.clue2solve.pinecone.javaclient.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class AdaptiveLimiterTest {
+
+    private static void saturate(AdaptiveLimiter limiter) throws InterruptedException {
+        while (limiter.getInFlight() < limiter.getLimit()) {
+            assertTrue(limiter.acquire(0));
+        }
+    }
+
+    @Test
+    public void testRejectsBeyondLimit() throws InterruptedException {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(ConcurrencyLimitPolicy.builder().initialLimit(2).build());
+        assertTrue(limiter.acquire(0));
+        assertTrue(limiter.acquire(0));
+
+        assertFalse(limiter.acquire(TimeUnit.MILLISECONDS.toNanos(10)));
+        limiter.onIgnored();
+        assertTrue(limiter.acquire(0));
+    }
+
+    @Test
+    public void testAimdGrowsOnSuccessAndBacksOffOnThrottling() throws InterruptedException {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(ConcurrencyLimitPolicy.builder()
+                .algorithm(ConcurrencyLimitPolicy.Algorithm.AIMD)
+                .initialLimit(10)
+                .backoffRatio(0.5)
+                .build());
+        saturate(limiter);
+        limiter.onSuccess(1_000_000);
+        assertEquals(11, limiter.getLimit());
+
+        limiter.onDropped();
+        assertEquals(5, limiter.getLimit());
+    }
+
+    @Test
+    public void testGradientStopsGrowingWhenLatencyRises() throws InterruptedException {
+        AdaptiveLimiter limiter = new AdaptiveLimiter(ConcurrencyLimitPolicy.builder().initialLimit(16).build());
+        for (int i = 0; i < 50; i++) {
+            saturate(limiter);
+            limiter.onSuccess(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+        int grown = limiter.getLimit();
+        assertTrue(grown > 16, String.valueOf(grown));
+
+        // latency four times the minimum halves the gradient, which outweighs the queue allowance
+        for (int i = 0; i < 50; i++) {
+            saturate(limiter);
+            limiter.onSuccess(TimeUnit.MILLISECONDS.toNanos(40));
+        }
+        assertTrue(limiter.getLimit() < grown, limiter.getLimit() + " < " + grown);
+    }
+}
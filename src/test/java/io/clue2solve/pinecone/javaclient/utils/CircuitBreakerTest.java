@@ -0,0 +1,101 @@
+package io.clue2solve.pinecone.javaclient.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+
+public class CircuitBreakerTest {
+
+    private static CircuitBreaker breaker(List<String> transitions, Duration openDuration) {
+        return new CircuitBreaker("host", CircuitBreakerPolicy.builder()
+                .windowSize(10)
+                .minimumCalls(4)
+                .openDuration(openDuration)
+                .halfOpenCalls(2)
+                .listener((host, from, to) -> transitions.add(from + "->" + to))
+                .build());
+    }
+
+    private static void call(CircuitBreaker breaker, boolean success, long durationNanos) {
+        breaker.onResult(breaker.tryAcquire(), success, durationNanos);
+    }
+
+    @Test
+    public void testOpensOnFailureRate() {
+        List<String> transitions = new ArrayList<>();
+        CircuitBreaker breaker = breaker(transitions, Duration.ofMinutes(1));
+        call(breaker, true, 0);
+        call(breaker, true, 0);
+        call(breaker, false, 0);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+
+        call(breaker, false, 0);
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+        assertEquals(CircuitBreaker.NOT_PERMITTED, breaker.tryAcquire());
+        assertEquals(List.of("CLOSED->OPEN"), transitions);
+    }
+
+    @Test
+    public void testOpensOnSlowCallRate() {
+        CircuitBreaker breaker = breaker(new ArrayList<>(), Duration.ofMinutes(1));
+        long slow = CircuitBreakerPolicy.DEFAULT_SLOW_CALL_DURATION.toNanos();
+        for (int i = 0; i < 4; i++) {
+            call(breaker, true, slow);
+        }
+
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+
+    @Test
+    public void testHalfOpenTrialsCloseOrReopen() throws InterruptedException {
+        List<String> transitions = new ArrayList<>();
+        CircuitBreaker breaker = breaker(transitions, Duration.ofMillis(10));
+        for (int i = 0; i < 4; i++) {
+            call(breaker, false, 0);
+        }
+        Thread.sleep(20);
+
+        long trial = breaker.tryAcquire();
+        assertNotEquals(CircuitBreaker.NOT_PERMITTED, trial);
+        assertNotEquals(CircuitBreaker.NOT_PERMITTED, breaker.tryAcquire());
+        assertEquals(CircuitBreaker.NOT_PERMITTED, breaker.tryAcquire());
+        breaker.onResult(trial, false, 0);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+
+        Thread.sleep(20);
+        long first = breaker.tryAcquire();
+        long second = breaker.tryAcquire();
+        breaker.onResult(first, true, 0);
+        breaker.onResult(second, true, 0);
+        assertEquals(CircuitBreaker.State.CLOSED, breaker.getState());
+        assertEquals(List.of("CLOSED->OPEN", "OPEN->HALF_OPEN", "HALF_OPEN->OPEN", "OPEN->HALF_OPEN", "HALF_OPEN->CLOSED"), transitions);
+    }
+
+    @Test
+    public void testIgnoresOutcomesOfCallsPermittedBeforeATransition() throws InterruptedException {
+        CircuitBreaker breaker = breaker(new ArrayList<>(), Duration.ofMillis(10));
+        long closedCall = breaker.tryAcquire();
+        for (int i = 0; i < 4; i++) {
+            call(breaker, false, 0);
+        }
+        Thread.sleep(20);
+        long trial = breaker.tryAcquire();
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+
+        // a call from the closed state neither counts as a trial nor frees a trial slot
+        breaker.onResult(closedCall, true, 0);
+        breaker.onIgnored(closedCall);
+        assertNotEquals(CircuitBreaker.NOT_PERMITTED, breaker.tryAcquire());
+        assertEquals(CircuitBreaker.NOT_PERMITTED, breaker.tryAcquire());
+        assertEquals(CircuitBreaker.State.HALF_OPEN, breaker.getState());
+
+        breaker.onResult(trial, false, 0);
+        assertEquals(CircuitBreaker.State.OPEN, breaker.getState());
+    }
+}
@@ -0,0 +1,60 @@
+package io.clue2solve.pinecone.javaclient.utils;
+
+import okhttp3.Call;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+public class ConcurrencyLimitInterceptorTest {
+
+    private static Interceptor.Chain chain() throws IOException {
+        Request request = new Request.Builder().url("https://index.example.com/query").build();
+        Interceptor.Chain chain = mock(Interceptor.Chain.class);
+        when(chain.request()).thenReturn(request);
+        when(chain.call()).thenReturn(mock(Call.class));
+        when(chain.proceed(any())).thenAnswer(invocation -> new Response.Builder()
+                .request(invocation.getArgument(0))
+                .protocol(Protocol.HTTP_1_1)
+                .code(200)
+                .message("OK")
+                .body(ResponseBody.create("{\"matches\":[]}", MediaType.get("application/json")))
+                .build());
+        return chain;
+    }
+
+    @Test
+    public void testHoldsTheSlotUntilTheBodyIsClosed() throws IOException {
+        ConcurrencyLimitInterceptor interceptor = new ConcurrencyLimitInterceptor();
+        interceptor.setPolicy(ConcurrencyLimitPolicy.builder()
+                .minLimit(1)
+                .initialLimit(1)
+                .maxLimit(1)
+                .maxQueueWait(Duration.ZERO)
+                .build());
+
+        Response response = interceptor.intercept(chain());
+        AdaptiveLimiter limiter = interceptor.getLimiter("index.example.com");
+        assertEquals(1, limiter.getInFlight());
+        // a zero queue wait rejects at once instead of blocking the calling thread
+        assertThrows(RejectedCallException.class, () -> interceptor.intercept(chain()));
+        assertEquals(1, interceptor.getRejectedCount());
+
+        assertEquals("{\"matches\":[]}", response.body().string());
+        assertEquals(0, limiter.getInFlight());
+        response.close();
+        assertEquals(0, limiter.getInFlight());
+    }
+}
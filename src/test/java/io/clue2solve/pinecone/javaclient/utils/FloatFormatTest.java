@@ -0,0 +1,54 @@
+package io.clue2solve.pinecone.javaclient.utils;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.core.StreamWriteFeature;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class FloatFormatTest {
+    private static final JsonFactory JSON_FACTORY = JsonFactory.builder()
+            .enable(StreamWriteFeature.USE_FAST_DOUBLE_WRITER)
+            .build();
+
+    private static String json(float... values) throws IOException {
+        StringWriter json = new StringWriter();
+        try (JsonGenerator generator = JSON_FACTORY.createGenerator(json)) {
+            FloatFormat.writeArray(generator, values);
+        }
+        return json.toString();
+    }
+
+    @Test
+    public void testWritesShortestForm() throws IOException {
+        assertEquals("[1.0,-0.0,0.1,0.05,100.0,1.0E-5,1.5E10,0.012345679,-0.25,3.0E-7]",
+                json(1f, -0f, 0.1f, 0.05f, 100f, 1e-5f, 1.5e10f, 0.012345678901234567f, -0.25f, 3e-7f));
+    }
+
+    @Test
+    public void testRoundTripsEveryFloat() throws IOException {
+        Random random = new Random(42);
+        for (int i = 0; i < 100_000; i++) {
+            float value = Float.intBitsToFloat(random.nextInt());
+            if (Float.isFinite(value)) {
+                String json = json(value);
+                String text = json.substring(1, json.length() - 1);
+                assertEquals(value, Float.parseFloat(text), text);
+                assertTrue(text.length() <= FloatFormat.MAX_LENGTH, text);
+            }
+        }
+    }
+
+    @Test
+    public void testRejectsValuesThatAreNotFinite() {
+        assertThrows(IllegalArgumentException.class, () -> json(1f, Float.NaN));
+        assertThrows(IllegalArgumentException.class, () -> json(Float.NEGATIVE_INFINITY));
+    }
+}
@@ -0,0 +1,138 @@
+package io.clue2solve.pinecone.javaclient.utils;
+
+import io.clue2solve.pinecone.javaclient.model.UpsertRequest;
+import io.clue2solve.pinecone.javaclient.model.UpsertVector;
+import okhttp3.Interceptor;
+import okhttp3.MediaType;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import okio.Buffer;
+import okio.BufferedSink;
+import okio.GzipSource;
+import okio.Okio;
+import org.junit.jupiter.api.Test;
+import org.mockito.ArgumentCaptor;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class GzipRequestInterceptorTest {
+
+    private static Request upsert(int vectors) {
+        List<UpsertVector> upsertVectors = new ArrayList<>();
+        for (int i = 0; i < vectors; i++) {
+            upsertVectors.add(UpsertVector.builder()
+                    .id("id-" + i)
+                    .values(new float[]{0.25f, 0.5f, 0.75f, 1f})
+                    .metadata("{\"genre\":\"drama\"}")
+                    .build());
+        }
+        return new Request.Builder()
+                .url("https://index.example.com/vectors/upsert")
+                .post(new JsonRequestBody(new UpsertRequest("index", "ns", upsertVectors)))
+                .build();
+    }
+
+    private static Request proceed(Interceptor interceptor, Request request) throws IOException {
+        Interceptor.Chain chain = mock(Interceptor.Chain.class);
+        when(chain.request()).thenReturn(request);
+        when(chain.proceed(any())).thenAnswer(invocation -> new Response.Builder()
+                .request(invocation.getArgument(0))
+                .protocol(Protocol.HTTP_1_1)
+                .code(200)
+                .message("")
+                .body(ResponseBody.create("", null))
+                .build());
+        interceptor.intercept(chain);
+        ArgumentCaptor<Request> sent = ArgumentCaptor.forClass(Request.class);
+        verify(chain).proceed(sent.capture());
+        return sent.getValue();
+    }
+
+    @Test
+    public void testCompressesBodiesAboveTheThreshold() throws IOException {
+        GzipRequestInterceptor interceptor = new GzipRequestInterceptor();
+        interceptor.setPolicy(CompressionPolicy.builder().minBytes(1024).level(6).build());
+        Request request = upsert(200);
+
+        Request sent = proceed(interceptor, request);
+
+        assertEquals("gzip", sent.header("Content-Encoding"));
+        Buffer compressed = new Buffer();
+        sent.body().writeTo(compressed);
+        long compressedSize = compressed.size();
+        Buffer original = new Buffer();
+        request.body().writeTo(original);
+        assertEquals(original.readUtf8(), Okio.buffer(new GzipSource(compressed)).readUtf8());
+        CompressionStats stats = interceptor.getStats();
+        assertEquals(1, stats.getCompressedRequests());
+        assertEquals(compressedSize, stats.getCompressedBytes());
+        assertTrue(stats.getCompressionRatio() < 0.5);
+    }
+
+    @Test
+    public void testBodyFailingMidwayIsNotFinished() throws IOException {
+        GzipRequestInterceptor interceptor = new GzipRequestInterceptor();
+        interceptor.setPolicy(CompressionPolicy.builder().minBytes(1024).build());
+        RequestBody failing = new RequestBody() {
+            @Override
+            public MediaType contentType() {
+                return null;
+            }
+
+            @Override
+            public long contentLength() {
+                return 1 << 20;
+            }
+
+            @Override
+            public void writeTo(BufferedSink sink) throws IOException {
+                sink.writeUtf8("x".repeat(64 * 1024));
+                throw new IOException("source failed");
+            }
+        };
+        Request sent = proceed(interceptor, new Request.Builder().url("https://index.example.com/vectors/upsert")
+                .post(failing).build());
+
+        Buffer compressed = new Buffer();
+        assertThrows(IOException.class, () -> sent.body().writeTo(compressed));
+        // without the gzip trailer the server cannot take the truncated body for a complete one
+        assertThrows(EOFException.class, () -> Okio.buffer(new GzipSource(compressed)).readUtf8());
+    }
+
+    @Test
+    public void testSendsSmallBodiesUncompressed() throws IOException {
+        GzipRequestInterceptor interceptor = new GzipRequestInterceptor();
+        interceptor.setPolicy(CompressionPolicy.builder().minBytes(64 * 1024).build());
+        Request request = upsert(1);
+
+        Request sent = proceed(interceptor, request);
+
+        assertSame(request, sent);
+        assertNull(sent.header("Content-Encoding"));
+        assertEquals(1, interceptor.getStats().getSkippedRequests());
+        assertEquals(0, interceptor.getStats().getCompressedRequests());
+    }
+
+    @Test
+    public void testPassesThroughWithoutPolicy() throws IOException {
+        Request request = upsert(200);
+
+        assertSame(request, proceed(new GzipRequestInterceptor(), request));
+    }
+}
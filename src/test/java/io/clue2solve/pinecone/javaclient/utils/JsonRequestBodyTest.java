@@ -0,0 +1,95 @@
+package io.clue2solve.pinecone.javaclient.utils;
+
+import io.clue2solve.pinecone.javaclient.model.DeleteRequest;
+import io.clue2solve.pinecone.javaclient.model.Filter;
+import io.clue2solve.pinecone.javaclient.model.QueryRequest;
+import io.clue2solve.pinecone.javaclient.model.UpsertRequest;
+import io.clue2solve.pinecone.javaclient.model.UpsertVector;
+import okio.Buffer;
+import org.junit.jupiter.api.Test;
+
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+public class JsonRequestBodyTest {
+
+    private static String write(JsonWritable writable) throws Exception {
+        Buffer buffer = new Buffer();
+        new JsonRequestBody(writable).writeTo(buffer);
+        return buffer.readUtf8();
+    }
+
+    @Test
+    public void testUpsertBody() throws Exception {
+        UpsertRequest upsertRequest = UpsertRequest.builder()
+                .indexName("index")
+                .namespace("ns")
+                .upsertVectorsList(Collections.singletonList(UpsertVector.builder()
+                        .id("id-1")
+                        .values(new float[]{0.94f, 0.69f, 0.23f})
+                        .metadata("{\"page\":\"460\"}")
+                        .build()))
+                .build();
+
+        assertEquals("{\"namespace\":\"ns\",\"vectors\":[{\"id\":\"id-1\",\"values\":[0.94,0.69,0.23],\"metadata\":{\"page\":\"460\"}}]}",
+                write(upsertRequest));
+        assertEquals(write(upsertRequest), upsertRequest.toString());
+        assertEquals("ns", upsertRequest.getRequestAsJson().getString("nameSpace"));
+        assertEquals("{\"page\":\"460\"}", upsertRequest.getRequestAsJson().getJSONArray("vectors")
+                .getJSONObject(0).getString("metadata"));
+    }
+
+    @Test
+    public void testQueryBody() throws Exception {
+        QueryRequest queryRequest = QueryRequest.builder()
+                .indexName("index")
+                .namespace("ns")
+                .vector(new float[]{0.5f, 0.25f})
+                .top_k(5)
+                .includeMetadata(true)
+                .build();
+
+        assertEquals("{\"namespace\":\"ns\",\"top_k\":5,\"includeValues\":false,\"includeMetadata\":true,\"vector\":[0.5,0.25]}",
+                write(queryRequest));
+    }
+
+    @Test
+    public void testQueryByIdBody() throws Exception {
+        QueryRequest queryRequest = QueryRequest.builder()
+                .indexName("index")
+                .namespace("ns")
+                .id("id-1")
+                .top_k(5)
+                .build();
+
+        assertEquals("{\"namespace\":\"ns\",\"top_k\":5,\"includeValues\":false,\"includeMetadata\":false,\"id\":\"id-1\"}",
+                write(queryRequest));
+    }
+
+    @Test
+    public void testQueryBodyWithFilter() throws Exception {
+        QueryRequest queryRequest = QueryRequest.builder()
+                .indexName("index")
+                .namespace("ns")
+                .vector(new float[]{0.5f})
+                .top_k(5)
+                .filter(Filter.eq("tenant", Filter.param("tenant")).bind("tenant", "acme"))
+                .build();
+
+        assertEquals("{\"namespace\":\"ns\",\"top_k\":5,\"includeValues\":false,\"includeMetadata\":false,"
+                        + "\"filter\":{\"tenant\":{\"$eq\":\"acme\"}},\"vector\":[0.5]}",
+                write(queryRequest));
+    }
+
+    @Test
+    public void testDeleteBody() throws Exception {
+        DeleteRequest deleteRequest = DeleteRequest.builder()
+                .indexName("index")
+                .namespace("ns")
+                .ids(new String[]{"id-1", "id-2"})
+                .build();
+
+        assertEquals("{\"ids\":[\"id-1\",\"id-2\"],\"namespace\":\"ns\"}", write(deleteRequest));
+    }
+}
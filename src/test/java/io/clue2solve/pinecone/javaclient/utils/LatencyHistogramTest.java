@@ -0,0 +1,40 @@
+package io.clue2solve.pinecone.javaclient.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class LatencyHistogramTest {
+
+    @Test
+    public void testPercentiles() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        assertEquals(-1, histogram.percentileNanos(95));
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(i));
+        }
+
+        long p50 = histogram.percentileNanos(50);
+        long p95 = histogram.percentileNanos(95);
+        assertTrue(p50 >= TimeUnit.MILLISECONDS.toNanos(50) && p50 <= TimeUnit.MILLISECONDS.toNanos(55), String.valueOf(p50));
+        assertTrue(p95 >= TimeUnit.MILLISECONDS.toNanos(95) && p95 <= TimeUnit.MILLISECONDS.toNanos(105), String.valueOf(p95));
+        assertEquals(100, histogram.getCount());
+    }
+
+    @Test
+    public void testDecayFollowsRecentLatencies() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int i = 0; i < 10_000; i++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(100));
+        }
+        for (int i = 0; i < 20_000; i++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(10));
+        }
+
+        assertTrue(histogram.percentileNanos(90) < TimeUnit.MILLISECONDS.toNanos(20));
+        assertTrue(histogram.getCount() < 10_000);
+    }
+}
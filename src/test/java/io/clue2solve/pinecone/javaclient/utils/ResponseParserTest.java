@@ -0,0 +1,79 @@
+package io.clue2solve.pinecone.javaclient.utils;
+
+import io.clue2solve.pinecone.javaclient.model.FetchResponse;
+import io.clue2solve.pinecone.javaclient.model.LazyQueryResponse;
+import io.clue2solve.pinecone.javaclient.model.QueryResponse;
+import org.junit.jupiter.api.Test;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+
+public class ResponseParserTest {
+    private static final String ID_1 = "b1ce7f35-41fc-4159-a9ab-a24c4de2abcd";
+    private static final String ID_2 = "c2ce7f35-41fc-4159-a9ab-a24c4de2abcd";
+
+    private static final String QUERY_RESPONSE = "{\"results\":[],\"matches\":["
+            + "{\"id\":\"" + ID_1 + "\",\"score\":0.98,\"values\":[0.94,0.69,0.23],\"metadata\":{\"page\":\"460\",\"tags\":[\"a\",\"b\"]}},"
+            + "{\"id\":\"" + ID_2 + "\",\"score\":0.5,\"values\":[]}"
+            + "],\"namespace\":\"simple\"}";
+
+    private static final String FETCH_RESPONSE = "{\"vectors\":{"
+            + "\"" + ID_1 + "\":{\"id\":\"" + ID_1 + "\",\"values\":[0.94,0.69,0.23],\"metadata\":{\"page\":\"460\"}},"
+            + "\"" + ID_2 + "\":{\"id\":\"" + ID_2 + "\",\"values\":[0.1,0.2,0.3]}"
+            + "},\"namespace\":\"simple\"}";
+
+    private static InputStream stream(String json) {
+        return new ByteArrayInputStream(json.getBytes(StandardCharsets.UTF_8));
+    }
+
+    @Test
+    public void testParseQueryResponse() throws IOException {
+        List<QueryResponse> matches = ResponseParser.parseQueryResponse(stream(QUERY_RESPONSE));
+
+        assertEquals(2, matches.size());
+        assertEquals(ID_1, matches.get(0).getId().toString());
+        assertEquals(0.98, matches.get(0).getScore());
+        assertArrayEquals(new float[]{0.94f, 0.69f, 0.23f}, matches.get(0).getValuesArray());
+        assertEquals("{\"page\":\"460\",\"tags\":[\"a\",\"b\"]}", matches.get(0).getMetadata());
+        assertArrayEquals(new float[0], matches.get(1).getValuesArray());
+        assertNull(matches.get(1).getMetadata());
+    }
+
+    @Test
+    public void testParseLazyQueryResponse() throws IOException {
+        List<LazyQueryResponse> matches = ResponseParser.parseLazyQueryResponse(QUERY_RESPONSE.getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(2, matches.size());
+        assertEquals(ID_1, matches.get(0).getId().toString());
+        assertEquals(0.98, matches.get(0).getScore());
+        assertArrayEquals(new float[]{0.94f, 0.69f, 0.23f}, matches.get(0).getValuesArray());
+        assertEquals("{\"page\":\"460\",\"tags\":[\"a\",\"b\"]}", matches.get(0).getMetadata());
+        assertArrayEquals(new float[0], matches.get(1).getValuesArray());
+        assertNull(matches.get(1).getMetadata());
+    }
+
+    @Test
+    public void testParseFetchResponseReturnsEveryVector() throws IOException {
+        Map<String, FetchResponse> vectors = ResponseParser.parseFetchResponse(stream(FETCH_RESPONSE));
+
+        assertEquals(List.of(ID_1, ID_2), List.copyOf(vectors.keySet()));
+        assertArrayEquals(new float[]{0.1f, 0.2f, 0.3f}, vectors.get(ID_2).getValuesArray());
+        assertEquals("{\"page\":\"460\"}", vectors.get(ID_1).getMetadata());
+        assertEquals("simple", vectors.get(ID_1).getNameSpace());
+    }
+
+    @Test
+    public void testResponseSizeLimit() {
+        assertThrows(IOException.class,
+                () -> ResponseParser.parseQueryResponse(ResponseParser.limit(stream(QUERY_RESPONSE), 64)));
+    }
+}
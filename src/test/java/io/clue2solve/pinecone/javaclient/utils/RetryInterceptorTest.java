@@ -0,0 +1,116 @@
+package io.clue2solve.pinecone.javaclient.utils;
+
+import okhttp3.Call;
+import okhttp3.Interceptor;
+import okhttp3.Protocol;
+import okhttp3.Request;
+import okhttp3.RequestBody;
+import okhttp3.Response;
+import okhttp3.ResponseBody;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.net.SocketException;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+public class RetryInterceptorTest {
+
+    private static final RetryPolicy FAST = RetryPolicy.builder()
+            .baseDelay(Duration.ofMillis(1))
+            .maxDelay(Duration.ofMillis(10))
+            .build();
+
+    private static Response response(Request request, int code, String retryAfter) {
+        Response.Builder builder = new Response.Builder()
+                .request(request)
+                .protocol(Protocol.HTTP_1_1)
+                .code(code)
+                .message("")
+                .body(ResponseBody.create("", null));
+        if (retryAfter != null) {
+            builder.header("Retry-After", retryAfter);
+        }
+        return builder.build();
+    }
+
+    private static Interceptor.Chain chain(Request request) {
+        Interceptor.Chain chain = mock(Interceptor.Chain.class);
+        when(chain.request()).thenReturn(request);
+        when(chain.call()).thenReturn(mock(Call.class));
+        return chain;
+    }
+
+    private static Request post(RetryPolicy policy) {
+        Request.Builder builder = new Request.Builder()
+                .url("https://index.example.com/query")
+                .post(RequestBody.create(new byte[0], null));
+        return policy != null ? builder.tag(RetryPolicy.class, policy).build() : builder.build();
+    }
+
+    @Test
+    public void testRetriesUntilSuccess() throws IOException {
+        Request request = post(FAST);
+        Interceptor.Chain chain = chain(request);
+        when(chain.proceed(any(Request.class)))
+                .thenReturn(response(request, 429, null))
+                .thenThrow(new SocketException("Connection reset"))
+                .thenReturn(response(request, 200, null));
+        RetryInterceptor interceptor = new RetryInterceptor(FAST, RetryBudget.builder().build());
+
+        assertEquals(200, interceptor.intercept(chain).code());
+        assertEquals(2, interceptor.getRetryCount());
+    }
+
+    @Test
+    public void testGivesUpAfterMaxAttempts() throws IOException {
+        Request request = post(FAST);
+        Interceptor.Chain chain = chain(request);
+        when(chain.proceed(any(Request.class))).thenReturn(response(request, 503, null));
+
+        assertEquals(503, new RetryInterceptor(FAST, RetryBudget.builder().build()).intercept(chain).code());
+        verify(chain, times(3)).proceed(any(Request.class));
+    }
+
+    @Test
+    public void testDoesNotRetryUntaggedPost() throws IOException {
+        Request request = post(null);
+        Interceptor.Chain chain = chain(request);
+        when(chain.proceed(any(Request.class))).thenThrow(new SocketException("Connection reset"));
+
+        assertThrows(SocketException.class, () -> new RetryInterceptor(FAST, RetryBudget.builder().build()).intercept(chain));
+        verify(chain, times(1)).proceed(any(Request.class));
+    }
+
+    @Test
+    public void testRetryAfterBeyondMaxDelayIsNotRetried() throws IOException {
+        Request request = post(FAST);
+        Interceptor.Chain chain = chain(request);
+        when(chain.proceed(any(Request.class))).thenReturn(response(request, 429, "120"));
+
+        assertEquals(429, new RetryInterceptor(FAST, RetryBudget.builder().build()).intercept(chain).code());
+        verify(chain, times(1)).proceed(any(Request.class));
+    }
+
+    @Test
+    public void testBudgetLimitsRetries() {
+        RetryBudget budget = RetryBudget.builder().retryRatio(0.5).minRetriesPerSecond(1).build();
+        for (int i = 0; i < 10; i++) {
+            budget.onRequest();
+        }
+        int permitted = 0;
+        while (budget.tryAcquireRetry()) {
+            permitted++;
+        }
+        // ten seconds of one retry per second plus half of the ten requests
+        assertEquals(15, permitted);
+        assertEquals(1, budget.getExhaustedCount());
+    }
+}
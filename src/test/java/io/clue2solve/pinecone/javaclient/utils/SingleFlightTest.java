@@ -0,0 +1,70 @@
+package io.clue2solve.pinecone.javaclient.utils;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class SingleFlightTest {
+
+    @Test
+    public void testCoalescesCallsInFlight() {
+        SingleFlight<String, String> flights = new SingleFlight<>();
+        CompletableFuture<String> source = new CompletableFuture<>();
+        AtomicInteger calls = new AtomicInteger();
+
+        CompletableFuture<String> first = flights.executeAsync("key", () -> {
+            calls.incrementAndGet();
+            return source;
+        });
+        CompletableFuture<String> second = flights.executeAsync("key", () -> {
+            calls.incrementAndGet();
+            return new CompletableFuture<>();
+        });
+        source.complete("result");
+
+        assertEquals("result", first.join());
+        assertEquals("result", second.join());
+        assertEquals(1, calls.get());
+        assertEquals(1, flights.getCoalescedCount());
+
+        // once completed, the next call is executed again
+        flights.executeAsync("key", () -> CompletableFuture.completedFuture("again"));
+        assertEquals(2, flights.getExecutedCount());
+    }
+
+    @Test
+    public void testCancellingOneCallerKeepsTheCallForOthers() {
+        SingleFlight<String, String> flights = new SingleFlight<>();
+        CompletableFuture<String> source = new CompletableFuture<>();
+
+        CompletableFuture<String> first = flights.executeAsync("key", () -> source);
+        CompletableFuture<String> second = flights.executeAsync("key", CompletableFuture::new);
+        assertNotSame(first, second);
+
+        first.cancel(true);
+        assertFalse(source.isCancelled());
+        source.complete("result");
+        assertEquals("result", second.join());
+    }
+
+    @Test
+    public void testCancellingEveryCallerCancelsTheCall() {
+        SingleFlight<String, String> flights = new SingleFlight<>();
+        CompletableFuture<String> source = new CompletableFuture<>();
+
+        CompletableFuture<String> first = flights.executeAsync("key", () -> source);
+        CompletableFuture<String> second = flights.executeAsync("key", CompletableFuture::new);
+        first.cancel(true);
+        second.cancel(true);
+
+        assertTrue(source.isCancelled());
+        CompletableFuture<String> third = flights.executeAsync("key", () -> CompletableFuture.completedFuture("fresh"));
+        assertEquals("fresh", third.join());
+    }
+}